@@ -0,0 +1,95 @@
+package com.rohan.taskmanagement.benchmark;
+
+import com.rohan.taskmanagement.TaskManagementApplication;
+import com.rohan.taskmanagement.dto.TaskBatchResultDTO;
+import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.service.TaskService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The full application on the embedded H2 database (test properties), seeded with
+ * DATASET_SIZE tasks once per benchmark fork
+ */
+@State(Scope.Benchmark)
+public class TaskApplicationState {
+
+    static final int DATASET_SIZE = 10_000;
+
+    private static final int SEED_BATCH_SIZE = 1_000;
+    private static final String[] WORDS = {"report", "invoice", "review", "deploy", "meeting", "backup", "audit", "release"};
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "DONE"};
+
+    ConfigurableApplicationContext context;
+    List<Long> taskIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        start(new String[0]);
+    }
+
+    /**
+     * Starts the application with the given profiles and extra properties, then seeds it. The extra
+     * properties are passed as command line arguments so they override the profile's properties files.
+     */
+    void start(String[] profiles, String... properties) {
+        context = new SpringApplicationBuilder(TaskManagementApplication.class)
+                .profiles(profiles)
+                .properties(
+                        "server.port=0",
+                        "logging.level.com.rohan.taskmanagement=WARN")
+                .run(Arrays.stream(properties).map(property -> "--" + property).toArray(String[]::new));
+
+        TaskService taskService = context.getBean(TaskService.class);
+        taskIds = new ArrayList<>(DATASET_SIZE);
+        List<TaskDTO> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < DATASET_SIZE; i++) {
+            batch.add(newTask(i));
+            if (batch.size() == SEED_BATCH_SIZE) {
+                seed(taskService, batch);
+                batch = new ArrayList<>(SEED_BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            seed(taskService, batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed(TaskService taskService, List<TaskDTO> batch) {
+        for (TaskBatchResultDTO result : taskService.createTasks(batch)) {
+            taskIds.add(result.getId());
+        }
+    }
+
+    /**
+     * Titles such as "invoice review #42": one word matches an eighth of the tasks, two words a 64th
+     */
+    static TaskDTO newTask(int i) {
+        TaskDTO task = new TaskDTO();
+        task.setTitle(WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length) % WORDS.length] + " #" + i);
+        task.setDescription("Generated benchmark task " + i);
+        task.setStatus(STATUSES[i % STATUSES.length]);
+        task.setDueDate(LocalDateTime.of(2025, 1, 1, 9, 0).plusDays(i % 365));
+        task.setCreatedBy("benchmark");
+        return task;
+    }
+}
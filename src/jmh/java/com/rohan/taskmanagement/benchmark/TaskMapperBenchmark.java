@@ -0,0 +1,63 @@
+package com.rohan.taskmanagement.benchmark;
+
+import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.mapper.TaskMapper;
+import com.rohan.taskmanagement.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskMapper conversions between the entity and the DTO
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskMapperBenchmark {
+
+    private TaskMapper taskMapper;
+    private Task task;
+    private TaskDTO taskDTO;
+
+    @Setup
+    public void setUp() {
+        taskMapper = new TaskMapper();
+
+        LocalDateTime now = LocalDateTime.now();
+        task = new Task();
+        task.setId(42L);
+        task.setTitle("invoice review #42");
+        task.setDescription("Generated benchmark task 42");
+        task.setDueDate(now.plusDays(7));
+        task.setStatus("TODO");
+        task.setCreatedOn(now);
+        task.setLastUpdatedOn(now);
+        task.setCreatedBy("benchmark");
+        task.setLastUpdatedBy("benchmark");
+
+        taskDTO = taskMapper.toDTO(task);
+    }
+
+    @Benchmark
+    public TaskDTO toDTO() {
+        return taskMapper.toDTO(task);
+    }
+
+    @Benchmark
+    public Task toEntity() {
+        return taskMapper.toEntity(taskDTO);
+    }
+}
@@ -0,0 +1,80 @@
+package com.rohan.taskmanagement.benchmark;
+
+import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.mapper.TaskMapper;
+import com.rohan.taskmanagement.repository.TaskRepository;
+import com.rohan.taskmanagement.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Each tier of TaskServiceImpl.searchTasks against the seeded H2 dataset
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSearchBenchmark {
+
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+    private TaskMapper taskMapper;
+
+    @Setup
+    public void setUp(TaskApplicationState application) {
+        taskService = application.getBean(TaskService.class);
+        taskRepository = application.getBean(TaskRepository.class);
+        taskMapper = application.getBean(TaskMapper.class);
+    }
+
+    @Benchmark
+    public List<TaskDTO> titleIndex() {
+        return taskService.searchTasks("invoice review", null);
+    }
+
+    @Benchmark
+    public List<TaskDTO> titleAndStatusIndex() {
+        return taskService.searchTasks("invoice", "DONE");
+    }
+
+    /**
+     * The derived LIKE query searchTasks falls back to while the title index is loading
+     */
+    @Benchmark
+    public List<TaskDTO> titleDatabaseFallback() {
+        return taskRepository.findByTitleContainingIgnoreCase("invoice review").stream()
+                .map(taskMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<TaskDTO> titleAndStatusDatabaseFallback() {
+        return taskRepository.findByTitleContainingIgnoreCaseAndStatus("invoice", "DONE").stream()
+                .map(taskMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<TaskDTO> statusOnly() {
+        return taskService.searchTasks(null, "DONE");
+    }
+
+    @Benchmark
+    public List<TaskDTO> noCriteria() {
+        return taskService.searchTasks(null, null);
+    }
+}
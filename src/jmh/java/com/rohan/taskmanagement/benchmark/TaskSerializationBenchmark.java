@@ -0,0 +1,66 @@
+package com.rohan.taskmanagement.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.rohan.taskmanagement.dto.TaskDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of task lists as written by the list and search endpoints,
+ * including the @JsonFormat date patterns on TaskDTO
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSerializationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private List<TaskDTO> tasks;
+
+    @Setup
+    public void setUp() {
+        // Same builder (and defaults) that @EnableWebMvc uses for its JSON message converter
+        writer = Jackson2ObjectMapperBuilder.json().build()
+                .writerFor(new TypeReference<List<TaskDTO>>() { });
+
+        LocalDateTime now = LocalDateTime.now();
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            TaskDTO task = TaskApplicationState.newTask(i);
+            task.setId((long) i + 1);
+            task.setCreatedOn(now);
+            task.setLastUpdatedOn(now);
+            task.setLastUpdatedBy("benchmark");
+            tasks.add(task);
+        }
+    }
+
+    @Benchmark
+    public void serializeList() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), tasks);
+    }
+}
@@ -0,0 +1,102 @@
+package com.rohan.taskmanagement.benchmark;
+
+import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.dto.TaskPageDTO;
+import com.rohan.taskmanagement.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same service calls on both storage backends: JPA on embedded H2, and the embedded task store
+ * (memory profile). Neither forces writes to disk, H2 being in-memory itself, and the task cache is off
+ * so reads reach the backend.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskStorageBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Backend {
+
+        @Param({"jpa", "memory"})
+        public String backend;
+
+        TaskApplicationState application = new TaskApplicationState();
+
+        @Setup(Level.Trial)
+        public void start() throws IOException {
+            if (backend.equals("memory")) {
+                application.start(new String[] {"memory"}, "app.cache.tasks.enabled=false", "app.store.fsync=false",
+                        "app.store.directory=" + Files.createTempDirectory("task-store-benchmark"));
+            } else {
+                application.start(new String[0], "app.cache.tasks.enabled=false");
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            application.stop();
+        }
+    }
+
+    private TaskService taskService;
+    private List<Long> taskIds;
+    private int counter;
+
+    @Setup
+    public void setUp(Backend backend) {
+        taskService = backend.application.getBean(TaskService.class);
+        taskIds = backend.application.taskIds;
+    }
+
+    @Benchmark
+    public TaskDTO createTask() {
+        return taskService.createTask(TaskApplicationState.newTask(counter++));
+    }
+
+    @Benchmark
+    public TaskDTO updateTask() {
+        int i = counter++;
+        return taskService.updateTask(taskIds.get(i % taskIds.size()), TaskApplicationState.newTask(i));
+    }
+
+    @Benchmark
+    public TaskDTO getTaskById() {
+        return taskService.getTaskById(taskIds.get(counter++ % taskIds.size()));
+    }
+
+    @Benchmark
+    public TaskPageDTO firstPageByDueDate() {
+        return taskService.getTaskPage(null, 50, "dueDate", null);
+    }
+
+    @Benchmark
+    public List<TaskDTO> searchByStatus() {
+        return taskService.searchTasks(null, "DONE");
+    }
+
+    @Benchmark
+    public List<TaskDTO> searchByTitle() {
+        return taskService.searchTasks("invoice review", null);
+    }
+}
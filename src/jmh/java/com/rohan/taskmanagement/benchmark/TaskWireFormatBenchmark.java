@@ -0,0 +1,94 @@
+package com.rohan.taskmanagement.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.rohan.taskmanagement.dto.TaskDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serializing and parsing a 10k task list in each format the task endpoints negotiate, with the
+ * mappers @EnableWebMvc builds for its JSON, CBOR and Smile message converters. The size of the
+ * payload, plain and gzipped as sent with server.compression, is printed once per trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskWireFormatBenchmark {
+
+    private static final TypeReference<List<TaskDTO>> TASK_LIST = new TypeReference<>() { };
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"10000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<TaskDTO> tasks;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        writer = objectMapper.writerFor(TASK_LIST);
+        reader = objectMapper.readerFor(TASK_LIST);
+
+        LocalDateTime now = LocalDateTime.now();
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            TaskDTO task = TaskApplicationState.newTask(i);
+            task.setId((long) i + 1);
+            task.setCreatedOn(now);
+            task.setLastUpdatedOn(now);
+            task.setLastUpdatedBy("benchmark");
+            tasks.add(task);
+        }
+
+        encoded = writer.writeValueAsBytes(tasks);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(encoded);
+        }
+        System.out.printf("%n%s, %d tasks: %d bytes, %d bytes gzipped%n", format, size, encoded.length, compressed.size());
+    }
+
+    @Benchmark
+    public void serializeList() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), tasks);
+    }
+
+    @Benchmark
+    public List<TaskDTO> deserializeList() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
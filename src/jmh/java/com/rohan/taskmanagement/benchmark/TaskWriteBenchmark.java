@@ -0,0 +1,52 @@
+package com.rohan.taskmanagement.benchmark;
+
+import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * createTask and updateTask end to end through the service: transaction, flush, and the
+ * after-commit listeners that maintain the title index and the task cache
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskWriteBenchmark {
+
+    private TaskService taskService;
+    private List<Long> taskIds;
+    private int counter;
+
+    @Setup
+    public void setUp(TaskApplicationState application) {
+        taskService = application.getBean(TaskService.class);
+        taskIds = application.taskIds;
+    }
+
+    @Benchmark
+    public TaskDTO createTask() {
+        return taskService.createTask(TaskApplicationState.newTask(counter++));
+    }
+
+    @Benchmark
+    public TaskDTO updateTask() {
+        int i = counter++;
+        Long taskId = taskIds.get(i % taskIds.size());
+        return taskService.updateTask(taskId, TaskApplicationState.newTask(i));
+    }
+}
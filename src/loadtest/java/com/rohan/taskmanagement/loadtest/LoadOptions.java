@@ -0,0 +1,96 @@
+package com.rohan.taskmanagement.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command line options of the load generator, given as --name=value. Arguments it does not know are
+ * handed to the application, so any application property can be overridden the same way
+ * (e.g. --app.cache.tasks.enabled=false).
+ */
+class LoadOptions {
+
+    static final String DEFAULT_MIX = "get:50,search:15,create:10,update:10,complete:10,delete:5";
+
+    // Requests started per second, whatever the response times are
+    int rate = 200;
+    int warmupSeconds = 10;
+    int durationSeconds = 60;
+    // Seconds covered by each interval histogram in the log
+    int intervalSeconds = 1;
+    int tasks = 10_000;
+    int timeoutSeconds = 30;
+    long seed = 42;
+    final Map<Operation, Integer> mix = parseMix(DEFAULT_MIX);
+    String[] profiles = new String[0];
+    Path reportDir = Path.of("target", "loadtest");
+    // JSON report of an earlier run; p99 above it by more than the tolerance fails the run
+    Path baseline;
+    double tolerance = 0.2;
+    final List<String> applicationArgs = new ArrayList<>();
+
+    static LoadOptions parse(String[] args) {
+        LoadOptions options = new LoadOptions();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (name) {
+                case "rate" -> options.rate = positive(name, value);
+                case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                case "duration" -> options.durationSeconds = positive(name, value);
+                case "interval" -> options.intervalSeconds = positive(name, value);
+                case "tasks" -> options.tasks = positive(name, value);
+                case "timeout" -> options.timeoutSeconds = positive(name, value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "mix" -> {
+                    options.mix.clear();
+                    options.mix.putAll(parseMix(value));
+                }
+                case "profiles" -> options.profiles = value.isEmpty() ? new String[0] : value.split(",");
+                case "report-dir" -> options.reportDir = Path.of(value);
+                case "baseline" -> options.baseline = value.isEmpty() ? null : Path.of(value);
+                case "tolerance" -> options.tolerance = Double.parseDouble(value);
+                default -> options.applicationArgs.add(arg);
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Weights such as "get:50,search:15,delete:5"; operations not listed are not sent
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in mix but got: " + entry);
+            }
+            Operation operation = Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(operation, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no operation with a positive weight: " + mix);
+        }
+        return weights;
+    }
+
+    private static int positive(String name, String value) {
+        int parsed = Integer.parseInt(value);
+        if (parsed <= 0) {
+            throw new IllegalArgumentException("--" + name + " must be positive but was " + value);
+        }
+        return parsed;
+    }
+}
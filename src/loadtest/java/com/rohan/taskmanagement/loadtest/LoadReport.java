@@ -0,0 +1,108 @@
+package com.rohan.taskmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON summary of a run: throughput, error count and latency percentiles (in milliseconds) per
+ * operation and over all requests, next to the options the run was made with
+ */
+class LoadReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private LoadReport() {
+    }
+
+    static Map<String, Object> summary(LoadOptions options, Instant startedOn, Collection<OperationStats> stats,
+                                       double measuredSeconds, long maxDispatchLagNanos) {
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("startedOn", startedOn.toString());
+        run.put("profiles", List.of(options.profiles));
+        run.put("applicationArgs", options.applicationArgs);
+        run.put("tasks", options.tasks);
+        run.put("targetRate", options.rate);
+        run.put("warmupSeconds", options.warmupSeconds);
+        run.put("durationSeconds", options.durationSeconds);
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        options.mix.forEach((operation, weight) -> mix.put(operation.tag(), weight));
+        run.put("mix", mix);
+        // How late the generator started its latest request; well above a millisecond means it could
+        // not keep up with the rate and the numbers understate what the server could do
+        run.put("maxDispatchLagMs", millis(maxDispatchLagNanos));
+
+        Histogram all = new Histogram(3);
+        long allErrors = 0;
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (OperationStats operation : stats) {
+            operations.put(operation.operation.tag(),
+                    result(operation.total, operation.errors.sum(), measuredSeconds));
+            all.add(operation.total);
+            allErrors += operation.errors.sum();
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("run", run);
+        summary.put("total", result(all, allErrors, measuredSeconds));
+        summary.put("operations", operations);
+        return summary;
+    }
+
+    static void write(Map<String, Object> summary, Path file) throws IOException {
+        MAPPER.writeValue(file.toFile(), summary);
+    }
+
+    /**
+     * Operations whose p99 exceeds the p99 in the baseline report by more than the tolerance
+     * @return one line per regression, empty when there is none
+     */
+    static List<String> regressions(Map<String, Object> summary, Path baseline, double tolerance) throws IOException {
+        JsonNode baselineOperations = MAPPER.readTree(baseline.toFile()).path("operations");
+        JsonNode operations = MAPPER.valueToTree(summary).path("operations");
+        List<String> regressions = new ArrayList<>();
+        operations.fields().forEachRemaining(operation -> {
+            JsonNode before = baselineOperations.path(operation.getKey()).path("latencyMs").path("p99");
+            if (!before.isNumber()) {
+                return;
+            }
+            double p99 = operation.getValue().path("latencyMs").path("p99").asDouble();
+            if (p99 > before.asDouble() * (1 + tolerance)) {
+                regressions.add(String.format("%s p99 %.3f ms, baseline %.3f ms", operation.getKey(), p99, before.asDouble()));
+            }
+        });
+        return regressions;
+    }
+
+    private static Map<String, Object> result(Histogram histogram, long errors, double measuredSeconds) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", millis(histogram.getValueAtPercentile(50)));
+        latency.put("p90", millis(histogram.getValueAtPercentile(90)));
+        latency.put("p99", millis(histogram.getValueAtPercentile(99)));
+        latency.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+        latency.put("max", millis(histogram.getMaxValue()));
+        latency.put("mean", millis(Math.round(histogram.getMean())));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requests", histogram.getTotalCount());
+        result.put("errors", errors);
+        result.put("throughputPerSecond", Math.round(histogram.getTotalCount() / measuredSeconds * 10) / 10.0);
+        result.put("latencyMs", latency);
+        return result;
+    }
+
+    // Milliseconds, rounded to microseconds
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,28 @@
+package com.rohan.taskmanagement.loadtest;
+
+import java.util.Locale;
+
+/**
+ * Requests the load generator sends, each reported separately
+ */
+enum Operation {
+    /** POST /api/tasks */
+    CREATE,
+    /** GET /api/tasks/{id} */
+    GET,
+    /** PUT /api/tasks/{id} */
+    UPDATE,
+    /** GET /api/tasks/search by two title words, half of them with a status too */
+    SEARCH,
+    /** PUT /api/tasks/{id}/complete */
+    COMPLETE,
+    /** DELETE /api/tasks/{id} of a task no other request picks afterwards */
+    DELETE;
+
+    /**
+     * Name used in --mix, as HdrHistogram log tag and in the JSON report
+     */
+    String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,47 @@
+package com.rohan.taskmanagement.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Response times of one operation in nanoseconds. Requests record into the recorder from any thread;
+ * the reporter takes an interval histogram from it once per interval and adds it to the total.
+ */
+class OperationStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    final Operation operation;
+    final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+    // Responses other than 2xx, and requests that failed or timed out
+    final LongAdder errors = new LongAdder();
+
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private Histogram interval;
+
+    OperationStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    void record(long nanos, boolean error) {
+        recorder.recordValue(nanos);
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Response times recorded since the previous call, also added to the total
+     * @param notBeforeMillis start of the measurement; the first interval would otherwise start when
+     *                        the recorder was created
+     */
+    Histogram takeInterval(long notBeforeMillis) {
+        interval = recorder.getIntervalHistogram(interval);
+        interval.setStartTimeStamp(Math.max(interval.getStartTimeStamp(), notBeforeMillis));
+        interval.setTag(operation.tag());
+        total.add(interval);
+        return interval;
+    }
+}
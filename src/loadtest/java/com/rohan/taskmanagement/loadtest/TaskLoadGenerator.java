@@ -0,0 +1,383 @@
+package com.rohan.taskmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rohan.taskmanagement.TaskManagementApplication;
+import com.rohan.taskmanagement.dto.TaskBatchResultDTO;
+import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.service.TaskService;
+import org.HdrHistogram.HistogramLogWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load generator for /api/tasks.
+ * Boots the application on the embedded H2 database (test properties, or the embedded task store with
+ * --profiles=memory), seeds it with --tasks tasks and then starts --rate requests per second drawn from
+ * --mix, for --warmup seconds that are not measured followed by --duration seconds that are.
+ * Requests are started on a fixed schedule and never wait for earlier responses, and each response
+ * time is taken from the moment the request was due rather than the moment it was sent, so a stalled
+ * server shows up in the percentiles instead of slowing the generator down (no coordinated omission).
+ * Writes to --report-dir:
+ *   latency.hlog  interval histograms per operation in nanoseconds, tagged with the operation
+ *                 (HdrHistogram log format, e.g. for HistogramLogProcessor or HdrHistogram plotters)
+ *   summary.json  throughput, errors and p50/p90/p99/p999/max per operation and in total, in ms
+ * With --baseline=summary.json of an earlier run the generator exits with status 1 when the p99 of
+ * any operation is more than --tolerance (default 0.2) above the baseline.
+ * Run with:
+ *   ./mvnw -Ploadtest -DskipTests verify -Dloadtest.args="--rate=1000 --duration=60"
+ */
+public class TaskLoadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskLoadGenerator.class);
+
+    private static final int SEED_BATCH_SIZE = 1_000;
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+    private static final String[] WORDS = {"report", "invoice", "review", "deploy", "meeting", "backup", "audit", "release"};
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "DONE"};
+
+    private final LoadOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final TaskIds taskIds = new TaskIds();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLong createdTasks = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private Duration timeout;
+
+    TaskLoadGenerator(LoadOptions options) {
+        this.options = options;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats(operation));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        TaskLoadGenerator generator = new TaskLoadGenerator(options);
+        boolean passed;
+        try {
+            generator.start();
+            passed = generator.run();
+        } finally {
+            generator.stop();
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * Boots the application on a random port and seeds it through the service layer
+     */
+    void start() throws IOException {
+        List<String> args = new ArrayList<>(options.applicationArgs);
+        addDefault(args, "server.port", "0");
+        addDefault(args, "logging.level.com.rohan.taskmanagement", "WARN");
+        if (List.of(options.profiles).contains("memory")) {
+            addDefault(args, "app.store.directory", Files.createTempDirectory("task-store-loadtest").toString());
+        }
+        context = new SpringApplicationBuilder(TaskManagementApplication.class)
+                .profiles(options.profiles)
+                .run(args.toArray(String[]::new));
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/tasks";
+
+        TaskService taskService = context.getBean(TaskService.class);
+        List<TaskDTO> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < options.tasks; i++) {
+            batch.add(newTask(i, "loadtest-seed"));
+            if (batch.size() == SEED_BATCH_SIZE || i == options.tasks - 1) {
+                for (TaskBatchResultDTO result : taskService.createTasks(batch)) {
+                    taskIds.add(result.getId());
+                }
+                batch.clear();
+            }
+        }
+        createdTasks.set(options.tasks);
+        logger.info("Seeded {} tasks, sending load to {}", options.tasks, baseUrl);
+    }
+
+    void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    /**
+     * Sends the load, then writes the reports
+     * @return false when a baseline was given and an operation regressed against it
+     */
+    boolean run() throws Exception {
+        Files.createDirectories(options.reportDir);
+        timeout = Duration.ofSeconds(options.timeoutSeconds);
+        ExecutorService responseExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(responseExecutor)
+                .connectTimeout(timeout)
+                .build();
+
+        Instant startedOn = Instant.now();
+        long startNanos = System.nanoTime();
+        long measureStart = startNanos + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long end = measureStart + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        long measureStartMillis = startedOn.toEpochMilli() + TimeUnit.SECONDS.toMillis(options.warmupSeconds);
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        long maxLag;
+        try (PrintStream log = new PrintStream(options.reportDir.resolve("latency.hlog").toFile(), StandardCharsets.UTF_8)) {
+            HistogramLogWriter logWriter = new HistogramLogWriter(log);
+            logWriter.outputComment("Task API response times in nanoseconds, tagged by operation, "
+                    + options.rate + " requests/s");
+            logWriter.outputLogFormatVersion();
+            logWriter.outputStartTime(measureStartMillis);
+            logWriter.setBaseTime(measureStartMillis);
+            logWriter.outputLegend();
+
+            // Intervals taken during the warmup are empty: responses to requests due before measureStart are not recorded
+            reporter.scheduleAtFixedRate(() -> writeIntervals(logWriter, measureStartMillis),
+                    TimeUnit.NANOSECONDS.toMillis(measureStart - System.nanoTime()) + TimeUnit.SECONDS.toMillis(options.intervalSeconds),
+                    TimeUnit.SECONDS.toMillis(options.intervalSeconds), TimeUnit.MILLISECONDS);
+
+            logger.info("Sending {} requests/s for {}s warmup and {}s measured", options.rate, options.warmupSeconds,
+                    options.durationSeconds);
+            maxLag = dispatch(startNanos, measureStart, end);
+            awaitResponses();
+
+            reporter.shutdown();
+            reporter.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            writeIntervals(logWriter, measureStartMillis);
+        } finally {
+            reporter.shutdownNow();
+            responseExecutor.shutdown();
+        }
+
+        double measuredSeconds = options.durationSeconds;
+        Map<String, Object> summary = LoadReport.summary(options, startedOn,
+                stats.values().stream().filter(stat -> options.mix.containsKey(stat.operation)).toList(),
+                measuredSeconds, maxLag);
+        Path summaryFile = options.reportDir.resolve("summary.json");
+        LoadReport.write(summary, summaryFile);
+        logger.info("Load test summary written to {}:\n{}", summaryFile, Files.readString(summaryFile));
+
+        if (options.baseline == null) {
+            return true;
+        }
+        List<String> regressions = LoadReport.regressions(summary, options.baseline, options.tolerance);
+        regressions.forEach(regression -> logger.error("Regression against {}: {}", options.baseline, regression));
+        return regressions.isEmpty();
+    }
+
+    /**
+     * Starts one request every 1/rate seconds until end. Due times are fixed up front, so when the
+     * generator falls behind it catches up in a burst instead of silently lowering the rate.
+     * @return the longest a request started after it was due, in nanoseconds
+     */
+    private long dispatch(long startNanos, long measureStart, long end) {
+        SplittableRandom random = new SplittableRandom(options.seed);
+        Operation[] schedule = schedule();
+        long maxLag = 0;
+        for (long i = 0; ; i++) {
+            long due = startNanos + i * TimeUnit.SECONDS.toNanos(1) / options.rate;
+            if (due >= end) {
+                return maxLag;
+            }
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (due >= measureStart) {
+                maxLag = Math.max(maxLag, System.nanoTime() - due);
+            }
+            send(schedule[random.nextInt(schedule.length)], random, due, due >= measureStart);
+        }
+    }
+
+    /**
+     * One slot per unit of weight, so a uniform pick over the slots follows the mix
+     */
+    private Operation[] schedule() {
+        List<Operation> slots = new ArrayList<>();
+        options.mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        return slots.toArray(Operation[]::new);
+    }
+
+    private void send(Operation operation, SplittableRandom random, long due, boolean measured) {
+        Long taskId = switch (operation) {
+            case GET, UPDATE, COMPLETE -> taskIds.random(random);
+            case DELETE -> taskIds.take(random);
+            default -> null;
+        };
+        if (taskId == null && operation != Operation.CREATE && operation != Operation.SEARCH) {
+            // Every task has been deleted; keep the rate by creating one instead
+            operation = Operation.CREATE;
+        }
+
+        HttpRequest request = request(operation, taskId, random);
+        OperationStats stat = stats.get(operation);
+        boolean create = operation == Operation.CREATE;
+        inFlight.incrementAndGet();
+        CompletableFuture<? extends HttpResponse<?>> response = create
+                ? client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                : client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        response.whenComplete((result, failure) -> {
+            try {
+                long nanos = System.nanoTime() - due;
+                boolean error = failure != null || result.statusCode() >= 300;
+                if (measured) {
+                    stat.record(nanos, error);
+                }
+                if (create && !error) {
+                    taskIds.add(objectMapper.readTree((byte[]) result.body()).path("id").asLong());
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Could not read the created task: {}", e.getMessage());
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    private HttpRequest request(Operation operation, Long taskId, SplittableRandom random) {
+        HttpRequest.Builder request = HttpRequest.newBuilder().timeout(timeout).header("Accept", "application/json");
+        switch (operation) {
+            case CREATE:
+                return request.uri(URI.create(baseUrl))
+                        .header("Content-Type", "application/json")
+                        .POST(json(newTask((int) createdTasks.getAndIncrement(), "loadtest")))
+                        .build();
+            case GET:
+                return request.uri(URI.create(baseUrl + "/" + taskId)).GET().build();
+            case UPDATE:
+                TaskDTO task = newTask(random.nextInt(Math.max(options.tasks, 1)), null);
+                task.setLastUpdatedBy("loadtest");
+                return request.uri(URI.create(baseUrl + "/" + taskId))
+                        .header("Content-Type", "application/json")
+                        .PUT(json(task))
+                        .build();
+            case SEARCH:
+                String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+                String query = "title=" + URLEncoder.encode(title, StandardCharsets.UTF_8);
+                if (random.nextBoolean()) {
+                    query += "&status=" + STATUSES[random.nextInt(STATUSES.length)];
+                }
+                return request.uri(URI.create(baseUrl + "/search?" + query)).GET().build();
+            case COMPLETE:
+                return request.uri(URI.create(baseUrl + "/" + taskId + "/complete"))
+                        .PUT(HttpRequest.BodyPublishers.noBody())
+                        .build();
+            case DELETE:
+                return request.uri(URI.create(baseUrl + "/" + taskId)).DELETE().build();
+            default:
+                throw new IllegalArgumentException("Unknown operation " + operation);
+        }
+    }
+
+    private HttpRequest.BodyPublisher json(TaskDTO task) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(task));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize task", e);
+        }
+    }
+
+    private void awaitResponses() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DRAIN_TIMEOUT_SECONDS);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        if (inFlight.get() > 0) {
+            logger.warn("{} requests still unanswered after {}s, they are left out of the report", inFlight.get(),
+                    DRAIN_TIMEOUT_SECONDS);
+        }
+    }
+
+    private void writeIntervals(HistogramLogWriter logWriter, long measureStartMillis) {
+        for (Operation operation : options.mix.keySet()) {
+            logWriter.outputIntervalHistogram(stats.get(operation).takeInterval(measureStartMillis));
+        }
+    }
+
+    private static void addDefault(List<String> args, String name, String value) {
+        if (args.stream().noneMatch(arg -> arg.startsWith("--" + name + "="))) {
+            args.add("--" + name + "=" + value);
+        }
+    }
+
+    /**
+     * Titles such as "invoice review #42": a search for two words matches a 64th of the tasks
+     */
+    static TaskDTO newTask(int i, String createdBy) {
+        TaskDTO task = new TaskDTO();
+        task.setTitle(WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length) % WORDS.length] + " #" + i);
+        task.setDescription("Generated load test task " + i);
+        task.setStatus(STATUSES[i % STATUSES.length]);
+        task.setDueDate(LocalDateTime.of(2025, 1, 1, 9, 0).plusDays(i % 365));
+        task.setCreatedBy(createdBy);
+        return task;
+    }
+
+    /**
+     * Ids of the tasks that exist and have not been picked for deletion
+     */
+    private static final class TaskIds {
+        private long[] ids = new long[1024];
+        private int size;
+
+        synchronized void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        synchronized Long random(SplittableRandom random) {
+            return size == 0 ? null : ids[random.nextInt(size)];
+        }
+
+        synchronized Long take(SplittableRandom random) {
+            if (size == 0) {
+                return null;
+            }
+            int index = random.nextInt(size);
+            long id = ids[index];
+            ids[index] = ids[--size];
+            return id;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.rohan.taskmanagement.cache;
+
+import com.rohan.taskmanagement.config.CacheConfig;
+import com.rohan.taskmanagement.event.TaskBulkStatusEvent;
+import com.rohan.taskmanagement.event.TaskChangeEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts cached tasks once a change to them has committed.
+ * findTaskById loads through the async cache with sync=true, so an eviction also drops any
+ * in-flight load of the same id and its (possibly stale) result is never cached.
+ */
+@Component
+public class TaskCacheInvalidator {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @TransactionalEventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        if (cache != null) {
+            cache.evict(event.getTaskId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBulkStatusChange(TaskBulkStatusEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        if (cache != null) {
+            event.getTaskIds().forEach(cache::evict);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.rohan.taskmanagement.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rohan.taskmanagement.datasource.ShardRoutingDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Configuration for the in-process task cache.
+ * The caching advice runs outside the transaction advice, so a cache hit never opens a transaction.
+ * Set app.cache.tasks.enabled=false to turn caching off.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
+
+    public static final String TASKS_CACHE = "tasks";
+
+    @Value("${app.cache.tasks.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache.tasks.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${app.cache.tasks.expire-after-write:PT10M}")
+    private Duration expireAfterWrite;
+
+    /**
+     * Bounded Caffeine cache of TaskDTOs by id with size and TTL eviction and statistics recording.
+     * Ids without a task are kept as null values, so their loads complete normally instead of failing.
+     * @return CacheManager bean
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        if (!enabled) {
+            logger.info("Task cache is disabled");
+            return new NoOpCacheManager();
+        }
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(TASKS_CACHE);
+        Caffeine<Object, Object> caffeine = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats();
+
+        // A synchronous cache loads inside ConcurrentHashMap.compute: the database read would hold the
+        // map lock, pin a virtual thread's carrier, and block evictions of ids under the same lock. Those
+        // run after commit while the evicting request still holds its connection, so once every pooled
+        // connection is held by a blocked eviction the load never gets one and nothing moves.
+        // The async cache only installs a future under the lock, runs the load on its own virtual thread
+        // and lets concurrent callers wait on it; an eviction drops the pending future without waiting.
+        // With sharding the load reads from the shard the caller routed to.
+        ThreadFactory loaderThreads = Thread.ofVirtual().name("task-cache-", 0).factory();
+        caffeine.executor(command -> loaderThreads.newThread(ShardRoutingDataSource.withCurrentShard(command)).start());
+        cacheManager.setAsyncCacheMode(true);
+
+        cacheManager.setCaffeine(caffeine);
+        cacheManager.setAllowNullValues(true);
+        return cacheManager;
+    }
+}
@@ -0,0 +1,48 @@
+package com.rohan.taskmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Single-database connection pool whose connections are taken on a transaction's first statement
+ * instead of when it begins.
+ * The task id table generator fetches a new block of ids on a connection of its own while holding
+ * Hibernate's generator lock. With eagerly taken connections every create waiting for that lock holds
+ * a pooled connection, so enough concurrent creates leave none for the generator and all of them
+ * stall until the pool times out. Lazily, a create holds no connection until it flushes, after the id
+ * was assigned. With app.datasource.replica.enabled=true, ReadReplicaConfig takes connections lazily instead,
+ * and with app.sharding.enabled=true ShardingConfig.
+ */
+@Configuration
+@Profile("!memory")
+@ConditionalOnProperty(name = {"app.datasource.replica.enabled", "app.sharding.enabled"}, havingValue = "false", matchIfMissing = true)
+public class DataSourceConfig {
+
+    /**
+     * The pool, configured like the auto-configured one including spring.datasource.hikari.*
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource poolDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * @return DataSource bean used by the application
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("poolDataSource") DataSource poolDataSource) {
+        return new LazyConnectionDataSourceProxy(poolDataSource);
+    }
+}
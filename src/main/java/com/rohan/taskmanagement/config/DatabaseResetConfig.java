@@ -1,5 +1,7 @@
 package com.rohan.taskmanagement.config;
 
+import com.rohan.taskmanagement.shard.TaskShards;
+import org.flywaydb.core.Flyway;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,7 +34,8 @@ public class DatabaseResetConfig {
      * Note: This will clear all data in the database
      */
     @Bean
-    public CommandLineRunner databaseReset(@Autowired DataSource dataSource) {
+    public CommandLineRunner databaseReset(@Autowired DataSource dataSource, @Autowired Flyway flyway,
+                                           @Autowired TaskShards taskShards) {
         return args -> {
             if (!shouldResetDb) {
                 logger.info("Database reset is disabled. Skipping reset operation.");
@@ -42,12 +45,15 @@ public class DatabaseResetConfig {
             logger.info("Executing database reset script on startup");
             
             try {
-                // Load and execute the SQL script
+                // Drop the tables, then rebuild the schema from the migrations, on every shard
                 ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
                 populator.addScript(new ClassPathResource("db/reset_schema.sql"));
-                populator.execute(dataSource);
+                taskShards.forEachShard(shard -> {
+                    populator.execute(dataSource);
+                    flyway.migrate();
+                });
                 
-                logger.info("Database schema reset successfully. All tables recreated with auto-increment starting from 1.");
+                logger.info("Database schema reset successfully. All tables recreated with task ids starting from 1.");
             } catch (Exception e) {
                 logger.error("Error executing database reset script", e);
             }
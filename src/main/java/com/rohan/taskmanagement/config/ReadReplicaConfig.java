@@ -0,0 +1,99 @@
+package com.rohan.taskmanagement.config;
+
+import com.rohan.taskmanagement.datasource.ReadReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read/write splitting between the primary database (spring.datasource.*) and a replica (app.datasource.replica.*).
+ * Replaces the auto-configured pool with one pool per database behind a routing DataSource, which JPA, Flyway
+ * and JdbcTemplate use. Only active with app.datasource.replica.enabled=true.
+ */
+@Configuration
+// Left to ShardingConfig, which rejects the combination, when sharding is enabled as well
+@ConditionalOnExpression("${app.datasource.replica.enabled:false} and !${app.sharding.enabled:false}")
+public class ReadReplicaConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+    @Value("${app.datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${app.datasource.replica.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replica.driver-class-name:${spring.datasource.driver-class-name:}}")
+    private String replicaDriverClassName;
+
+    @Value("${app.datasource.replica.max-lag:PT1S}")
+    private Duration maxLag;
+
+    /**
+     * Primary pool, configured like the auto-configured one including spring.datasource.hikari.*
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Replica pool, tuned with app.datasource.replica.hikari.*
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        DataSourceBuilder<HikariDataSource> builder = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replicaUrl)
+                .username(replicaUsername)
+                .password(replicaPassword);
+        if (!replicaDriverClassName.isEmpty()) {
+            builder.driverClassName(replicaDriverClassName);
+        }
+        HikariDataSource dataSource = builder.build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Also consulted by TaskReadCoalescer, so reads routed to different databases are not shared
+     */
+    @Bean
+    public ReadReplicaRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                          @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, maxLag);
+    }
+
+    /**
+     * The routing decision needs the transaction's read-only flag, which is only set after the transaction
+     * manager asks for a connection, so the physical connection is taken lazily on the first statement
+     * @return DataSource bean used by the application
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource routingDataSource) {
+        logger.info("Routing read-only transactions to the replica, reads stay on the primary for {} after a write", maxLag);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,12 @@
+package com.rohan.taskmanagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs, run on Spring Boot's auto-configured task scheduler
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,117 @@
+package com.rohan.taskmanagement.config;
+
+import com.rohan.taskmanagement.datasource.ShardRoutingDataSource;
+import com.rohan.taskmanagement.shard.TaskShards;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the tasks table over app.sharding.count databases. Shard 0 is the database of spring.datasource.*,
+ * so existing tasks stay where they are; the others are reached through app.sharding.url with {shard} replaced
+ * by the shard number, with the primary's credentials and spring.datasource.hikari.* pool settings.
+ * JPA, Flyway and JdbcTemplate use a routing DataSource that sends each connection to the shard the current
+ * thread works on. Only active with app.sharding.enabled=true; cannot be combined with the read replica.
+ */
+@Configuration
+@Profile("!memory")
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfig.class);
+
+    @Value("${app.sharding.url:}")
+    private String shardUrl;
+
+    @Value("${app.datasource.replica.enabled:false}")
+    private boolean replicaEnabled;
+
+    /**
+     * One pool per shard, closed with the routing DataSource
+     */
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties properties, TaskShards taskShards,
+                                                         Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        if (replicaEnabled) {
+            throw new IllegalStateException("app.sharding.enabled and app.datasource.replica.enabled cannot be combined");
+        }
+        if (taskShards.getCount() > 1 && !shardUrl.contains("{shard}")) {
+            throw new IllegalStateException("app.sharding.url must contain {shard} to tell the shard databases apart");
+        }
+
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (int shard = 0; shard < taskShards.getCount(); shard++) {
+            String url = shard == 0 ? properties.determineUrl() : shardUrl.replace("{shard}", String.valueOf(shard));
+            HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url).build();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            pool.setPoolName("shard-" + shard);
+            meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            pools.add(pool);
+        }
+
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(pools);
+        routing.afterPropertiesSet();
+        logger.info("Tasks are sharded over {} databases", pools.size());
+        return routing;
+    }
+
+    /**
+     * The shard is picked when a transaction runs its first statement, so the physical connection is taken lazily
+     * @return DataSource bean used by the application
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    /**
+     * Opens every Hibernate session for the shard of the current thread. The task id generator keeps the block of
+     * ids it fetched per session tenant, so ids fetched from one shard's sequence are only used on that shard.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer shardTenantCustomizer() {
+        CurrentTenantIdentifierResolver<String> resolver = new CurrentTenantIdentifierResolver<>() {
+            @Override
+            public String resolveCurrentTenantIdentifier() {
+                return String.valueOf(ShardRoutingDataSource.currentShard());
+            }
+
+            @Override
+            public boolean validateExistingCurrentSessions() {
+                return false;
+            }
+        };
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, resolver);
+    }
+
+    /**
+     * Brings every shard's schema up to date, one shard after the other
+     */
+    @Bean
+    public FlywayMigrationStrategy shardedFlywayMigrationStrategy(TaskShards taskShards) {
+        return flyway -> taskShards.forEachShard(shard -> flyway.migrate());
+    }
+}
@@ -0,0 +1,73 @@
+package com.rohan.taskmanagement.config;
+
+import com.rohan.taskmanagement.datasource.ShardRoutingDataSource;
+import com.rohan.taskmanagement.shard.TaskShards;
+import org.flywaydb.core.api.callback.BaseCallback;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+
+/**
+ * Makes sure the task id generator starts above every existing task id.
+ * Databases created before the switch from AUTO_INCREMENT to the table generator
+ * already contain tasks, and the generator row would otherwise start at 1.
+ * With sharding every shard's generator starts at the beginning of the shard's id range.
+ * Runs as a Flyway callback after every migration, so each shard's generator is in place
+ * before JPA and the web server start.
+ */
+@Configuration
+@Profile("!memory")
+public class TaskIdSequenceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskIdSequenceConfig.class);
+
+    /**
+     * Picked up by the Flyway auto-configuration
+     */
+    @Bean
+    public Callback taskIdSequenceSeeder() {
+        return new TaskIdSequenceSeeder();
+    }
+
+    private static final class TaskIdSequenceSeeder extends BaseCallback {
+
+        @Override
+        public boolean supports(Event event, Context context) {
+            return event == Event.AFTER_MIGRATE;
+        }
+
+        @Override
+        public void handle(Event event, Context context) {
+            // Each shard is migrated with the shard set on the migrating thread
+            int shard = ShardRoutingDataSource.currentShard();
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+
+            long nextId = Math.max(TaskShards.firstId(shard),
+                    jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM tasks", Long.class));
+            List<Long> current = jdbcTemplate.queryForList(
+                    "SELECT next_val FROM task_id_sequence WHERE sequence_name = 'tasks'", Long.class);
+
+            if (current.isEmpty()) {
+                jdbcTemplate.update("INSERT INTO task_id_sequence (sequence_name, next_val) VALUES ('tasks', ?)", nextId);
+                logger.info("Task id sequence of shard {} initialized at {}", shard, nextId);
+            } else if (current.get(0) == null || current.get(0) < nextId) {
+                jdbcTemplate.update("UPDATE task_id_sequence SET next_val = ? WHERE sequence_name = 'tasks'", nextId);
+                logger.info("Task id sequence of shard {} moved from {} to {}", shard, current.get(0), nextId);
+            }
+        }
+
+        @Override
+        public String getCallbackName() {
+            return "taskIdSequenceSeeder";
+        }
+    }
+}
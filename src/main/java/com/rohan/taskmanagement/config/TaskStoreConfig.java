@@ -0,0 +1,39 @@
+package com.rohan.taskmanagement.config;
+
+import com.rohan.taskmanagement.store.TaskStore;
+import com.rohan.taskmanagement.store.TaskStoreTransactionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Embedded task store used instead of the database with the memory profile.
+ * The store is recovered from app.store.directory before any other bean can read it.
+ */
+@Configuration
+@Profile("memory")
+public class TaskStoreConfig {
+
+    @Value("${app.store.directory:data/task-store}")
+    private Path directory;
+
+    @Value("${app.store.fsync:true}")
+    private boolean fsync;
+
+    @Bean(initMethod = "open", destroyMethod = "close")
+    public TaskStore taskStore() throws IOException {
+        return new TaskStore(directory, fsync);
+    }
+
+    /**
+     * Named like the auto-configured JPA transaction manager, so @Transactional and TransactionTemplate pick it up
+     */
+    @Bean
+    public TaskStoreTransactionManager transactionManager(TaskStore taskStore) {
+        return new TaskStoreTransactionManager(taskStore);
+    }
+}
@@ -1,13 +1,24 @@
 package com.rohan.taskmanagement.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.nio.charset.Charset;
+import java.util.List;
+
 /**
  * Web configuration for CORS and other web-related settings
  */
@@ -15,6 +26,53 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @EnableWebMvc
 public class WebConfig implements WebMvcConfigurer {
 
+    @Value("${app.async.request-timeout-ms:1800000}")
+    private long asyncRequestTimeoutMs;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    /**
+     * Async requests (streaming exports) run on the shared application executor.
+     * Configured here because @EnableWebMvc bypasses the spring.mvc.async.* properties.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(applicationTaskExecutor);
+        configurer.setDefaultTimeout(asyncRequestTimeoutMs);
+    }
+
+    /**
+     * Responses are negotiated between JSON, CBOR and Smile (the Jackson converters @EnableWebMvc adds when
+     * the dataformats are on the classpath). Error messages returned as plain Strings are left to the CBOR and
+     * Smile converters when one of those was asked for, instead of being sent as raw text under a binary type.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.replaceAll(converter -> converter instanceof StringHttpMessageConverter stringConverter
+                ? new TextStringHttpMessageConverter(stringConverter.getDefaultCharset())
+                : converter);
+    }
+
+    private static final class TextStringHttpMessageConverter extends StringHttpMessageConverter {
+        private static final List<MediaType> BINARY_TYPES = List.of(
+                MediaType.APPLICATION_CBOR, new MediaType("application", "x-jackson-smile"));
+
+        private TextStringHttpMessageConverter(Charset defaultCharset) {
+            super(defaultCharset);
+            setWriteAcceptCharset(false);
+        }
+
+        @Override
+        protected boolean canWrite(MediaType mediaType) {
+            if (mediaType != null && BINARY_TYPES.stream().anyMatch(mediaType::equalsTypeAndSubtype)) {
+                return false;
+            }
+            return super.canWrite(mediaType);
+        }
+    }
+
     /**
      * Configure CORS support for the application
      * @return CorsFilter bean
@@ -0,0 +1,54 @@
+package com.rohan.taskmanagement.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.rohan.taskmanagement.config.CacheConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Controller exposing task cache statistics
+ */
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Hit, miss and eviction statistics of the task cache
+     * @return cache statistics, or enabled=false when caching is turned off
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> cacheStats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        Cache cache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+
+        if (!(cache instanceof CaffeineCache)) {
+            response.put("enabled", false);
+            return ResponseEntity.ok(response);
+        }
+
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache).getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        response.put("enabled", true);
+        response.put("size", nativeCache.estimatedSize());
+        response.put("hitCount", stats.hitCount());
+        response.put("missCount", stats.missCount());
+        response.put("hitRate", stats.hitRate());
+        response.put("evictionCount", stats.evictionCount());
+        response.put("loadSuccessCount", stats.loadSuccessCount());
+        response.put("loadFailureCount", stats.loadFailureCount());
+        response.put("averageLoadPenaltyNanos", stats.averageLoadPenalty());
+        return ResponseEntity.ok(response);
+    }
+}
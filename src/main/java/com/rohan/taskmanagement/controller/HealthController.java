@@ -1,5 +1,10 @@
 package com.rohan.taskmanagement.controller;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -14,16 +19,22 @@ import java.util.Map;
 @RequestMapping("/api")
 public class HealthController {
 
+    @Autowired
+    private HealthEndpoint healthEndpoint;
+
     /**
-     * Simple health check endpoint
-     * @return status and timestamp
+     * Health check backed by the Actuator health indicators (database, disk space)
+     * @return status and timestamp, with 503 when any indicator is down
      */
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> healthCheck() {
+        HealthComponent health = healthEndpoint.health();
+        boolean up = Status.UP.equals(health.getStatus());
+
         Map<String, Object> response = new HashMap<>();
-        response.put("status", "UP");
+        response.put("status", health.getStatus().getCode());
         response.put("timestamp", System.currentTimeMillis());
-        response.put("message", "Backend service is running");
-        return ResponseEntity.ok(response);
+        response.put("message", up ? "Backend service is running" : "Backend service is unhealthy, see /actuator/health");
+        return ResponseEntity.status(up ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(response);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,78 @@
+package com.rohan.taskmanagement.controller;
+
+import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.dto.TaskPageDTO;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * ETag / Last-Modified validators for task reads.
+ * A single task is validated by its id and lastUpdatedOn. A list is validated once it has been read,
+ * by its size and newest lastUpdatedOn plus the query string that shaped the response; sparse rows
+ * may not carry lastUpdatedOn, so their content is hashed instead.
+ */
+final class TaskConditionalRequests {
+
+    private TaskConditionalRequests() {
+    }
+
+    /**
+     * Adds the validators to the response and returns true when the client copy is still current,
+     * in which case the status is already 304 and the handler should return without a body
+     */
+    static boolean checkNotModified(ServletWebRequest request, TaskDTO task) {
+        String etag = "W/\"" + task.getId() + "-" + Long.toHexString(toEpochMillis(task.getLastUpdatedOn())) + "\"";
+        return checkNotModified(request, etag, task.getLastUpdatedOn());
+    }
+
+    static boolean checkNotModified(ServletWebRequest request, List<?> items) {
+        return checkNotModified(request, items, null);
+    }
+
+    static boolean checkNotModified(ServletWebRequest request, TaskPageDTO page) {
+        // A task added after the last item only shows in hasMore and the cursor
+        return checkNotModified(request, page.getItems(), page.getNextCursor() + "-" + page.isHasMore());
+    }
+
+    private static boolean checkNotModified(ServletWebRequest request, List<?> items, String page) {
+        LocalDateTime lastUpdatedOn = null;
+        int rowsHash = 0;
+        for (Object item : items) {
+            if (item instanceof TaskDTO task) {
+                if (task.getLastUpdatedOn() != null && (lastUpdatedOn == null || task.getLastUpdatedOn().isAfter(lastUpdatedOn))) {
+                    lastUpdatedOn = task.getLastUpdatedOn();
+                }
+            } else {
+                rowsHash = 31 * rowsHash + Objects.hashCode(item);
+            }
+        }
+
+        String query = request.getRequest().getQueryString();
+        String etag = "W/\"" + items.size()
+                + "-" + Long.toHexString(toEpochMillis(lastUpdatedOn))
+                + "-" + Integer.toHexString(rowsHash)
+                + "-" + Integer.toHexString(Objects.hash(query, page)) + "\"";
+        return checkNotModified(request, etag, lastUpdatedOn);
+    }
+
+    private static boolean checkNotModified(ServletWebRequest request, String etag, LocalDateTime lastUpdatedOn) {
+        // Clients may keep the response but must revalidate it before every use
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        // The same URL is served as JSON, CBOR or Smile
+        request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (lastUpdatedOn == null) {
+            return request.checkNotModified(etag);
+        }
+        return request.checkNotModified(etag, toEpochMillis(lastUpdatedOn));
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0L;
+    }
+}
@@ -1,19 +1,30 @@
 package com.rohan.taskmanagement.controller;
 
+import com.rohan.taskmanagement.dto.BulkStatusUpdateDTO;
+import com.rohan.taskmanagement.dto.TaskBatchResultDTO;
 import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.dto.TaskPageDTO;
 import com.rohan.taskmanagement.exception.ResourceNotFoundException;
+import com.rohan.taskmanagement.exception.SyncTokenExpiredException;
+import com.rohan.taskmanagement.exception.TooManyRequestsException;
 import com.rohan.taskmanagement.exception.ValidationException;
+import com.rohan.taskmanagement.feed.TaskEventFeed;
+import com.rohan.taskmanagement.ingest.TaskIngestQueue;
 import com.rohan.taskmanagement.model.Task;
 import com.rohan.taskmanagement.repository.TaskRepository;
+import com.rohan.taskmanagement.service.TaskReadCoalescer;
 import com.rohan.taskmanagement.service.TaskService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -29,73 +40,238 @@ public class TaskController {
 
     @Autowired
     private TaskService taskService;
-    
+
+    // Shares one call between identical concurrent reads of a task or a search
     @Autowired
+    private TaskReadCoalescer taskReadCoalescer;
+    
+    // Absent when tasks are kept in the embedded store (memory profile)
+    @Autowired(required = false)
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TaskEventFeed taskEventFeed;
+
+    // Present when app.ingest.enabled=true
+    @Autowired(required = false)
+    private TaskIngestQueue taskIngestQueue;
+
     @PostMapping
     public ResponseEntity<?> createTask(@RequestBody TaskDTO taskDTO) {
         try {
-            logger.debug("Creating task with title: {}", taskDTO.getTitle());
-            
             // Validate required fields
             if (taskDTO.getTitle() == null || taskDTO.getTitle().isEmpty()) {
-                logger.error("Task title is required but was not provided");
                 return new ResponseEntity<>("Task title is required", HttpStatus.BAD_REQUEST);
             }
-            
-            // Log creator for clarity
-            logger.info("Task creation - CreatedBy: '{}'", 
-                    taskDTO.getCreatedBy() != null ? taskDTO.getCreatedBy() : "Company Admin");
 
-            TaskDTO createdTask = taskService.createTask(taskDTO);
-            logger.info("Task created successfully with ID: {}", createdTask.getId());
+            // With group commit the task shares its transaction with concurrent creates
+            TaskDTO createdTask = taskIngestQueue != null
+                    ? taskIngestQueue.create(taskDTO)
+                    : taskService.createTask(taskDTO);
             return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
 
         } catch (Exception e) {
-            logger.error("Error creating task: {}", e.getMessage(), e);
-                
             // Return appropriate status code based on the exception type
-            if (e instanceof ResourceNotFoundException) {
+            if (e instanceof TooManyRequestsException) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body("Error creating task: " + e.getMessage());
+            } else if (e instanceof ResourceNotFoundException) {
                 return new ResponseEntity<>("Error creating task: " + e.getMessage(), 
                     HttpStatus.NOT_FOUND);
             } else if (e instanceof ValidationException) {
                 return new ResponseEntity<>("Validation error: " + e.getMessage(), 
                     HttpStatus.BAD_REQUEST);
             }
-                
+
+            logger.error("Error creating task: {}", e.getMessage(), e);
             return new ResponseEntity<>("Error creating task: " + e.getMessage(), 
                 HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> createTasks(@RequestBody List<TaskDTO> taskDTOs) {
+        try {
+            List<TaskBatchResultDTO> results = taskService.createTasks(taskDTOs);
+            return ResponseEntity.ok(results);
+        } catch (ValidationException e) {
+            return new ResponseEntity<>("Validation error: " + e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("Error creating task batch: {}", e.getMessage(), e);
+            return new ResponseEntity<>("Error creating tasks: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<?> updateTasks(@RequestBody List<TaskDTO> taskDTOs) {
+        try {
+            List<TaskBatchResultDTO> results = taskService.updateTasks(taskDTOs);
+            return ResponseEntity.ok(results);
+        } catch (ValidationException e) {
+            return new ResponseEntity<>("Validation error: " + e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("Error updating task batch: {}", e.getMessage(), e);
+            return new ResponseEntity<>("Error updating tasks: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<?> deleteTasks(@RequestBody List<Long> taskIds) {
+        try {
+            List<TaskBatchResultDTO> results = taskService.deleteTasks(taskIds);
+            return ResponseEntity.ok(results);
+        } catch (ValidationException e) {
+            return new ResponseEntity<>("Validation error: " + e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("Error deleting task batch: {}", e.getMessage(), e);
+            return new ResponseEntity<>("Error deleting tasks: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @GetMapping("/{taskId}")
-    public ResponseEntity<?> getTaskById(@PathVariable Long taskId) {
+    public ResponseEntity<?> getTaskById(@PathVariable Long taskId, ServletWebRequest request) {
         try {
-            TaskDTO task = taskService.getTaskById(taskId);
+            // Served from the task cache, so a 304 costs neither a query nor serialization
+            TaskDTO task = taskReadCoalescer.getTaskById(taskId);
+            if (TaskConditionalRequests.checkNotModified(request, task)) {
+                return null;
+            }
             return ResponseEntity.ok(task);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>("Task not found: " + e.getMessage(), HttpStatus.NOT_FOUND);
         } catch (Exception e) {
             logger.error("Error fetching task by ID {}: {}", taskId, e.getMessage(), e);
             return new ResponseEntity<>("Error fetching task: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    // Field-level change history, newest first; written shortly after each change commits
+    @GetMapping("/{taskId}/history")
+    public ResponseEntity<?> getTaskHistory(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(taskService.getTaskHistory(taskId, after, limit));
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>("Task not found: " + e.getMessage(), HttpStatus.NOT_FOUND);
+        } catch (ValidationException e) {
+            return new ResponseEntity<>("Validation error: " + e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("Error fetching history of task {}: {}", taskId, e.getMessage(), e);
+            return new ResponseEntity<>("Error fetching task history: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @GetMapping
-    public ResponseEntity<?> getAllTasks() {
+    public ResponseEntity<?> getAllTasks(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String fields,
+            ServletWebRequest request) {
         try {
+            // Without paging parameters keep returning the plain list for existing clients
+            if (after != null || limit != null || sort != null) {
+                TaskPageDTO page = taskService.getTaskPage(after, limit, sort, fields);
+                if (TaskConditionalRequests.checkNotModified(request, page)) {
+                    return null;
+                }
+                return ResponseEntity.ok(page);
+            }
+
+            // Sparse fieldsets select only the requested columns
+            if (fields != null && !fields.trim().isEmpty()) {
+                List<Map<String, Object>> rows = taskService.searchTaskFields(null, null, fields);
+                if (TaskConditionalRequests.checkNotModified(request, rows)) {
+                    return null;
+                }
+                return ResponseEntity.ok(rows);
+            }
+
             List<TaskDTO> tasks = taskService.getAllTasks();
+            if (TaskConditionalRequests.checkNotModified(request, tasks)) {
+                return null;
+            }
             return ResponseEntity.ok(tasks);
+        } catch (ValidationException e) {
+            return new ResponseEntity<>("Validation error: " + e.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             logger.error("Error fetching all tasks: {}", e.getMessage(), e);
             return new ResponseEntity<>("Error fetching tasks: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    // Counts for dashboards, from counters kept in memory
+    @GetMapping("/stats")
+    public ResponseEntity<?> getTaskStats() {
+        try {
+            return ResponseEntity.ok(taskService.getTaskStats());
+        } catch (Exception e) {
+            logger.error("Error computing task statistics: {}", e.getMessage(), e);
+            return new ResponseEntity<>("Error computing task statistics: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Delta sync; pass the returned token back as "since" to get only what changed after it
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(taskService.getChangesSince(since, limit));
+        } catch (ValidationException e) {
+            return new ResponseEntity<>("Validation error: " + e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (SyncTokenExpiredException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.GONE);
+        } catch (Exception e) {
+            logger.error("Error fetching task changes: {}", e.getMessage(), e);
+            return new ResponseEntity<>("Error fetching task changes: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Change feed; EventSource clients resume with the Last-Event-ID header when they reconnect
+    @GetMapping("/events")
+    public ResponseEntity<SseEmitter> streamEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId) {
+        try {
+            SseEmitter emitter = taskEventFeed.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+            // Stop reverse proxies from buffering the stream
+            return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+        } catch (TooManyRequestsException e) {
+            logger.warn("Rejected event stream: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "5").build();
+        }
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String status) {
+        String titleFilter = title != null && !title.trim().isEmpty() ? title.trim() : null;
+        String statusFilter = status != null && !status.trim().isEmpty() ? status.trim() : null;
+
+        // Rows are written as they are read, on an async request thread
+        StreamingResponseBody body = outputStream -> {
+            try {
+                taskService.exportTasks(titleFilter, statusFilter, outputStream);
+            } catch (Exception e) {
+                logger.error("Error exporting tasks: {}", e.getMessage(), e);
+                throw e;
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.ndjson\"")
+                .body(body);
+    }
+
     @PutMapping("/{taskId}")
     public ResponseEntity<?> updateTask(@PathVariable Long taskId, @RequestBody TaskDTO taskDTO) {
         try {
-            logger.debug("Updating task with ID: {} with data: {}", taskId, taskDTO);
-            
             // Basic validation
             if (taskId == null) {
                 return new ResponseEntity<>("Task ID is required", HttpStatus.BAD_REQUEST);
@@ -104,25 +280,10 @@ public class TaskController {
             if (taskDTO.getTitle() == null || taskDTO.getTitle().isEmpty()) {
                 return new ResponseEntity<>("Task title is required", HttpStatus.BAD_REQUEST);
             }
-            
-            // Log fields for debugging
-            logger.info("Task update fields - ID: {}, Title: '{}', Description: '{}', Status: '{}'", 
-                taskId, taskDTO.getTitle(), taskDTO.getDescription(), taskDTO.getStatus());
-            
+
             TaskDTO updatedTask = taskService.updateTask(taskId, taskDTO);
-            logger.info("Task updated successfully with ID: {}", updatedTask.getId());
             return ResponseEntity.ok(updatedTask);
         } catch (Exception e) {
-            logger.error("Error updating task with ID {}: {}", taskId, e.getMessage(), e);
-            
-            // Log the stack trace for more detailed debugging
-            logger.error("Exception stack trace:", e);
-            
-            // If there's a nested cause, log it too
-            if (e.getCause() != null) {
-                logger.error("Root cause: {}", e.getCause().getMessage(), e.getCause());
-            }
-            
             // Return appropriate status code based on the exception type
             if (e instanceof ResourceNotFoundException) {
                 return new ResponseEntity<>("Task not found: " + e.getMessage(), 
@@ -132,6 +293,9 @@ public class TaskController {
                     HttpStatus.BAD_REQUEST);
             }
             
+            // Unexpected failures are logged once, with the cause chain in the stack trace
+            logger.error("Error updating task with ID {}: {}", taskId, e.getMessage(), e);
+
             // Return more detailed error information
             String errorDetails = e.getMessage();
             if (e.getCause() != null) {
@@ -159,6 +323,8 @@ public class TaskController {
         try {
             TaskDTO updatedTask = taskService.markTaskAsCompleted(taskId);
             return ResponseEntity.ok(updatedTask);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>("Task not found: " + e.getMessage(), HttpStatus.NOT_FOUND);
         } catch (Exception e) {
             logger.error("Error marking task as complete with ID {}: {}", taskId, e.getMessage(), e);
             return new ResponseEntity<>("Error marking task as complete: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
@@ -170,37 +336,39 @@ public class TaskController {
         try {
             TaskDTO updatedTask = taskService.markTaskAsPending(taskId);
             return ResponseEntity.ok(updatedTask);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>("Task not found: " + e.getMessage(), HttpStatus.NOT_FOUND);
         } catch (Exception e) {
             logger.error("Error marking task as pending with ID {}: {}", taskId, e.getMessage(), e);
             return new ResponseEntity<>("Error marking task as pending: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    @PutMapping("/status")
+    public ResponseEntity<?> bulkUpdateStatus(@RequestBody BulkStatusUpdateDTO request) {
+        try {
+            int updated = taskService.bulkUpdateStatus(request);
+            return ResponseEntity.ok(Map.of("status", request.getStatus().trim(), "updated", updated));
+        } catch (ValidationException e) {
+            return new ResponseEntity<>("Validation error: " + e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("Error changing task status in bulk: {}", e.getMessage(), e);
+            return new ResponseEntity<>("Error changing task status: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @GetMapping("/search")
     public ResponseEntity<?> searchTasks(
             @RequestParam(required = false) String title,
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String fields,
+            ServletWebRequest request) {
         try {
-            logger.info("Search API called with raw parameters: title='{}', status='{}'", 
-                title != null ? title : "null", 
-                status != null ? status : "null");
-            
-            // Check if the request parameters were received correctly
-            Map<String, String[]> parameterMap = new HashMap<>(
-                ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes())
-                .getRequest().getParameterMap()
-            );
-            
-            logger.debug("Raw request parameters: {}", parameterMap);
-            
             // Clean up title parameter if provided
             if (title != null) {
                 title = title.trim();
                 if (title.isEmpty()) {
                     title = null; // Treat empty strings as null
-                    logger.debug("Empty title parameter treated as null");
-                } else {
-                    logger.debug("Using title search parameter: '{}'", title);
                 }
             }
             
@@ -209,52 +377,27 @@ public class TaskController {
                 status = status.trim();
                 if (status.isEmpty()) {
                     status = null; // Treat empty strings as null
-                    logger.debug("Empty status parameter treated as null");
-                } else {
-                    logger.debug("Using status filter parameter: '{}'", status);
                 }
             }
             
-            // Perform the search with both direct method calls for comparison
-            logger.info("Calling taskService.searchTasks with title='{}', status='{}'", 
-                title != null ? title : "null", 
-                status != null ? status : "null");
-            
-            List<TaskDTO> tasks = taskService.searchTasks(title, status);
-            logger.info("Search completed - Found {} tasks matching criteria", tasks.size());
-            
-            // Debug: print the found tasks
-            if (tasks.isEmpty()) {
-                logger.warn("No tasks found for search with title='{}', status='{}'", 
-                    title, status);
-                
-                // Try a fallback search if we have a title to search for
-                if (title != null) {
-                    logger.info("Attempting fallback search with title only");
-                    
-                    // Get all tasks and manually filter them in memory
-                    List<TaskDTO> allTasks = taskService.getAllTasks();
-                    String lowerCaseTitle = title.toLowerCase();
-                    
-                    List<TaskDTO> filteredTasks = allTasks.stream()
-                        .filter(task -> task.getTitle().toLowerCase().contains(lowerCaseTitle))
-                        .collect(Collectors.toList());
-                    
-                    if (!filteredTasks.isEmpty()) {
-                        logger.info("Fallback search found {} tasks", filteredTasks.size());
-                        tasks = filteredTasks;
-                    }
-                }
-            } else {
-                // Log the found tasks for debugging
-                for (TaskDTO task : tasks) {
-                    logger.debug("Found task: ID={}, Title='{}', Status='{}'", 
-                        task.getId(), task.getTitle(), task.getStatus());
+            // Validated from the rows read, so a search is answered by the title index and coalesced as usual
+            if (fields != null && !fields.trim().isEmpty()) {
+                List<Map<String, Object>> rows = taskService.searchTaskFields(title, status, fields);
+                if (TaskConditionalRequests.checkNotModified(request, rows)) {
+                    return null;
                 }
+                return ResponseEntity.ok(rows);
+            }
+            
+            List<TaskDTO> tasks = taskReadCoalescer.searchTasks(title, status);
+            if (TaskConditionalRequests.checkNotModified(request, tasks)) {
+                return null;
             }
             
             // Even if no tasks were found, return what we have with 200 OK
             return ResponseEntity.ok(tasks);
+        } catch (ValidationException e) {
+            return new ResponseEntity<>("Validation error: " + e.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             logger.error("Error searching tasks: {}", e.getMessage(), e);
             return new ResponseEntity<>(
@@ -271,6 +414,21 @@ public class TaskController {
         }
     }
 
+    // Case-insensitive "title starts with" search, ordered by title
+    @GetMapping("/search/prefix")
+    public ResponseEntity<?> searchTasksByTitlePrefix(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String status) {
+        try {
+            return ResponseEntity.ok(taskService.searchTasksByTitlePrefix(prefix, status));
+        } catch (ValidationException e) {
+            return new ResponseEntity<>("Validation error: " + e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("Error searching tasks by title prefix: {}", e.getMessage(), e);
+            return new ResponseEntity<>("Error searching tasks: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     // Added test method to diagnose task update issues
     @GetMapping("/test/update/{taskId}")
     public ResponseEntity<?> testTaskUpdate(@PathVariable Long taskId) {
@@ -317,7 +475,9 @@ public class TaskController {
             logger.info("DEBUG API: Testing search with title='{}'", title);
             
             // Get direct repository results
-            List<Task> rawResults = taskRepository.findByTitleContainingIgnoreCase(title);
+            List<Task> rawResults = taskRepository != null
+                ? taskRepository.findByTitleContainingIgnoreCase(title)
+                : List.of();
             logger.info("DEBUG API: Raw repository results count: {}", rawResults.size());
             
             // Get results via service
@@ -0,0 +1,144 @@
+package com.rohan.taskmanagement.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Hands out primary connections to read-write transactions and to work outside transactions, and replica
+ * connections to read-only transactions. Connections have to be taken lazily (LazyConnectionDataSourceProxy),
+ * after the transaction has been marked read-only.
+ *
+ * Replicas apply commits with a delay, so read-only transactions stay on the primary for maxLag after a write
+ * and a client reading right after its update sees it. For a request that brought back the time of its client's
+ * last write (see ReadYourWritesFilter) the window starts at that write, wherever it was made, so other clients'
+ * writes do not keep it off the replica. Everything else - clients that do not keep the cookie, task cache loads
+ * on the cache's own threads, background jobs - uses a window kept per application instance that any write on
+ * this instance restarts, since what those load may be shared with every client. Instance clocks are assumed
+ * to agree to well within maxLag. Work that has to see every committed change regardless, like loading the
+ * in-memory mirrors that later events are applied to, runs in onPrimary.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+    private static final ThreadLocal<ClientWrites> CLIENT_WRITES = new ThreadLocal<>();
+
+    private final long maxLagNanos;
+    private final long maxLagMillis;
+    private volatile long lastWriteCommit;
+
+    /**
+     * Last write of the client a request is served for
+     */
+    static final class ClientWrites {
+        private final LongConsumer onWrite;
+        // Epoch millis, null until the client told or the request wrote
+        private volatile Long lastWrite;
+
+        ClientWrites(Long lastWrite, LongConsumer onWrite) {
+            this.lastWrite = lastWrite;
+            this.onWrite = onWrite;
+        }
+
+        private void wrote(long commitTime) {
+            lastWrite = commitTime;
+            onWrite.accept(commitTime);
+        }
+    }
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration maxLag) {
+        this.maxLagNanos = maxLag.toNanos();
+        this.maxLagMillis = maxLag.toMillis();
+        // No write seen yet, reads may go to the replica right away
+        this.lastWriteCommit = System.nanoTime() - maxLagNanos;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    /**
+     * Runs the work with every transaction it opens on the primary, read-only or not
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean pinned = PRIMARY_PINNED.get();
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (pinned == null) {
+                PRIMARY_PINNED.remove();
+            }
+        }
+    }
+
+    public static void onPrimary(Runnable work) {
+        onPrimary(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Serves the current thread's transactions for a client until {@link #unbindClient}
+     */
+    static void bindClient(ClientWrites client) {
+        CLIENT_WRITES.set(client);
+    }
+
+    static void unbindClient() {
+        CLIENT_WRITES.remove();
+    }
+
+    /**
+     * Where the next connection of the current thread goes
+     */
+    public Target currentTarget() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+        return readTarget();
+    }
+
+    /**
+     * Where a read-only transaction of the current thread would go
+     */
+    public Target readTarget() {
+        if (PRIMARY_PINNED.get() != null) {
+            return Target.PRIMARY;
+        }
+        ClientWrites client = CLIENT_WRITES.get();
+        Long clientLastWrite = client != null ? client.lastWrite : null;
+        boolean withinLag = clientLastWrite != null
+                ? System.currentTimeMillis() - clientLastWrite < maxLagMillis
+                : System.nanoTime() - lastWriteCommit < maxLagNanos;
+        return withinLag ? Target.PRIMARY : Target.REPLICA;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target target = currentTarget();
+        if (target == Target.PRIMARY && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A read-write transaction takes one connection; its commit starts the lag windows
+            ClientWrites client = CLIENT_WRITES.get();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lastWriteCommit = System.nanoTime();
+                    if (client != null) {
+                        client.wrote(System.currentTimeMillis());
+                    }
+                }
+            });
+        }
+        return target;
+    }
+}
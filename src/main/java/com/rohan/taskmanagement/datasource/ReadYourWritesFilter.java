@@ -0,0 +1,72 @@
+package com.rohan.taskmanagement.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Carries the time of a client's last write between its requests in a cookie, so that
+ * ReadReplicaRoutingDataSource keeps that client's reads on the primary for max-lag after its own writes,
+ * on whichever instance it lands. The cookie is set when a request commits a write and expires with the lag
+ * window; requests without it fall back to the window kept per instance.
+ */
+@Component
+@ConditionalOnExpression("${app.datasource.replica.enabled:false} and !${app.sharding.enabled:false}")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String LAST_WRITE_COOKIE = "last-write";
+
+    @Value("${app.datasource.replica.max-lag:PT1S}")
+    private Duration maxLag;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ReadReplicaRoutingDataSource.bindClient(new ReadReplicaRoutingDataSource.ClientWrites(lastWrite(request),
+                commitTime -> {
+                    // Only possible before the response starts; writes are committed before it is rendered
+                    if (!response.isCommitted()) {
+                        response.addCookie(lastWriteCookie(commitTime));
+                    }
+                }));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadReplicaRoutingDataSource.unbindClient();
+        }
+    }
+
+    private Cookie lastWriteCookie(long commitTime) {
+        Cookie cookie = new Cookie(LAST_WRITE_COOKIE, Long.toString(commitTime));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, (maxLag.toMillis() + 999) / 1000));
+        return cookie;
+    }
+
+    private static Long lastWrite(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
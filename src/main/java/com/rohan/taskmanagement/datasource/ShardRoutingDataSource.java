@@ -0,0 +1,81 @@
+package com.rohan.taskmanagement.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Hands out connections to the shard the current thread works on, set with onShard; work outside any shard
+ * (schema validation at startup, work that was never routed) uses shard 0. Connections have to be taken lazily
+ * (LazyConnectionDataSourceProxy), so a transaction begun by a routed call gets its connection from that shard.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private final List<HikariDataSource> shards;
+
+    public ShardRoutingDataSource(List<HikariDataSource> shards) {
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+    }
+
+    /**
+     * Shard the current thread works on
+     */
+    public static int currentShard() {
+        Integer shard = CURRENT_SHARD.get();
+        return shard != null ? shard : 0;
+    }
+
+    /**
+     * Runs the work with every connection it takes on the given shard
+     */
+    public static <T> T onShard(int shard, Supplier<T> work) {
+        Integer previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_SHARD.remove();
+            } else {
+                CURRENT_SHARD.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Wraps a task handed to another thread so it runs on the shard of the thread handing it over
+     */
+    public static Runnable withCurrentShard(Runnable task) {
+        Integer shard = CURRENT_SHARD.get();
+        if (shard == null) {
+            return task;
+        }
+        return () -> onShard(shard, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentShard();
+    }
+
+    @Override
+    public void close() {
+        shards.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,31 @@
+package com.rohan.taskmanagement.dto;
+
+import java.util.List;
+
+/**
+ * Request body for changing the status of many tasks at once.
+ * Tasks are selected either by explicit ids or by a title/currentStatus filter.
+ */
+public class BulkStatusUpdateDTO {
+    private List<Long> ids;
+    private String title;
+    private String currentStatus;
+    private String status;
+    private String updatedBy;
+
+    // Getters and Setters
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getCurrentStatus() { return currentStatus; }
+    public void setCurrentStatus(String currentStatus) { this.currentStatus = currentStatus; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getUpdatedBy() { return updatedBy; }
+    public void setUpdatedBy(String updatedBy) { this.updatedBy = updatedBy; }
+}
@@ -0,0 +1,51 @@
+package com.rohan.taskmanagement.dto;
+
+/**
+ * Outcome of one item of a batch create, update or delete request.
+ * The index refers to the item's position in the request body.
+ */
+public class TaskBatchResultDTO {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+    public static final String INVALID = "INVALID";
+    public static final String NOT_FOUND = "NOT_FOUND";
+
+    private int index;
+    private Long id;
+    private String result;
+    private String message;
+    private TaskDTO task;
+
+    public TaskBatchResultDTO() {
+    }
+
+    public TaskBatchResultDTO(int index, Long id, String result) {
+        this.index = index;
+        this.id = id;
+        this.result = result;
+    }
+
+    public static TaskBatchResultDTO failure(int index, Long id, String result, String message) {
+        TaskBatchResultDTO dto = new TaskBatchResultDTO(index, id, result);
+        dto.setMessage(message);
+        return dto;
+    }
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getResult() { return result; }
+    public void setResult(String result) { this.result = result; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public TaskDTO getTask() { return task; }
+    public void setTask(TaskDTO task) { this.task = task; }
+}
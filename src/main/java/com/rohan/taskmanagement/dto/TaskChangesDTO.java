@@ -0,0 +1,37 @@
+package com.rohan.taskmanagement.dto;
+
+import java.util.List;
+
+/**
+ * Result of a delta sync: the tasks created or updated since the token and the ids of the tasks deleted since it.
+ * Pass token back as "since" on the next sync; when hasMore is set, call again straight away.
+ */
+public class TaskChangesDTO {
+    private List<TaskDTO> tasks;
+    private List<Long> deletedIds;
+    private String token;
+    private boolean hasMore;
+
+    public TaskChangesDTO() {
+    }
+
+    public TaskChangesDTO(List<TaskDTO> tasks, List<Long> deletedIds, String token, boolean hasMore) {
+        this.tasks = tasks;
+        this.deletedIds = deletedIds;
+        this.token = token;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<TaskDTO> getTasks() { return tasks; }
+    public void setTasks(List<TaskDTO> tasks) { this.tasks = tasks; }
+
+    public List<Long> getDeletedIds() { return deletedIds; }
+    public void setDeletedIds(List<Long> deletedIds) { this.deletedIds = deletedIds; }
+
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
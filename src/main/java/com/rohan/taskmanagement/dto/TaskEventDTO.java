@@ -0,0 +1,56 @@
+package com.rohan.taskmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One message of the GET /api/tasks/events change feed.
+ * Single-task changes carry taskId and, unless the task was deleted, its new state in task.
+ * Bulk status changes carry taskIds and status instead; ids that match no task should be ignored.
+ * RESYNC means changes were missed and the client should reload the task list.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskEventDTO {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+    public static final String STATUS_CHANGED = "STATUS_CHANGED";
+    public static final String RESYNC = "RESYNC";
+
+    private String type;
+    private Long taskId;
+    private TaskDTO task;
+    private List<Long> taskIds;
+    private String status;
+    private LocalDateTime occurredOn;
+
+    public TaskEventDTO() {
+    }
+
+    public TaskEventDTO(String type, LocalDateTime occurredOn) {
+        this.type = type;
+        this.occurredOn = occurredOn;
+    }
+
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getTaskId() { return taskId; }
+    public void setTaskId(Long taskId) { this.taskId = taskId; }
+
+    public TaskDTO getTask() { return task; }
+    public void setTask(TaskDTO task) { this.task = task; }
+
+    public List<Long> getTaskIds() { return taskIds; }
+    public void setTaskIds(List<Long> taskIds) { this.taskIds = taskIds; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public LocalDateTime getOccurredOn() { return occurredOn; }
+    public void setOccurredOn(LocalDateTime occurredOn) { this.occurredOn = occurredOn; }
+}
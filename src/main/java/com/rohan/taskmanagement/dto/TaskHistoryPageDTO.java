@@ -0,0 +1,44 @@
+package com.rohan.taskmanagement.dto;
+
+import com.rohan.taskmanagement.model.TaskHistoryEntry;
+
+import java.util.List;
+
+/**
+ * One page of a task's history, newest change first.
+ * Pass nextCursor back as the "after" parameter to fetch older changes.
+ */
+public class TaskHistoryPageDTO {
+    private Long taskId;
+    private List<TaskHistoryEntry> entries;
+    private String nextCursor;
+    private boolean hasMore;
+    private int limit;
+
+    public TaskHistoryPageDTO() {
+    }
+
+    public TaskHistoryPageDTO(Long taskId, List<TaskHistoryEntry> entries, String nextCursor, boolean hasMore, int limit) {
+        this.taskId = taskId;
+        this.entries = entries;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.limit = limit;
+    }
+
+    // Getters and Setters
+    public Long getTaskId() { return taskId; }
+    public void setTaskId(Long taskId) { this.taskId = taskId; }
+
+    public List<TaskHistoryEntry> getEntries() { return entries; }
+    public void setEntries(List<TaskHistoryEntry> entries) { this.entries = entries; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+}
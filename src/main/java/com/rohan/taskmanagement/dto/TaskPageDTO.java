@@ -0,0 +1,43 @@
+package com.rohan.taskmanagement.dto;
+
+import java.util.List;
+
+/**
+ * One page of a cursor-paginated task listing.
+ * Items are TaskDTOs, or field maps when a sparse fieldset was requested.
+ * Pass nextCursor back as the "after" parameter to fetch the following page.
+ */
+public class TaskPageDTO {
+    private List<?> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int limit;
+    private String sort;
+
+    public TaskPageDTO() {
+    }
+
+    public TaskPageDTO(List<?> items, String nextCursor, boolean hasMore, int limit, String sort) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.limit = limit;
+        this.sort = sort;
+    }
+
+    // Getters and Setters
+    public List<?> getItems() { return items; }
+    public void setItems(List<?> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+
+    public String getSort() { return sort; }
+    public void setSort(String sort) { this.sort = sort; }
+}
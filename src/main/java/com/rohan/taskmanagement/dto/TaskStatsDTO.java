@@ -0,0 +1,63 @@
+package com.rohan.taskmanagement.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Task counts for dashboards.
+ * Overdue, due-today and due-this-week only count tasks that are not DONE. The three are
+ * evaluated at asOf: overdue tasks were due before it, due-today and due-this-week tasks are due
+ * from asOf to the end of the day and of the week (Sunday), so they never include overdue tasks.
+ */
+public class TaskStatsDTO {
+    private long total;
+    private Map<String, Long> byStatus;
+    private long overdue;
+    private long dueToday;
+    private long dueThisWeek;
+    private LocalDateTime asOf;
+
+    public TaskStatsDTO() {
+    }
+
+    public TaskStatsDTO(long total, Map<String, Long> byStatus, long overdue, long dueToday, long dueThisWeek,
+                        LocalDateTime asOf) {
+        this.total = total;
+        this.byStatus = byStatus;
+        this.overdue = overdue;
+        this.dueToday = dueToday;
+        this.dueThisWeek = dueThisWeek;
+        this.asOf = asOf;
+    }
+
+    // Getters and Setters
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public Map<String, Long> getByStatus() { return byStatus; }
+    public void setByStatus(Map<String, Long> byStatus) { this.byStatus = byStatus; }
+
+    public long getOverdue() { return overdue; }
+    public void setOverdue(long overdue) { this.overdue = overdue; }
+
+    public long getDueToday() { return dueToday; }
+    public void setDueToday(long dueToday) { this.dueToday = dueToday; }
+
+    public long getDueThisWeek() { return dueThisWeek; }
+    public void setDueThisWeek(long dueThisWeek) { this.dueThisWeek = dueThisWeek; }
+
+    public LocalDateTime getAsOf() { return asOf; }
+    public void setAsOf(LocalDateTime asOf) { this.asOf = asOf; }
+
+    /**
+     * True when both hold the same counts, regardless of asOf
+     */
+    public boolean sameCounts(TaskStatsDTO other) {
+        return other != null
+                && total == other.total
+                && overdue == other.overdue
+                && dueToday == other.dueToday
+                && dueThisWeek == other.dueThisWeek
+                && byStatus.equals(other.byStatus);
+    }
+}
@@ -0,0 +1,40 @@
+package com.rohan.taskmanagement.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published when one set-based UPDATE changes the status of many tasks.
+ * A single event replaces one {@link TaskChangeEvent} per task; ids that did not
+ * match an existing task may be included and should be ignored by listeners.
+ */
+public class TaskBulkStatusEvent {
+
+    private final List<Long> taskIds;
+    private final String status;
+    private final LocalDateTime updatedOn;
+    private final String updatedBy;
+
+    public TaskBulkStatusEvent(List<Long> taskIds, String status, LocalDateTime updatedOn, String updatedBy) {
+        this.taskIds = taskIds;
+        this.status = status;
+        this.updatedOn = updatedOn;
+        this.updatedBy = updatedBy;
+    }
+
+    public List<Long> getTaskIds() {
+        return taskIds;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getUpdatedOn() {
+        return updatedOn;
+    }
+
+    public String getUpdatedBy() {
+        return updatedBy;
+    }
+}
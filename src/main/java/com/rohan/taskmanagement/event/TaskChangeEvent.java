@@ -0,0 +1,68 @@
+package com.rohan.taskmanagement.event;
+
+import com.rohan.taskmanagement.dto.TaskDTO;
+
+/**
+ * Published by the task service whenever a task is written.
+ * Listeners that keep derived state (indexes, caches, counters) should use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ */
+public class TaskChangeEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        STATUS_CHANGED
+    }
+
+    private final Type type;
+    private final Long taskId;
+    private final TaskDTO before;
+    private final TaskDTO after;
+
+    public TaskChangeEvent(Type type, Long taskId, TaskDTO before, TaskDTO after) {
+        this.type = type;
+        this.taskId = taskId;
+        this.before = before;
+        this.after = after;
+    }
+
+    public static TaskChangeEvent created(TaskDTO after) {
+        return new TaskChangeEvent(Type.CREATED, after.getId(), null, after);
+    }
+
+    public static TaskChangeEvent updated(TaskDTO before, TaskDTO after) {
+        return new TaskChangeEvent(Type.UPDATED, after.getId(), before, after);
+    }
+
+    public static TaskChangeEvent deleted(TaskDTO before) {
+        return new TaskChangeEvent(Type.DELETED, before.getId(), before, null);
+    }
+
+    public static TaskChangeEvent statusChanged(TaskDTO before, TaskDTO after) {
+        return new TaskChangeEvent(Type.STATUS_CHANGED, after.getId(), before, after);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * State before the change; null for creations
+     */
+    public TaskDTO getBefore() {
+        return before;
+    }
+
+    /**
+     * State after the change; null for deletions
+     */
+    public TaskDTO getAfter() {
+        return after;
+    }
+}
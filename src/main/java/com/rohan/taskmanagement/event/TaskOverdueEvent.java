@@ -0,0 +1,28 @@
+package com.rohan.taskmanagement.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published when open tasks pass their due date, once per tick of the overdue detector.
+ * Not tied to a transaction; when the OVERDUE marker is enabled the status change is
+ * published separately as a {@link TaskBulkStatusEvent}.
+ */
+public class TaskOverdueEvent {
+
+    private final List<Long> taskIds;
+    private final LocalDateTime detectedOn;
+
+    public TaskOverdueEvent(List<Long> taskIds, LocalDateTime detectedOn) {
+        this.taskIds = taskIds;
+        this.detectedOn = detectedOn;
+    }
+
+    public List<Long> getTaskIds() {
+        return taskIds;
+    }
+
+    public LocalDateTime getDetectedOn() {
+        return detectedOn;
+    }
+}
@@ -0,0 +1,15 @@
+package com.rohan.taskmanagement.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception for delta sync tokens older than the tombstone retention; the client has to reload everything
+ */
+@ResponseStatus(HttpStatus.GONE)
+public class SyncTokenExpiredException extends RuntimeException {
+
+    public SyncTokenExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,301 @@
+package com.rohan.taskmanagement.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rohan.taskmanagement.dto.TaskEventDTO;
+import com.rohan.taskmanagement.exception.TooManyRequestsException;
+import com.rohan.taskmanagement.metrics.TaskMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server-Sent Events fan-out behind GET /api/tasks/events.
+ * Committed changes are serialized once into a ring buffer of the last app.events.buffer-size
+ * events. Each subscriber only holds a cursor into the ring: publishing appends and wakes a
+ * dispatcher, and a sender per subscriber with pending events catches it up, so writers never wait
+ * for a client. Senders run on a fixed pool of app.events.sender-threads platform threads: a write to
+ * a client that stops reading blocks inside the emitter's monitor, which would pin the carrier of a
+ * virtual thread. Such a client holds one sender thread until the server's write timeout drops it,
+ * and once the ring wraps past its cursor it is sent a RESYNC and moved to the newest event.
+ * Event ids are "epoch-cursor", the epoch telling ids of this process apart from ids issued before
+ * a restart, so reconnecting with Last-Event-ID resumes where the client left off while the
+ * events are still buffered, and gets a RESYNC otherwise.
+ */
+@Component
+public class TaskEventFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventFeed.class);
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("").build();
+
+    @Value("${app.events.buffer-size:4096}")
+    private int bufferSize;
+
+    @Value("${app.events.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${app.events.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${app.events.sender-threads:16}")
+    private int senderThreads;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskMetrics taskMetrics;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Lock lock = new ReentrantLock();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+    private ExecutorService senders;
+
+    private BufferedEvent[] ring;
+    // Sequence of the next event; written under the lock
+    private volatile long nextSequence;
+
+    private static final class BufferedEvent {
+        private final long sequence;
+        private final Set<DataWithMediaType> message;
+
+        private BufferedEvent(long sequence, Set<DataWithMediaType> message) {
+            this.sequence = sequence;
+            this.message = message;
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        // Only one sender runs per subscriber; it owns the cursor while this is set
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private long cursor;
+        private volatile boolean resync;
+        private volatile boolean heartbeat;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        ring = new BufferedEvent[bufferSize];
+        senders = Executors.newFixedThreadPool(senderThreads,
+                Thread.ofPlatform().name("task-events-", 0).daemon(true).factory());
+        taskMetrics.registerEventSubscribers(subscribers);
+    }
+
+    /**
+     * Opens a stream of the changes committed from now on, or since lastEventId when given
+     * @throws TooManyRequestsException if app.events.max-subscribers streams are open
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new TooManyRequestsException("Too many open event streams, retry later");
+        }
+
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeout.toMillis()));
+        lock.lock();
+        try {
+            long head = nextSequence;
+            Long resumeAt = parseCursor(lastEventId);
+            if (lastEventId == null) {
+                subscriber.cursor = head;
+            } else if (resumeAt != null && resumeAt >= head - ring.length && resumeAt <= head) {
+                subscriber.cursor = resumeAt;
+            } else {
+                // Unknown, expired or from before a restart
+                subscriber.cursor = head;
+                subscriber.resync = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        if (subscriber.resync || subscriber.cursor < nextSequence) {
+            schedule(subscriber);
+        }
+        return subscriber.emitter;
+    }
+
+    /**
+     * Appends a committed change and wakes the subscribers
+     */
+    public void publish(TaskEventDTO event) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize {} event for task {}: {}", event.getType(), event.getTaskId(), e.getMessage());
+            return;
+        }
+
+        lock.lock();
+        try {
+            long sequence = nextSequence;
+            ring[(int) (sequence % ring.length)] = new BufferedEvent(sequence,
+                    SseEmitter.event().id(eventId(sequence + 1)).data(json).build());
+            nextSequence = sequence + 1;
+        } finally {
+            lock.unlock();
+        }
+
+        if (dispatchScheduled.compareAndSet(false, true)) {
+            senders.execute(this::dispatch);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Keeps idle streams open through proxies and detects clients that went away
+     */
+    @Scheduled(initialDelayString = "${app.events.heartbeat-interval:PT30S}",
+               fixedDelayString = "${app.events.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat = true;
+            schedule(subscriber);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+
+    private void dispatch() {
+        // Cleared first, so an event published while iterating schedules another pass
+        dispatchScheduled.set(false);
+        for (Subscriber subscriber : subscribers) {
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.sending.compareAndSet(false, true)) {
+            senders.execute(() -> deliver(subscriber));
+        }
+    }
+
+    private void deliver(Subscriber subscriber) {
+        try {
+            boolean sent = false;
+            while (true) {
+                if (subscriber.resync) {
+                    subscriber.resync = false;
+                    subscriber.cursor = nextSequence;
+                    subscriber.emitter.send(resyncMessage(subscriber.cursor));
+                    taskMetrics.recordEventResync();
+                    sent = true;
+                }
+
+                List<BufferedEvent> events = readFrom(subscriber.cursor);
+                if (events == null) {
+                    // The ring wrapped past the subscriber while it was being sent to
+                    subscriber.resync = true;
+                    continue;
+                }
+                if (events.isEmpty()) {
+                    break;
+                }
+                for (BufferedEvent event : events) {
+                    subscriber.emitter.send(event.message);
+                    subscriber.cursor = event.sequence + 1;
+                }
+                sent = true;
+            }
+
+            if (subscriber.heartbeat) {
+                subscriber.heartbeat = false;
+                if (!sent) {
+                    subscriber.emitter.send(HEARTBEAT);
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the stream timed out; the sending flag stays set so it is never scheduled again
+            logger.debug("Dropping event subscriber: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+
+        subscriber.sending.set(false);
+        if (subscriber.resync || subscriber.heartbeat || subscriber.cursor < nextSequence) {
+            // Published after the last read but before the flag was cleared
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * @return the buffered events from the cursor on, or null if some of them were already overwritten
+     */
+    private List<BufferedEvent> readFrom(long cursor) {
+        lock.lock();
+        try {
+            if (cursor < nextSequence - ring.length) {
+                return null;
+            }
+            List<BufferedEvent> events = new ArrayList<>((int) (nextSequence - cursor));
+            for (long sequence = cursor; sequence < nextSequence; sequence++) {
+                events.add(ring[(int) (sequence % ring.length)]);
+            }
+            return events;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Set<DataWithMediaType> resyncMessage(long cursor) throws IOException {
+        String json = objectMapper.writeValueAsString(new TaskEventDTO(TaskEventDTO.RESYNC, LocalDateTime.now()));
+        return SseEmitter.event().id(eventId(cursor)).data(json).build();
+    }
+
+    private String eventId(long cursor) {
+        return epoch + "-" + cursor;
+    }
+
+    private Long parseCursor(String eventId) {
+        if (eventId == null || !eventId.startsWith(epoch + "-")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
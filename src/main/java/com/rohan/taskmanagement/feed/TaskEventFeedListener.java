@@ -0,0 +1,36 @@
+package com.rohan.taskmanagement.feed;
+
+import com.rohan.taskmanagement.dto.TaskEventDTO;
+import com.rohan.taskmanagement.event.TaskBulkStatusEvent;
+import com.rohan.taskmanagement.event.TaskChangeEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publishes every committed task change to the {@link TaskEventFeed}
+ */
+@Component
+public class TaskEventFeedListener {
+
+    @Autowired
+    private TaskEventFeed taskEventFeed;
+
+    @TransactionalEventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        TaskEventDTO feedEvent = new TaskEventDTO(event.getType().name(), LocalDateTime.now());
+        feedEvent.setTaskId(event.getTaskId());
+        feedEvent.setTask(event.getAfter());
+        taskEventFeed.publish(feedEvent);
+    }
+
+    @TransactionalEventListener
+    public void onBulkStatusChange(TaskBulkStatusEvent event) {
+        TaskEventDTO feedEvent = new TaskEventDTO(TaskEventDTO.STATUS_CHANGED, event.getUpdatedOn());
+        feedEvent.setTaskIds(event.getTaskIds());
+        feedEvent.setStatus(event.getStatus());
+        taskEventFeed.publish(feedEvent);
+    }
+}
@@ -0,0 +1,280 @@
+package com.rohan.taskmanagement.history;
+
+import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.event.TaskBulkStatusEvent;
+import com.rohan.taskmanagement.event.TaskChangeEvent;
+import com.rohan.taskmanagement.metrics.TaskMetrics;
+import com.rohan.taskmanagement.model.TaskHistoryEntry;
+import com.rohan.taskmanagement.repository.TaskHistoryRepository;
+import com.rohan.taskmanagement.shard.TaskShards;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Task history written off the request path.
+ * Committed task changes are turned into field-level entries and put on a bounded queue; a single
+ * writer thread drains it and stores up to app.history.max-batch-size changes per transaction, so the
+ * history costs a request one queue offer instead of an INSERT. Entries show up shortly after the
+ * change commits. When the queue is full the change is dropped from the history rather than slowing
+ * down writes, and counted in task.history.dropped. Disabled with app.history.enabled=false.
+ */
+@Component
+@ConditionalOnProperty(name = "app.history.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskHistoryRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskHistoryRecorder.class);
+
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 30000;
+
+    @Value("${app.history.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.history.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Autowired
+    private TaskHistoryRepository taskHistoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskMetrics taskMetrics;
+
+    @Autowired
+    private TaskShards taskShards;
+
+    private BlockingQueue<Change> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread writer;
+    private volatile boolean running;
+    // Changes dropped since the queue last had room; only the first of a run is logged
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * History of one committed change. A bulk status change is kept as a single entry plus the ids it
+     * applies to, and fanned out per task when it is written.
+     */
+    private static final class Change {
+        private final List<TaskHistoryEntry> entries;
+        private final List<Long> taskIds;
+
+        private Change(List<TaskHistoryEntry> entries, List<Long> taskIds) {
+            this.entries = entries;
+            this.taskIds = taskIds;
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        taskMetrics.registerHistoryQueue(queue);
+        running = true;
+        writer = new Thread(this::drain, "task-history-writer");
+        writer.start();
+        logger.info("Task history writer started (queue capacity {}, max batch {})", queueCapacity, maxBatchSize);
+    }
+
+    /**
+     * Writes the changes still queued, then stops the writer
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(SHUTDOWN_TIMEOUT_MILLIS);
+        if (writer.isAlive()) {
+            writer.interrupt();
+            logger.warn("Task history writer did not finish in time, {} changes not written", queue.size());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        List<TaskHistoryEntry> entries = entries(event, LocalDateTime.now());
+        if (!entries.isEmpty()) {
+            enqueue(new Change(entries, null));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBulkStatusChange(TaskBulkStatusEvent event) {
+        TaskHistoryEntry entry = new TaskHistoryEntry(null, null, TaskChangeEvent.Type.STATUS_CHANGED.name(),
+                TaskHistoryEntry.STATUS, null, event.getStatus(), event.getUpdatedOn(), event.getUpdatedBy());
+        enqueue(new Change(List.of(entry), event.getTaskIds()));
+    }
+
+    /**
+     * Field-level entries of one change: every set field of a created task, the fields an update
+     * changed, the old and new status of a status change and a single entry for a deletion
+     */
+    static List<TaskHistoryEntry> entries(TaskChangeEvent event, LocalDateTime now) {
+        TaskDTO before = event.getBefore();
+        TaskDTO after = event.getAfter();
+        String change = event.getType().name();
+        List<TaskHistoryEntry> entries = new ArrayList<>();
+
+        switch (event.getType()) {
+            case CREATED:
+                fields(after).forEach((field, value) -> {
+                    if (value != null) {
+                        entries.add(new TaskHistoryEntry(null, event.getTaskId(), change, field, null, value,
+                                after.getCreatedOn(), after.getCreatedBy()));
+                    }
+                });
+                break;
+            case UPDATED:
+                Map<String, String> oldValues = fields(before);
+                fields(after).forEach((field, value) -> {
+                    if (!Objects.equals(oldValues.get(field), value)) {
+                        entries.add(new TaskHistoryEntry(null, event.getTaskId(), change, field, oldValues.get(field),
+                                value, after.getLastUpdatedOn(), after.getLastUpdatedBy()));
+                    }
+                });
+                break;
+            case STATUS_CHANGED:
+                if (!Objects.equals(before.getStatus(), after.getStatus())) {
+                    entries.add(new TaskHistoryEntry(null, event.getTaskId(), change, TaskHistoryEntry.STATUS,
+                            before.getStatus(), after.getStatus(), after.getLastUpdatedOn(), after.getLastUpdatedBy()));
+                }
+                break;
+            case DELETED:
+                entries.add(new TaskHistoryEntry(null, event.getTaskId(), change, null, null, null, now, null));
+                break;
+        }
+        return entries;
+    }
+
+    private static Map<String, String> fields(TaskDTO task) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put(TaskHistoryEntry.TITLE, task.getTitle());
+        fields.put(TaskHistoryEntry.DESCRIPTION, task.getDescription());
+        fields.put(TaskHistoryEntry.DUE_DATE, task.getDueDate() != null ? task.getDueDate().toString() : null);
+        fields.put(TaskHistoryEntry.STATUS, task.getStatus());
+        fields.put(TaskHistoryEntry.REMARKS, task.getRemarks());
+        return fields;
+    }
+
+    private void enqueue(Change change) {
+        if (running && queue.offer(change)) {
+            return;
+        }
+        taskMetrics.recordHistoryDropped(1);
+        if (dropped.getAndIncrement() == 0) {
+            logger.warn("Task history queue is full or stopped, dropping task changes from the history");
+        }
+    }
+
+    private void drain() {
+        List<Change> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Change first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Change> batch) {
+        if (taskShards.getCount() == 1) {
+            writeShard(batch);
+        } else {
+            // Every shard keeps the history of its own tasks
+            splitByShard(batch).forEach((shard, changes) -> taskShards.onShard(shard, () -> {
+                writeShard(changes);
+                return null;
+            }));
+        }
+
+        long droppedChanges = dropped.getAndSet(0);
+        if (droppedChanges > 0) {
+            logger.warn("Task history queue has room again; {} task changes were dropped from the history", droppedChanges);
+        }
+    }
+
+    /**
+     * Stores the changes in queue order in one transaction; plain entries go out together as one
+     * batch, bulk status changes as one INSERT ... SELECT over the tasks that still exist
+     */
+    private void writeShard(List<Change> batch) {
+        try {
+            Integer written = transactionTemplate.execute(status -> {
+                int count = 0;
+                List<TaskHistoryEntry> entries = new ArrayList<>();
+                for (Change change : batch) {
+                    if (change.taskIds == null) {
+                        entries.addAll(change.entries);
+                        continue;
+                    }
+                    if (!entries.isEmpty()) {
+                        taskHistoryRepository.insertAll(entries);
+                        count += entries.size();
+                        entries = new ArrayList<>();
+                    }
+                    count += taskHistoryRepository.insertForTasks(change.taskIds, change.entries.get(0));
+                }
+                if (!entries.isEmpty()) {
+                    taskHistoryRepository.insertAll(entries);
+                    count += entries.size();
+                }
+                return count;
+            });
+            taskMetrics.recordHistoryBatch(written != null ? written : 0);
+        } catch (RuntimeException e) {
+            logger.error("Failed to write the history of {} task changes: {}", batch.size(), e.getMessage(), e);
+            taskMetrics.recordHistoryDropped(batch.size());
+        }
+    }
+
+    /**
+     * The changes of each shard in queue order; a bulk status change is split by the shards of its tasks
+     */
+    private Map<Integer, List<Change>> splitByShard(List<Change> batch) {
+        Map<Integer, List<Change>> byShard = new TreeMap<>();
+        for (Change change : batch) {
+            if (change.taskIds == null) {
+                byShard.computeIfAbsent(taskShards.shardOf(change.entries.get(0).getTaskId()), shard -> new ArrayList<>())
+                        .add(change);
+                continue;
+            }
+            change.taskIds.stream()
+                    .collect(Collectors.groupingBy(taskShards::shardOf))
+                    .forEach((shard, taskIds) -> byShard.computeIfAbsent(shard, key -> new ArrayList<>())
+                            .add(new Change(change.entries, taskIds)));
+        }
+        return byShard;
+    }
+}
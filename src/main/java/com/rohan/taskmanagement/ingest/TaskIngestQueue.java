@@ -0,0 +1,218 @@
+package com.rohan.taskmanagement.ingest;
+
+import com.rohan.taskmanagement.dto.TaskBatchResultDTO;
+import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.exception.TooManyRequestsException;
+import com.rohan.taskmanagement.exception.ValidationException;
+import com.rohan.taskmanagement.metrics.TaskMetrics;
+import com.rohan.taskmanagement.service.TaskService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit for POST /api/tasks.
+ * Creates are put on a bounded queue and a single writer thread drains them into batches that are
+ * inserted with {@link TaskService#createTasks}, one transaction and one JDBC batch per group, so
+ * concurrent requests share a commit instead of waiting for one each. A caller only returns once
+ * the batch holding its task has committed. A batch is written when it reaches
+ * app.ingest.max-batch-size or app.ingest.linger after its first task arrived, whichever comes first.
+ * When the queue is full, creates are rejected with {@link TooManyRequestsException}.
+ * Enabled with app.ingest.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "app.ingest.enabled", havingValue = "true")
+public class TaskIngestQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskIngestQueue.class);
+
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 30000;
+
+    @Value("${app.ingest.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.ingest.max-batch-size:200}")
+    private int maxBatchSize;
+
+    @Value("${app.ingest.linger:PT0.005S}")
+    private Duration linger;
+
+    @Value("${app.batch.max-items:1000}")
+    private int maxBatchItems;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskMetrics taskMetrics;
+
+    private BlockingQueue<PendingTask> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    private static final class PendingTask {
+        private final TaskDTO taskDTO;
+        private final CompletableFuture<TaskDTO> created = new CompletableFuture<>();
+
+        private PendingTask(TaskDTO taskDTO) {
+            this.taskDTO = taskDTO;
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (maxBatchSize > maxBatchItems) {
+            // Each group is written through the batch create, which refuses larger batches
+            logger.warn("app.ingest.max-batch-size {} is above app.batch.max-items, using {}", maxBatchSize, maxBatchItems);
+            maxBatchSize = maxBatchItems;
+        }
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        taskMetrics.registerIngestQueue(queue);
+        running = true;
+        writer = new Thread(this::drain, "task-ingest-writer");
+        writer.start();
+        logger.info("Task ingestion queue started (capacity {}, max batch {}, linger {} ms)",
+                queueCapacity, maxBatchSize, linger.toMillis());
+    }
+
+    /**
+     * Writes the tasks still queued, then stops the writer
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(SHUTDOWN_TIMEOUT_MILLIS);
+        if (writer.isAlive()) {
+            writer.interrupt();
+        }
+
+        // Tasks offered while the writer was finishing
+        List<PendingTask> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (PendingTask pendingTask : remaining) {
+            pendingTask.created.completeExceptionally(new IllegalStateException("Task ingestion is stopped"));
+        }
+    }
+
+    /**
+     * Queues a task for the next group commit and waits until it is committed
+     * @return the created task, with its generated id
+     * @throws ValidationException if the title is missing
+     * @throws TooManyRequestsException if the queue is full
+     */
+    public TaskDTO create(TaskDTO taskDTO) {
+        if (taskDTO.getTitle() == null || taskDTO.getTitle().trim().isEmpty()) {
+            throw new ValidationException("title", "Task title cannot be null or empty");
+        }
+        if (!running) {
+            throw new IllegalStateException("Task ingestion is stopped");
+        }
+
+        PendingTask pendingTask = new PendingTask(taskDTO);
+        if (!queue.offer(pendingTask)) {
+            taskMetrics.recordIngestRejected();
+            throw new TooManyRequestsException("Task ingestion queue is full, retry later");
+        }
+        // Stopped since the check above: the writer and stop() may both be done with the queue. Whoever
+        // takes the task off the queue completes it, so only a task still on it is failed here.
+        if (!running && queue.remove(pendingTask)) {
+            throw new IllegalStateException("Task ingestion is stopped");
+        }
+
+        try {
+            return pendingTask.created.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void drain() {
+        List<PendingTask> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingTask first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + linger.toNanos();
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() == maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingTask next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                // Never leave a caller waiting, whatever stopped the write
+                for (PendingTask pendingTask : batch) {
+                    pendingTask.created.completeExceptionally(new IllegalStateException("Task was not written"));
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingTask> batch) {
+        List<TaskDTO> taskDTOs = new ArrayList<>(batch.size());
+        for (PendingTask pendingTask : batch) {
+            taskDTOs.add(pendingTask.taskDTO);
+        }
+
+        List<TaskBatchResultDTO> results;
+        try {
+            results = taskService.createTasks(taskDTOs);
+        } catch (RuntimeException e) {
+            // One bad row rolls back the whole group; write the tasks one by one so only that request fails
+            logger.warn("Group commit of {} tasks failed, retrying them individually: {}", batch.size(), e.getMessage());
+            for (PendingTask pendingTask : batch) {
+                try {
+                    pendingTask.created.complete(taskService.createTask(pendingTask.taskDTO));
+                } catch (RuntimeException taskFailure) {
+                    pendingTask.created.completeExceptionally(taskFailure);
+                }
+            }
+            return;
+        }
+
+        taskMetrics.recordIngestBatch(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            TaskBatchResultDTO result = results.get(i);
+            if (TaskBatchResultDTO.CREATED.equals(result.getResult())) {
+                batch.get(i).created.complete(result.getTask());
+            } else {
+                batch.get(i).created.completeExceptionally(new ValidationException(result.getMessage()));
+            }
+        }
+    }
+}
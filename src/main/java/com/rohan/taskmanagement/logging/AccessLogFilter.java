@@ -0,0 +1,153 @@
+package com.rohan.taskmanagement.logging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes one JSON event per request to the access log.
+ * Successful requests are sampled with app.access-log.sample-rate, requests that end with a
+ * 4xx/5xx status or an exception are always logged. The logger is routed to an async appender
+ * in logback-spring.xml, so the request thread only formats the event and enqueues it.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "app.access-log.enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    /**
+     * Logger name of the access log, see logback-spring.xml
+     */
+    public static final String ACCESS_LOGGER = "com.rohan.taskmanagement.access";
+
+    private static final Logger accessLog = LoggerFactory.getLogger(ACCESS_LOGGER);
+    private static final Logger logger = LoggerFactory.getLogger(AccessLogFilter.class);
+
+    @Value("${app.access-log.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Scrapes and probes would dominate the log
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streaming responses complete on another thread; log once the status is final
+                request.getAsyncContext().addListener(new CompletionListener(request, response, start));
+            } else {
+                log(request, response.getStatus(), start, failure);
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, int status, long start, Throwable failure) {
+        boolean error = failure != null || status >= 400;
+        if (!error && (sampleRate <= 0 || (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate))) {
+            return;
+        }
+
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("timestamp", Instant.now().toString());
+        event.put("method", request.getMethod());
+        event.put("path", request.getRequestURI());
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (route != null) {
+            event.put("route", route);
+        }
+        event.put("status", failure != null && status < 400 ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : status);
+        event.put("durationMs", Math.round((System.nanoTime() - start) / 1_000.0) / 1_000.0);
+        if (failure != null) {
+            event.put("exception", failure.getClass().getName());
+        }
+        if (!error) {
+            // Lets consumers re-weight sampled counts
+            event.put("sampleRate", sampleRate);
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not format access log event: {}", e.getMessage());
+            return;
+        }
+
+        if (failure != null || status >= 500) {
+            accessLog.error(json);
+        } else if (error) {
+            accessLog.warn(json);
+        } else {
+            accessLog.info(json);
+        }
+    }
+
+    private final class CompletionListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final long start;
+        private Throwable failure;
+
+        private CompletionListener(HttpServletRequest request, HttpServletResponse response, long start) {
+            this.request = request;
+            this.response = response;
+            this.start = start;
+        }
+
+        // onComplete also follows a timeout or an error, so the event is written there only
+        @Override
+        public void onComplete(AsyncEvent event) {
+            log(request, response.getStatus(), start, failure);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failure = event.getThrowable();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
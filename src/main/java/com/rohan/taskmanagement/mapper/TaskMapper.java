@@ -2,8 +2,14 @@ package com.rohan.taskmanagement.mapper;
 
 import com.rohan.taskmanagement.dto.TaskDTO;
 import com.rohan.taskmanagement.model.Task;
+import com.rohan.taskmanagement.repository.TaskField;
+import jakarta.persistence.Tuple;
 import org.springframework.stereotype.Component;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,6 +18,9 @@ public class TaskMapper {
     
     private static final Logger logger = LoggerFactory.getLogger(TaskMapper.class);
 
+    // Same pattern as the @JsonFormat annotations on TaskDTO
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
     public TaskDTO toDTO(Task task) {
         if (task == null) return null;
 
@@ -72,4 +81,34 @@ public class TaskMapper {
 
         return task;
     }
+
+    /**
+     * Converts a projection row into a map holding only the requested fields,
+     * formatted the same way as the corresponding TaskDTO properties
+     */
+    public Map<String, Object> toFieldMap(Tuple tuple, List<TaskField> fields) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (TaskField field : fields) {
+            map.put(field.getAttribute(), formatField(tuple.get(field.getAttribute())));
+        }
+        return map;
+    }
+
+    /**
+     * Same as {@link #toFieldMap(Tuple, List)} for a fully loaded task
+     */
+    public Map<String, Object> toFieldMap(Task task, List<TaskField> fields) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (TaskField field : fields) {
+            map.put(field.getAttribute(), formatField(field.valueOf(task)));
+        }
+        return map;
+    }
+
+    private static Object formatField(Object value) {
+        if (value instanceof LocalDateTime) {
+            return DATE_TIME_FORMAT.format((LocalDateTime) value);
+        }
+        return value;
+    }
 }
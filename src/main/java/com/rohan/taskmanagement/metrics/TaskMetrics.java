@@ -0,0 +1,273 @@
+package com.rohan.taskmanagement.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Application meters for the task read, ingestion and change feed paths.
+ * HTTP latency (http.server.requests), repository timers (spring.data.repository.invocations)
+ * and connection pool wait time (hikaricp.connections.acquire) come from Spring Boot's
+ * auto-configuration; this class adds which search tier answered and how many rows were returned,
+ * plus the statistics reconciliations, the group commit ingestion queue, the change feed,
+ * the overdue detector, the task history writer and the coalescing of identical reads.
+ */
+@Component
+public class TaskMetrics {
+
+    /**
+     * The source that answered a search
+     */
+    public enum SearchTier {
+        /** In-memory title index */
+        INDEX("index"),
+        /** Title LIKE query, used while the title index is loading */
+        DATABASE("database"),
+        /** Title prefix range scan */
+        PREFIX("prefix"),
+        /** Status filter only */
+        STATUS("status"),
+        /** No criteria, every task */
+        ALL("all");
+
+        private final String tag;
+
+        SearchTier(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * Read operations whose result sizes are recorded
+     */
+    public enum Operation {
+        LIST("list"),
+        PAGE("page"),
+        SYNC("sync"),
+        EXPORT("export");
+
+        private final String tag;
+
+        Operation(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * Outcome of comparing the in-memory task statistics with the database
+     */
+    public enum Reconciliation {
+        MATCHED("matched"),
+        /** Counts differed and the statistics were reloaded */
+        REBUILT("rebuilt"),
+        /** A change was applied while counting, so the comparison was not conclusive */
+        SKIPPED("skipped");
+
+        private final String tag;
+
+        Reconciliation(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * Reads that identical concurrent calls share
+     */
+    public enum CoalescedRead {
+        /** Single task by id */
+        GET("get"),
+        /** Title and status search */
+        SEARCH("search");
+
+        private final String tag;
+
+        CoalescedRead(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Map<SearchTier, Counter> searchCounters = new EnumMap<>(SearchTier.class);
+    private final Map<SearchTier, DistributionSummary> searchResultSizes = new EnumMap<>(SearchTier.class);
+    private final Map<Operation, DistributionSummary> resultSizes = new EnumMap<>(Operation.class);
+    private final Map<Reconciliation, Counter> reconciliations = new EnumMap<>(Reconciliation.class);
+    private final Map<CoalescedRead, Counter> executedReads = new EnumMap<>(CoalescedRead.class);
+    private final Map<CoalescedRead, Counter> absorbedReads = new EnumMap<>(CoalescedRead.class);
+    private final DistributionSummary ingestBatchSizes;
+    private final Counter ingestRejections;
+    private final Counter eventResyncs;
+    private final Counter overdueTasks;
+    private final DistributionSummary historyBatchSizes;
+    private final Counter historyDropped;
+    private final MeterRegistry meterRegistry;
+
+    public TaskMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        // Registered up front so every tier is scraped, with zero until it is first used
+        for (SearchTier tier : SearchTier.values()) {
+            searchCounters.put(tier, Counter.builder("task.search")
+                    .description("Searches by the tier that answered them")
+                    .tag("tier", tier.tag)
+                    .register(meterRegistry));
+            searchResultSizes.put(tier, resultSizeSummary("task.search.results", "tier", tier.tag)
+                    .register(meterRegistry));
+        }
+        for (Operation operation : Operation.values()) {
+            resultSizes.put(operation, resultSizeSummary("task.results", "operation", operation.tag)
+                    .register(meterRegistry));
+        }
+        for (Reconciliation result : Reconciliation.values()) {
+            reconciliations.put(result, Counter.builder("task.stats.reconciliations")
+                    .description("Comparisons of the in-memory task statistics with the database")
+                    .tag("result", result.tag)
+                    .register(meterRegistry));
+        }
+        for (CoalescedRead read : CoalescedRead.values()) {
+            executedReads.put(read, coalescedReadCounter(read, "executed"));
+            absorbedReads.put(read, coalescedReadCounter(read, "absorbed"));
+        }
+        ingestBatchSizes = DistributionSummary.builder("task.ingest.batch.size")
+                .description("Tasks written per group commit")
+                .baseUnit("tasks")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        ingestRejections = Counter.builder("task.ingest.rejected")
+                .description("Creates rejected because the ingestion queue was full")
+                .register(meterRegistry);
+        eventResyncs = Counter.builder("task.events.resyncs")
+                .description("Change feed subscribers told to reload because they missed events")
+                .register(meterRegistry);
+        overdueTasks = Counter.builder("task.overdue.detected")
+                .description("Open tasks found past their due date")
+                .register(meterRegistry);
+        historyBatchSizes = DistributionSummary.builder("task.history.batch.size")
+                .description("History entries written per flush")
+                .baseUnit("entries")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        historyDropped = Counter.builder("task.history.dropped")
+                .description("Task changes whose history was not written, because the queue was full or the write failed")
+                .register(meterRegistry);
+    }
+
+    public void recordSearch(SearchTier tier, int resultSize) {
+        searchCounters.get(tier).increment();
+        searchResultSizes.get(tier).record(resultSize);
+    }
+
+    public void recordResults(Operation operation, long resultSize) {
+        resultSizes.get(operation).record(resultSize);
+    }
+
+    public void recordReconciliation(Reconciliation result) {
+        reconciliations.get(result).increment();
+    }
+
+    public void recordIngestBatch(int size) {
+        ingestBatchSizes.record(size);
+    }
+
+    public void recordIngestRejected() {
+        ingestRejections.increment();
+    }
+
+    /**
+     * Publishes the number of creates waiting for a group commit
+     */
+    public void registerIngestQueue(Collection<?> queue) {
+        Gauge.builder("task.ingest.queue.size", queue, Collection::size)
+                .description("Creates waiting for a group commit")
+                .baseUnit("tasks")
+                .register(meterRegistry);
+    }
+
+    public void recordEventResync() {
+        eventResyncs.increment();
+    }
+
+    /**
+     * Publishes the number of open change feed streams
+     */
+    public void registerEventSubscribers(Collection<?> subscribers) {
+        Gauge.builder("task.events.subscribers", subscribers, Collection::size)
+                .description("Open change feed streams")
+                .register(meterRegistry);
+    }
+
+    public void recordOverdue(int tasks) {
+        overdueTasks.increment(tasks);
+    }
+
+    /**
+     * Publishes the number of open tasks waiting to fall overdue
+     */
+    public void registerOverdueSchedule(Supplier<Number> scheduledCount) {
+        Gauge.builder("task.overdue.scheduled", scheduledCount)
+                .description("Open tasks waiting to fall overdue")
+                .baseUnit("tasks")
+                .register(meterRegistry);
+    }
+
+    public void recordHistoryBatch(int entries) {
+        historyBatchSizes.record(entries);
+    }
+
+    public void recordHistoryDropped(int changes) {
+        historyDropped.increment(changes);
+    }
+
+    /**
+     * Publishes the number of task changes waiting to be written to the history
+     */
+    public void registerHistoryQueue(Collection<?> queue) {
+        Gauge.builder("task.history.queue.size", queue, Collection::size)
+                .description("Task changes waiting to be written to the history")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts a read that ran against the backend, either alone or on behalf of identical calls waiting for it
+     */
+    public void recordReadExecuted(CoalescedRead read) {
+        executedReads.get(read).increment();
+    }
+
+    /**
+     * Counts a call that took the result of an identical read already in flight instead of running its own
+     */
+    public void recordReadAbsorbed(CoalescedRead read) {
+        absorbedReads.get(read).increment();
+    }
+
+    /**
+     * Publishes the number of distinct reads in flight that identical calls can join
+     */
+    public void registerCoalescedReads(Map<?, ?> inFlight) {
+        Gauge.builder("task.reads.inflight", inFlight, Map::size)
+                .description("Distinct reads in flight that identical calls can join")
+                .register(meterRegistry);
+    }
+
+    private Counter coalescedReadCounter(CoalescedRead read, String outcome) {
+        return Counter.builder("task.reads.coalesced")
+                .description("Coalesced reads by whether they ran or took the result of an identical read in flight")
+                .tag("read", read.tag)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static DistributionSummary.Builder resultSizeSummary(String name, String tagKey, String tagValue) {
+        return DistributionSummary.builder(name)
+                .description("Number of tasks returned")
+                .baseUnit("tasks")
+                .tag(tagKey, tagValue)
+                .publishPercentileHistogram();
+    }
+}
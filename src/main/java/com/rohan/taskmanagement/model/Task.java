@@ -4,18 +4,27 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotEmpty;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Entity
 @Table(name = "tasks")
 public class Task {
+    // Ids are handed out in blocks from a table generator (pooled-lo), so inserts can be JDBC batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_id_generator")
+    @TableGenerator(name = "task_id_generator", table = "task_id_sequence",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "tasks", initialValue = 1, allocationSize = 50)
     public Long id;
 
     @NotEmpty(message = "Task title is required")
     @Column(nullable = false)
     public String title;
 
+    // Lower-cased, trimmed copy of the title, indexed for prefix searches
+    @Column(name = "title_normalized", nullable = false)
+    public String titleNormalized;
+
     @Column(length = 1000)
     public String description;
 
@@ -57,6 +66,18 @@ public class Task {
 
     public void setTitle(String title) {
         this.title = title;
+        this.titleNormalized = normalizeTitle(title);
+    }
+
+    public String getTitleNormalized() {
+        return titleNormalized;
+    }
+
+    /**
+     * The form stored in title_normalized and expected by prefix searches
+     */
+    public static String normalizeTitle(String title) {
+        return title != null ? title.trim().toLowerCase(Locale.ROOT) : null;
     }
 
     public String getDescription() {
@@ -146,6 +167,8 @@ public class Task {
         if (lastUpdatedBy == null) {
             lastUpdatedBy = "system";
         }
+
+        titleNormalized = normalizeTitle(title);
     }
 
     @PreUpdate
@@ -155,5 +178,7 @@ public class Task {
         if (lastUpdatedBy == null) {
             lastUpdatedBy = "system";
         }
+
+        titleNormalized = normalizeTitle(title);
     }
 }
\ No newline at end of file
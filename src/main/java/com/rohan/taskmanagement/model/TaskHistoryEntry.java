@@ -0,0 +1,90 @@
+package com.rohan.taskmanagement.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * One recorded change of one task field, or of the whole task for a deletion (field is null then).
+ * Written after commit by the task history recorder and never changed afterwards; ids grow with the
+ * order in which changes were recorded.
+ */
+public class TaskHistoryEntry {
+
+    public static final String TITLE = "title";
+    public static final String DESCRIPTION = "description";
+    public static final String DUE_DATE = "dueDate";
+    public static final String STATUS = "status";
+    public static final String REMARKS = "remarks";
+
+    private final Long id;
+    private final Long taskId;
+    private final String change;
+    private final String field;
+    private final String oldValue;
+    private final String newValue;
+    private final LocalDateTime changedOn;
+    private final String changedBy;
+
+    public TaskHistoryEntry(Long id, Long taskId, String change, String field, String oldValue, String newValue,
+                            LocalDateTime changedOn, String changedBy) {
+        this.id = id;
+        this.taskId = taskId;
+        this.change = change;
+        this.field = field;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+        this.changedOn = changedOn;
+        this.changedBy = changedBy;
+    }
+
+    /**
+     * The same change with the id assigned when it was stored
+     */
+    public TaskHistoryEntry withId(Long id) {
+        return new TaskHistoryEntry(id, taskId, change, field, oldValue, newValue, changedOn, changedBy);
+    }
+
+    /**
+     * The same change recorded for another task; used to fan a bulk status change out per task
+     */
+    public TaskHistoryEntry forTask(Long taskId) {
+        return new TaskHistoryEntry(id, taskId, change, field, oldValue, newValue, changedOn, changedBy);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * CREATED, UPDATED, DELETED or STATUS_CHANGED, as in TaskChangeEvent.Type
+     */
+    public String getChange() {
+        return change;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    /**
+     * Value before the change; null for creations and for status changes made without reading the task
+     */
+    public String getOldValue() {
+        return oldValue;
+    }
+
+    public String getNewValue() {
+        return newValue;
+    }
+
+    public LocalDateTime getChangedOn() {
+        return changedOn;
+    }
+
+    public String getChangedBy() {
+        return changedBy;
+    }
+}
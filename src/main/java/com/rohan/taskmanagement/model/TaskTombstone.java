@@ -0,0 +1,39 @@
+package com.rohan.taskmanagement.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker left behind by a deleted task, so delta syncs can tell clients to drop it.
+ * Purged once older than app.sync.tombstone-retention.
+ */
+@Entity
+@Table(name = "task_tombstones")
+public class TaskTombstone {
+    @Id
+    @Column(name = "task_id")
+    public Long taskId;
+
+    @Column(name = "deleted_on", nullable = false)
+    public LocalDateTime deletedOn;
+
+    public TaskTombstone() {
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public LocalDateTime getDeletedOn() {
+        return deletedOn;
+    }
+
+    public void setDeletedOn(LocalDateTime deletedOn) {
+        this.deletedOn = deletedOn;
+    }
+}
@@ -0,0 +1,249 @@
+package com.rohan.taskmanagement.overdue;
+
+import com.rohan.taskmanagement.stats.TaskStatistics;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory schedule of the open tasks that have not fallen overdue yet, ordered by due date.
+ * A tick only looks at the earliest due date, so one that finds nothing due costs the same however
+ * many tasks are scheduled; tasks that are due are taken off in due date order. The due date of
+ * every task is kept as well, so a bulk status change that reopens a task can schedule it again.
+ * A task is announced at most once per due date: reopening it, or changing anything but the due
+ * date, does not announce it again.
+ */
+@Component
+public class TaskDueDateSchedule {
+
+    /** Status set on tasks found overdue when app.overdue.mark-status is on */
+    public static final String OVERDUE = "OVERDUE";
+
+    private final Lock lock = new ReentrantLock();
+
+    private State state = new State(LocalDateTime.MIN);
+
+    // Changes that arrive while the schedule is loading, replayed on top of the loaded snapshot
+    private List<Runnable> pendingChanges;
+    private volatile boolean ready;
+    private volatile int scheduledCount;
+
+    private static final class State {
+        private final Map<Long, LocalDateTime> dueDates = new HashMap<>();
+        private final Map<Long, LocalDateTime> scheduled = new HashMap<>();
+        private final NavigableMap<LocalDateTime, Set<Long>> queue = new TreeMap<>();
+        // Time of the last tick; open tasks due before it and not scheduled were already announced
+        private LocalDateTime watermark;
+
+        private State(LocalDateTime watermark) {
+            this.watermark = watermark;
+        }
+
+        private void put(Long taskId, String status, LocalDateTime dueDate) {
+            LocalDateTime previousDueDate = dueDate != null ? dueDates.put(taskId, dueDate) : dueDates.remove(taskId);
+            boolean wasScheduled = unschedule(taskId);
+            if (dueDate == null || !isPending(status)) {
+                return;
+            }
+            if (dueDate.isAfter(watermark) || wasScheduled || !dueDate.equals(previousDueDate)) {
+                schedule(taskId, dueDate);
+            }
+        }
+
+        private void remove(Long taskId) {
+            dueDates.remove(taskId);
+            unschedule(taskId);
+        }
+
+        private void reschedule(Long taskId) {
+            LocalDateTime dueDate = dueDates.get(taskId);
+            if (dueDate != null && !scheduled.containsKey(taskId)) {
+                schedule(taskId, dueDate);
+            }
+        }
+
+        private void schedule(Long taskId, LocalDateTime dueDate) {
+            scheduled.put(taskId, dueDate);
+            queue.computeIfAbsent(dueDate, key -> new LinkedHashSet<>()).add(taskId);
+        }
+
+        private boolean unschedule(Long taskId) {
+            LocalDateTime dueDate = scheduled.remove(taskId);
+            if (dueDate == null) {
+                return false;
+            }
+            Set<Long> taskIds = queue.get(dueDate);
+            taskIds.remove(taskId);
+            if (taskIds.isEmpty()) {
+                queue.remove(dueDate);
+            }
+            return true;
+        }
+
+        private List<Long> takeDue(LocalDateTime now) {
+            if (now.isAfter(watermark)) {
+                watermark = now;
+            }
+            List<Long> due = new ArrayList<>();
+            Iterator<Map.Entry<LocalDateTime, Set<Long>>> entries = queue.headMap(now, true).entrySet().iterator();
+            while (entries.hasNext()) {
+                for (Long taskId : entries.next().getValue()) {
+                    scheduled.remove(taskId);
+                    due.add(taskId);
+                }
+                entries.remove();
+            }
+            return due;
+        }
+    }
+
+    /**
+     * Loads a fresh schedule. Writes applied through {@link #put}, {@link #updateStatus} and
+     * {@link #remove} while it is being read are replayed once it is installed.
+     */
+    public class Builder {
+        private final LocalDateTime loadedOn;
+        private final boolean catchUp;
+        private final State newState;
+
+        private Builder(LocalDateTime loadedOn, boolean catchUp) {
+            this.loadedOn = loadedOn;
+            this.catchUp = catchUp;
+            this.newState = new State(loadedOn);
+        }
+
+        /**
+         * Tasks already overdue when loading are taken as announced, unless catching up was requested
+         */
+        public void add(Long taskId, String status, LocalDateTime dueDate) {
+            if (dueDate == null) {
+                return;
+            }
+            newState.dueDates.put(taskId, dueDate);
+            if (isPending(status) && (catchUp || dueDate.isAfter(loadedOn))) {
+                newState.schedule(taskId, dueDate);
+            }
+        }
+
+        public void install() {
+            lock.lock();
+            try {
+                state = newState;
+                for (Runnable change : pendingChanges) {
+                    change.run();
+                }
+                pendingChanges = null;
+                scheduledCount = state.scheduled.size();
+                ready = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public void abandon() {
+            lock.lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public Builder beginLoad(LocalDateTime loadedOn, boolean catchUp) {
+        lock.lock();
+        try {
+            pendingChanges = new ArrayList<>();
+            return new Builder(loadedOn, catchUp);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void put(Long taskId, String status, LocalDateTime dueDate) {
+        apply(() -> state.put(taskId, status, dueDate));
+    }
+
+    /**
+     * Changes the status of a task with a due date; other ids are ignored
+     */
+    public void updateStatus(Long taskId, String status) {
+        apply(() -> {
+            LocalDateTime dueDate = state.dueDates.get(taskId);
+            if (dueDate != null) {
+                state.put(taskId, status, dueDate);
+            }
+        });
+    }
+
+    public void remove(Long taskId) {
+        apply(() -> state.remove(taskId));
+    }
+
+    /**
+     * Takes the tasks due at or before now off the schedule
+     * @return their ids in due date order, or an empty list if none are due or the schedule is not loaded
+     */
+    public List<Long> takeDue(LocalDateTime now) {
+        if (!ready) {
+            return List.of();
+        }
+
+        lock.lock();
+        try {
+            List<Long> due = state.takeDue(now);
+            scheduledCount = state.scheduled.size();
+            return due;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Puts tasks taken off by {@link #takeDue} back, so that the next tick takes them again.
+     * Tasks deleted or given another due date since are left as they are.
+     */
+    public void reschedule(Collection<Long> taskIds) {
+        apply(() -> taskIds.forEach(state::reschedule));
+    }
+
+    /**
+     * Number of open tasks waiting to fall overdue
+     */
+    public int getScheduledCount() {
+        return scheduledCount;
+    }
+
+    private static boolean isPending(String status) {
+        return !TaskStatistics.DONE.equals(status) && !OVERDUE.equals(status);
+    }
+
+    private void apply(Runnable change) {
+        lock.lock();
+        try {
+            change.run();
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            scheduledCount = state.scheduled.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.rohan.taskmanagement.overdue;
+
+import com.rohan.taskmanagement.datasource.ReadReplicaRoutingDataSource;
+import com.rohan.taskmanagement.event.TaskBulkStatusEvent;
+import com.rohan.taskmanagement.event.TaskChangeEvent;
+import com.rohan.taskmanagement.event.TaskOverdueEvent;
+import com.rohan.taskmanagement.metrics.TaskMetrics;
+import com.rohan.taskmanagement.repository.TaskScanRepository;
+import com.rohan.taskmanagement.service.TaskService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Announces open tasks as they pass their due date. The {@link TaskDueDateSchedule} is loaded once
+ * the application is ready and follows every committed task change; every app.overdue.tick-interval
+ * the tasks that fell due are taken off it and published as a {@link TaskOverdueEvent}. With
+ * app.overdue.mark-status=true they are also set to the OVERDUE status, and the event then only
+ * lists the tasks that were still due when marked.
+ */
+@Component
+public class TaskOverdueDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskOverdueDetector.class);
+
+    @Value("${app.overdue.mark-status:false}")
+    private boolean markStatus;
+
+    @Autowired
+    private TaskDueDateSchedule taskDueDateSchedule;
+
+    @Autowired
+    private TaskScanRepository taskScanRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskMetrics taskMetrics;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PostConstruct
+    public void init() {
+        taskMetrics.registerOverdueSchedule(taskDueDateSchedule::getScheduledCount);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        // Tasks that fell overdue while the application was down are only caught up on when they get marked
+        TaskDueDateSchedule.Builder builder = taskDueDateSchedule.beginLoad(LocalDateTime.now(), markStatus);
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        try {
+            // Read from the primary; a replica may not have the changes already received as events
+            ReadReplicaRoutingDataSource.onPrimary(() -> template.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = taskScanRepository.streamStatisticsEntries()) {
+                    rows.forEach(row -> builder.add((Long) row[0], (String) row[1], (LocalDateTime) row[2]));
+                }
+            }));
+        } catch (RuntimeException e) {
+            builder.abandon();
+            logger.error("Failed to load the due date schedule, overdue tasks will not be detected: {}", e.getMessage(), e);
+            return;
+        }
+
+        builder.install();
+        logger.info("Due date schedule loaded in {} ms ({} open tasks scheduled)",
+                System.currentTimeMillis() - start, taskDueDateSchedule.getScheduledCount());
+    }
+
+    @Scheduled(initialDelayString = "${app.overdue.tick-interval:PT1S}",
+               fixedDelayString = "${app.overdue.tick-interval:PT1S}")
+    public void tick() {
+        // Database DATETIME(6) columns hold microseconds, compare at the same precision
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<Long> dueIds = taskDueDateSchedule.takeDue(now);
+        if (dueIds.isEmpty()) {
+            return;
+        }
+
+        List<Long> overdueIds = dueIds;
+        if (markStatus) {
+            try {
+                overdueIds = taskService.markOverdue(dueIds, now);
+            } catch (RuntimeException e) {
+                // Back on the schedule, so the next tick tries them again; tasks closed since are skipped by markOverdue
+                taskDueDateSchedule.reschedule(dueIds);
+                logger.error("Failed to mark {} tasks as overdue, retrying on the next tick: {}", dueIds.size(), e.getMessage(), e);
+                return;
+            }
+        }
+
+        if (!overdueIds.isEmpty()) {
+            taskMetrics.recordOverdue(overdueIds.size());
+            eventPublisher.publishEvent(new TaskOverdueEvent(overdueIds, now));
+            logger.info("{} tasks fell overdue", overdueIds.size());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        if (event.getAfter() == null) {
+            taskDueDateSchedule.remove(event.getTaskId());
+        } else {
+            taskDueDateSchedule.put(event.getTaskId(), event.getAfter().getStatus(), event.getAfter().getDueDate());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBulkStatusChange(TaskBulkStatusEvent event) {
+        for (Long taskId : event.getTaskIds()) {
+            taskDueDateSchedule.updateStatus(taskId, event.getStatus());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.rohan.taskmanagement.repository;
+
+import com.rohan.taskmanagement.model.TaskHistoryEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * task_history through plain JDBC: rows are append-only and never loaded as entities, and the
+ * AUTO_INCREMENT ids are not read back, so inserts go out as JDBC batches without an id generator
+ */
+@Repository
+@Profile("!memory")
+public class JdbcTaskHistoryRepository implements TaskHistoryRepository {
+
+    private static final int ID_LOOKUP_CHUNK_SIZE = 1000;
+
+    private static final String INSERT =
+            "INSERT INTO task_history (task_id, change_type, field_name, old_value, new_value, changed_on, changed_by) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_FOR_TASKS =
+            "INSERT INTO task_history (task_id, change_type, field_name, old_value, new_value, changed_on, changed_by) " +
+            "SELECT t.id, :change, :field, :oldValue, :newValue, :changedOn, :changedBy FROM tasks t WHERE t.id IN (:ids)";
+
+    // Newest first over idx_task_history_task_id
+    private static final String SELECT_BY_TASK =
+            "SELECT id, task_id, change_type, field_name, old_value, new_value, changed_on, changed_by " +
+            "FROM task_history WHERE task_id = ? AND id < ? ORDER BY id DESC LIMIT ?";
+
+    private static final RowMapper<TaskHistoryEntry> ROW_MAPPER = (rs, rowNum) -> new TaskHistoryEntry(
+            rs.getLong("id"), rs.getLong("task_id"), rs.getString("change_type"), rs.getString("field_name"),
+            rs.getString("old_value"), rs.getString("new_value"), rs.getObject("changed_on", LocalDateTime.class),
+            rs.getString("changed_by"));
+
+    // Matches hibernate.jdbc.batch_size, so history rows go out in batches of the same size as task rows
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Override
+    public void insertAll(List<TaskHistoryEntry> entries) {
+        jdbcTemplate.batchUpdate(INSERT, entries, batchSize, (ps, entry) -> {
+            ps.setLong(1, entry.getTaskId());
+            ps.setString(2, entry.getChange());
+            ps.setString(3, entry.getField());
+            ps.setString(4, entry.getOldValue());
+            ps.setString(5, entry.getNewValue());
+            ps.setObject(6, entry.getChangedOn());
+            ps.setString(7, entry.getChangedBy());
+        });
+    }
+
+    @Override
+    public int insertForTasks(Collection<Long> taskIds, TaskHistoryEntry entry) {
+        List<Long> ids = new ArrayList<>(taskIds);
+        int inserted = 0;
+        for (int from = 0; from < ids.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                    .addValue("change", entry.getChange())
+                    .addValue("field", entry.getField())
+                    .addValue("oldValue", entry.getOldValue())
+                    .addValue("newValue", entry.getNewValue())
+                    .addValue("changedOn", entry.getChangedOn())
+                    .addValue("changedBy", entry.getChangedBy())
+                    .addValue("ids", ids.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, ids.size())));
+            inserted += namedParameterJdbcTemplate.update(INSERT_FOR_TASKS, parameters);
+        }
+        return inserted;
+    }
+
+    @Override
+    public List<TaskHistoryEntry> findByTaskId(long taskId, Long beforeId, int limit) {
+        return jdbcTemplate.query(SELECT_BY_TASK, ROW_MAPPER, taskId, beforeId != null ? beforeId : Long.MAX_VALUE, limit);
+    }
+}
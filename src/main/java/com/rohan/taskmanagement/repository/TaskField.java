@@ -0,0 +1,92 @@
+package com.rohan.taskmanagement.repository;
+
+import com.rohan.taskmanagement.exception.ValidationException;
+import com.rohan.taskmanagement.model.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Task attributes that can be requested individually through the "fields" parameter.
+ * The id is always part of a projection.
+ */
+public enum TaskField {
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    DUE_DATE("dueDate"),
+    STATUS("status"),
+    REMARKS("remarks"),
+    CREATED_ON("createdOn"),
+    LAST_UPDATED_ON("lastUpdatedOn"),
+    CREATED_BY("createdBy"),
+    LAST_UPDATED_BY("lastUpdatedBy");
+
+    private final String attribute;
+
+    TaskField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public Object valueOf(Task task) {
+        switch (this) {
+            case ID:
+                return task.getId();
+            case TITLE:
+                return task.getTitle();
+            case DESCRIPTION:
+                return task.getDescription();
+            case DUE_DATE:
+                return task.getDueDate();
+            case STATUS:
+                return task.getStatus();
+            case REMARKS:
+                return task.getRemarks();
+            case CREATED_ON:
+                return task.getCreatedOn();
+            case LAST_UPDATED_ON:
+                return task.getLastUpdatedOn();
+            case CREATED_BY:
+                return task.getCreatedBy();
+            default:
+                return task.getLastUpdatedBy();
+        }
+    }
+
+    /**
+     * Parses a comma-separated field list such as "id,title,status,dueDate"
+     * @return the requested fields in request order, starting with id, or null if no fields were given
+     */
+    public static List<TaskField> parse(String fields) {
+        if (fields == null || fields.trim().isEmpty()) {
+            return null;
+        }
+
+        List<TaskField> parsed = new ArrayList<>();
+        parsed.add(ID);
+        for (String part : fields.split(",")) {
+            String name = part.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            TaskField field = fromAttribute(name);
+            if (!parsed.contains(field)) {
+                parsed.add(field);
+            }
+        }
+        return parsed;
+    }
+
+    public static TaskField fromAttribute(String attribute) {
+        for (TaskField field : values()) {
+            if (field.attribute.equalsIgnoreCase(attribute)) {
+                return field;
+            }
+        }
+        throw new ValidationException("fields", "Unsupported field: " + attribute);
+    }
+}
@@ -0,0 +1,30 @@
+package com.rohan.taskmanagement.repository;
+
+import com.rohan.taskmanagement.model.TaskHistoryEntry;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Storage of the task history. Implemented with batched JDBC inserts by {@link JdbcTaskHistoryRepository},
+ * and by the embedded task store in the memory profile.
+ */
+public interface TaskHistoryRepository {
+
+    /**
+     * Stores the entries; their ids are assigned in list order
+     */
+    void insertAll(List<TaskHistoryEntry> entries);
+
+    /**
+     * Stores a copy of the entry for every listed task that still exists
+     * @return the number of entries stored
+     */
+    int insertForTasks(Collection<Long> taskIds, TaskHistoryEntry entry);
+
+    /**
+     * Entries of one task, newest first
+     * @param beforeId only entries with a smaller id, or null for the newest
+     */
+    List<TaskHistoryEntry> findByTaskId(long taskId, Long beforeId, int limit);
+}
@@ -0,0 +1,43 @@
+package com.rohan.taskmanagement.repository;
+
+import com.rohan.taskmanagement.model.Task;
+import jakarta.persistence.Tuple;
+
+import java.util.List;
+
+/**
+ * Keyset (seek) pagination over tasks. Each page is a range scan that starts
+ * right after the last row of the previous page, so deep pages cost the same as the first.
+ */
+public interface TaskKeysetRepository {
+
+    /**
+     * @param sort       sort keys; the task id is always used as the final tie-breaker,
+     *                    in the direction of the last sort key
+     * @param afterValues sort key values of the last row of the previous page, in sort order
+     * @param afterId    id of the last row of the previous page, or null for the first page
+     * @param limit      maximum number of rows to return
+     */
+    List<Task> findPageAfter(List<TaskSortOrder> sort, List<Object> afterValues, Long afterId, int limit);
+
+    /**
+     * Same as {@link #findPageAfter} but selects only the given fields. Each tuple also carries
+     * the sort key values under the aliases returned by {@link #sortKeyAlias(List, List, int)}.
+     */
+    List<Tuple> findFieldPageAfter(List<TaskField> fields, List<TaskSortOrder> sort,
+                                   List<Object> afterValues, Long afterId, int limit);
+
+    /**
+     * Alias of a sort key in the tuples of {@link #findFieldPageAfter}. A sort key that is also
+     * a requested field is read from the field, as a selected attribute carries a single alias.
+     */
+    static String sortKeyAlias(List<TaskField> fields, List<TaskSortOrder> sort, int position) {
+        String attribute = sort.get(position).getField().getAttribute();
+        for (TaskField field : fields) {
+            if (field.getAttribute().equals(attribute)) {
+                return attribute;
+            }
+        }
+        return "sortKey" + position;
+    }
+}
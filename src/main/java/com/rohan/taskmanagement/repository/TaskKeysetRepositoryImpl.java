@@ -0,0 +1,139 @@
+package com.rohan.taskmanagement.repository;
+
+import com.rohan.taskmanagement.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria based implementation of {@link TaskKeysetRepository}.
+ * Nullable keys sort with nulls last regardless of direction, so the ordering is
+ * identical on MySQL and every other database.
+ */
+public class TaskKeysetRepositoryImpl implements TaskKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Task> findPageAfter(List<TaskSortOrder> sort, List<Object> afterValues, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Task> query = cb.createQuery(Task.class);
+        Root<Task> root = query.from(Task.class);
+
+        if (afterId != null) {
+            query.where(seekPredicate(cb, root, sort, afterValues, afterId));
+        }
+        query.orderBy(orderBy(cb, root, sort));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Tuple> findFieldPageAfter(List<TaskField> fields, List<TaskSortOrder> sort,
+                                          List<Object> afterValues, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+
+        List<Selection<?>> selections = TaskProjectionRepositoryImpl.selections(root, fields);
+        for (int i = 0; i < sort.size(); i++) {
+            String attribute = sort.get(i).getField().getAttribute();
+            String alias = TaskKeysetRepository.sortKeyAlias(fields, sort, i);
+            if (!alias.equals(attribute)) {
+                selections.add(root.get(attribute).alias(alias));
+            }
+        }
+        query.multiselect(selections);
+
+        if (afterId != null) {
+            query.where(seekPredicate(cb, root, sort, afterValues, afterId));
+        }
+        query.orderBy(orderBy(cb, root, sort));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private List<Order> orderBy(CriteriaBuilder cb, Root<Task> root, List<TaskSortOrder> sort) {
+        List<Order> orders = new ArrayList<>();
+        for (TaskSortOrder order : sort) {
+            Path<?> path = root.get(order.getField().getAttribute());
+            if (order.getField().isNullable()) {
+                orders.add(cb.asc(nullsLastRank(cb, path)));
+            }
+            orders.add(order.isDescending() ? cb.desc(path) : cb.asc(path));
+        }
+        orders.add(idDescending(sort) ? cb.desc(root.get("id")) : cb.asc(root.get("id")));
+        return orders;
+    }
+
+    /**
+     * The id tie-breaker runs in the direction of the last sort key, so a (key, id) index
+     * can be read in either direction instead of sorting the rows
+     */
+    private static boolean idDescending(List<TaskSortOrder> sort) {
+        return !sort.isEmpty() && sort.get(sort.size() - 1).isDescending();
+    }
+
+    /**
+     * Builds "row is after the cursor" for the sort, i.e.
+     * k1 > v1 OR (k1 = v1 AND (k2 > v2 OR (k2 = v2 AND ... id > lastId))),
+     * with "<" for descending keys
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate seekPredicate(CriteriaBuilder cb, Root<Task> root, List<TaskSortOrder> sort,
+                                    List<Object> afterValues, Long afterId) {
+        Predicate predicate = idDescending(sort)
+                ? cb.lessThan(root.get("id"), afterId)
+                : cb.greaterThan(root.get("id"), afterId);
+
+        for (int i = sort.size() - 1; i >= 0; i--) {
+            TaskSortOrder order = sort.get(i);
+            Path<Comparable> path = root.get(order.getField().getAttribute());
+            Comparable value = (Comparable) afterValues.get(i);
+
+            if (value == null) {
+                // Nulls sort last, so only other nulls can follow a null cursor value
+                predicate = cb.and(cb.isNull(path), predicate);
+                continue;
+            }
+
+            Predicate beyond = order.isDescending() ? cb.lessThan(path, value) : cb.greaterThan(path, value);
+            if (order.getField().isNullable()) {
+                beyond = cb.or(beyond, cb.isNull(path));
+            }
+            predicate = cb.or(beyond, cb.and(cb.equal(path, value), predicate));
+        }
+
+        // Redundant bound on the leading key so the database can start an index range scan
+        if (!sort.isEmpty() && !sort.get(0).getField().isNullable()) {
+            Path<Comparable> leading = root.get(sort.get(0).getField().getAttribute());
+            Comparable value = (Comparable) afterValues.get(0);
+            predicate = cb.and(sort.get(0).isDescending()
+                    ? cb.lessThanOrEqualTo(leading, value)
+                    : cb.greaterThanOrEqualTo(leading, value), predicate);
+        }
+        return predicate;
+    }
+
+    private Expression<Integer> nullsLastRank(CriteriaBuilder cb, Path<?> path) {
+        return cb.<Integer>selectCase()
+                .when(cb.isNull(path), 1)
+                .otherwise(0);
+    }
+}
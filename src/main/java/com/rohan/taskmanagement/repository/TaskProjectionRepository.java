@@ -0,0 +1,25 @@
+package com.rohan.taskmanagement.repository;
+
+import jakarta.persistence.Tuple;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-only projections that select only the requested task columns.
+ * Results are tuples keyed by attribute name, so no managed entities are created.
+ */
+public interface TaskProjectionRepository {
+
+    /**
+     * @param title optional case-insensitive substring of the title
+     * @param status optional exact status
+     * @return matching rows ordered by id
+     */
+    List<Tuple> findFields(List<TaskField> fields, String title, String status);
+
+    /**
+     * @return rows with the given ids ordered by id
+     */
+    List<Tuple> findFieldsByIds(List<TaskField> fields, Collection<Long> taskIds);
+}
@@ -0,0 +1,75 @@
+package com.rohan.taskmanagement.repository;
+
+import com.rohan.taskmanagement.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criteria based implementation of {@link TaskProjectionRepository}
+ */
+public class TaskProjectionRepositoryImpl implements TaskProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findFields(List<TaskField> fields, String title, String status) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (title != null) {
+            predicates.add(cb.like(cb.lower(root.get("title")),
+                    "%" + escapeLike(title.toLowerCase(Locale.ROOT)) + "%", '!'));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(root.get("status"), status));
+        }
+
+        query.multiselect(selections(root, fields))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<Tuple> findFieldsByIds(List<TaskField> fields, Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return List.of();
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+
+        query.multiselect(selections(root, fields))
+                .where(root.get("id").in(taskIds))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    // '!', '%' and '_' in the search term match themselves, the same as in the prefix queries
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    static List<Selection<?>> selections(Root<Task> root, List<TaskField> fields) {
+        List<Selection<?>> selections = new ArrayList<>();
+        for (TaskField field : fields) {
+            selections.add(root.get(field.getAttribute()).alias(field.getAttribute()));
+        }
+        return selections;
+    }
+}
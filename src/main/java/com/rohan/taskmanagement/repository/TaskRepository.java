@@ -1,25 +1,105 @@
 package com.rohan.taskmanagement.repository;
 
 import com.rohan.taskmanagement.model.Task;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskKeysetRepository, TaskProjectionRepository,
+        TaskScanRepository {
     // Basic search using derived query methods
     List<Task> findByTitleContainingIgnoreCase(String title);
     List<Task> findByStatus(String status);
     List<Task> findByTitleContainingIgnoreCaseAndStatus(String title, String status);
     
-    // Custom JPQL query for title search as fallback
-    @Query("SELECT t FROM Task t WHERE LOWER(t.title) LIKE LOWER(CONCAT('%', :searchTitle, '%'))")
-    List<Task> searchByTitle(@Param("searchTitle") String title);
+    // Title prefix search, an index range scan on the normalized title; the prefix must be normalized
+    // and have '!', '%' and '_' escaped with '!'
+    @Query("SELECT t FROM Task t WHERE t.titleNormalized LIKE CONCAT(:prefix, '%') ESCAPE '!' " +
+           "ORDER BY t.titleNormalized, t.id")
+    List<Task> findByTitlePrefix(@Param("prefix") String prefix);
     
-    // Native SQL query as last resort
-    @Query(value = "SELECT * FROM tasks WHERE LOWER(title) LIKE LOWER(CONCAT('%', :term, '%'))", nativeQuery = true)
-    List<Task> findTasksByTitleNative(@Param("term") String searchTerm);
-} 
\ No newline at end of file
+    @Query("SELECT t FROM Task t WHERE t.titleNormalized LIKE CONCAT(:prefix, '%') ESCAPE '!' " +
+           "AND t.status = :status ORDER BY t.titleNormalized, t.id")
+    List<Task> findByTitlePrefixAndStatus(@Param("prefix") String prefix, @Param("status") String status);
+    
+    // Streaming query for exports; rows are fetched from the driver in chunks instead of all at once
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t WHERE (:title IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :title, '%'))) " +
+           "AND (:status IS NULL OR t.status = :status) ORDER BY t.id")
+    Stream<Task> streamByTitleAndStatus(@Param("title") String title, @Param("status") String status);
+    
+    // Id, title and status of every task, used to build the in-memory title index
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id, t.title, t.status FROM Task t")
+    Stream<Object[]> streamTitleEntries();
+    
+    // Id, status and due date of every task, used to build the in-memory statistics
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id, t.status, t.dueDate FROM Task t")
+    Stream<Object[]> streamStatisticsEntries();
+    
+    // Per-status counts in one pass over the (status, due_date) index; due windows are [now, endOfToday) and [now, endOfWeek)
+    @Query("SELECT new com.rohan.taskmanagement.repository.TaskStatusCount(t.status, COUNT(t), " +
+           "SUM(CASE WHEN t.dueDate < :now THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN t.dueDate >= :now AND t.dueDate < :endOfToday THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN t.dueDate >= :now AND t.dueDate < :endOfWeek THEN 1 ELSE 0 END)) " +
+           "FROM Task t GROUP BY t.status")
+    List<TaskStatusCount> countByStatus(@Param("now") LocalDateTime now, @Param("endOfToday") LocalDateTime endOfToday,
+                                        @Param("endOfWeek") LocalDateTime endOfWeek);
+    
+    // Tasks changed after a sync position, in (last_updated_on, id) order over idx_tasks_last_updated_on
+    @Query("SELECT t FROM Task t WHERE t.lastUpdatedOn >= :since " +
+           "AND (t.lastUpdatedOn > :since OR t.id > :afterId) ORDER BY t.lastUpdatedOn, t.id")
+    List<Task> findChangedAfter(@Param("since") LocalDateTime since, @Param("afterId") Long afterId, Limit limit);
+    
+    // Single-statement status changes that only touch the status and audit columns
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.lastUpdatedOn = :updatedOn, t.lastUpdatedBy = :updatedBy WHERE t.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") String status,
+                     @Param("updatedOn") LocalDateTime updatedOn, @Param("updatedBy") String updatedBy);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.lastUpdatedOn = :updatedOn, t.lastUpdatedBy = :updatedBy WHERE t.id IN :ids")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids, @Param("status") String status,
+                          @Param("updatedOn") LocalDateTime updatedOn, @Param("updatedBy") String updatedBy);
+    
+    // Tasks of the given ids still due and not in one of the excluded statuses, locked until the
+    // caller's transaction ends so their status cannot change before they are marked overdue
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id FROM Task t WHERE t.id IN :ids AND t.dueDate <= :now AND t.status NOT IN :excludedStatuses")
+    List<Long> lockDueIds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now,
+                          @Param("excludedStatuses") Collection<String> excludedStatuses);
+    
+    // Tasks of the given ids still in the given status, locked until the caller's transaction ends so
+    // a bulk status filter resolved earlier still holds when they are updated
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id FROM Task t WHERE t.id IN :ids AND t.status = :status")
+    List<Long> lockIdsByStatus(@Param("ids") Collection<Long> ids, @Param("status") String status);
+    
+    // Id lookups used to resolve bulk status filters
+    @Query("SELECT t.id FROM Task t WHERE t.status = :status ORDER BY t.id")
+    List<Long> findIdsByStatus(@Param("status") String status);
+    
+    @Query("SELECT t.id FROM Task t WHERE LOWER(t.title) LIKE LOWER(CONCAT('%', :title, '%')) " +
+           "AND (:status IS NULL OR t.status = :status) ORDER BY t.id")
+    List<Long> findIdsByTitleAndStatus(@Param("title") String title, @Param("status") String status);
+    
+}
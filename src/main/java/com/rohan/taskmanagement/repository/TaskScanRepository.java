@@ -0,0 +1,27 @@
+package com.rohan.taskmanagement.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Whole-table reads behind the in-memory title index, statistics and due date schedule.
+ * Implemented by {@link TaskRepository}, and by the embedded task store in the memory profile.
+ */
+public interface TaskScanRepository {
+
+    /**
+     * Id, title and status of every task
+     */
+    Stream<Object[]> streamTitleEntries();
+
+    /**
+     * Id, status and due date of every task
+     */
+    Stream<Object[]> streamStatisticsEntries();
+
+    /**
+     * Per-status counts; due windows are [now, endOfToday) and [now, endOfWeek)
+     */
+    List<TaskStatusCount> countByStatus(LocalDateTime now, LocalDateTime endOfToday, LocalDateTime endOfWeek);
+}
@@ -0,0 +1,70 @@
+package com.rohan.taskmanagement.repository;
+
+import com.rohan.taskmanagement.exception.ValidationException;
+import com.rohan.taskmanagement.model.Task;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Task attributes that can be used as keyset sort keys.
+ * The task id is always appended as the final tie-breaker.
+ */
+public enum TaskSortField {
+    DUE_DATE("dueDate", true),
+    CREATED_ON("createdOn", false),
+    LAST_UPDATED_ON("lastUpdatedOn", false),
+    STATUS("status", false);
+
+    private final String attribute;
+    private final boolean nullable;
+
+    TaskSortField(String attribute, boolean nullable) {
+        this.attribute = attribute;
+        this.nullable = nullable;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    public Object valueOf(Task task) {
+        switch (this) {
+            case DUE_DATE:
+                return task.getDueDate();
+            case CREATED_ON:
+                return task.getCreatedOn();
+            case LAST_UPDATED_ON:
+                return task.getLastUpdatedOn();
+            default:
+                return task.getStatus();
+        }
+    }
+
+    /**
+     * Converts a value read back from a cursor into the attribute's Java type
+     */
+    public Object parseValue(String value) {
+        if (value == null || this == STATUS) {
+            return value;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("after", "Invalid cursor value for " + attribute);
+        }
+    }
+
+    public static TaskSortField fromAttribute(String attribute) {
+        for (TaskSortField field : values()) {
+            if (field.attribute.equalsIgnoreCase(attribute)) {
+                return field;
+            }
+        }
+        throw new ValidationException("sort", "Unsupported sort field: " + attribute);
+    }
+}
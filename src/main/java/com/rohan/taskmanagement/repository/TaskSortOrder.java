@@ -0,0 +1,96 @@
+package com.rohan.taskmanagement.repository;
+
+import com.rohan.taskmanagement.exception.ValidationException;
+import com.rohan.taskmanagement.model.Task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * One key of a multi-key task sort, e.g. "dueDate:asc"
+ */
+public final class TaskSortOrder {
+
+    private final TaskSortField field;
+    private final boolean descending;
+
+    public TaskSortOrder(TaskSortField field, boolean descending) {
+        this.field = field;
+        this.descending = descending;
+    }
+
+    public TaskSortField getField() {
+        return field;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Parses a sort parameter of the form "dueDate:asc,status:desc".
+     * The direction is optional and defaults to ascending.
+     */
+    public static List<TaskSortOrder> parse(String sort) {
+        if (sort == null || sort.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<TaskSortOrder> orders = new ArrayList<>();
+        for (String part : sort.split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+
+            String[] tokens = trimmed.split(":");
+            TaskSortField field = TaskSortField.fromAttribute(tokens[0].trim());
+            boolean descending = false;
+            if (tokens.length > 1) {
+                String direction = tokens[1].trim();
+                if (direction.equalsIgnoreCase("desc")) {
+                    descending = true;
+                } else if (!direction.equalsIgnoreCase("asc")) {
+                    throw new ValidationException("sort", "Unsupported sort direction: " + direction);
+                }
+            }
+
+            for (TaskSortOrder existing : orders) {
+                if (existing.field == field) {
+                    throw new ValidationException("sort", "Duplicate sort field: " + field.getAttribute());
+                }
+            }
+            orders.add(new TaskSortOrder(field, descending));
+        }
+        return orders;
+    }
+
+    /**
+     * Canonical form of a sort, used to tie cursors to the sort they were issued for
+     */
+    public static String format(List<TaskSortOrder> orders) {
+        List<String> parts = new ArrayList<>();
+        for (TaskSortOrder order : orders) {
+            parts.add(order.field.getAttribute() + (order.descending ? ":desc" : ":asc"));
+        }
+        return String.join(",", parts);
+    }
+
+    /**
+     * Orders tasks the way the keyset queries do: nulls last regardless of direction, and the id as the
+     * final key in the direction of the last sort key
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Comparator<Task> comparator(List<TaskSortOrder> orders) {
+        Comparator<Task> comparator = (first, second) -> 0;
+        for (TaskSortOrder order : orders) {
+            Comparator<Comparable> values = order.descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+            comparator = comparator.thenComparing(task -> (Comparable) order.field.valueOf(task), Comparator.nullsLast(values));
+        }
+        Comparator<Task> byId = Comparator.comparing(Task::getId);
+        boolean idDescending = !orders.isEmpty() && orders.get(orders.size() - 1).descending;
+        return comparator.thenComparing(idDescending ? byId.reversed() : byId);
+    }
+}
@@ -0,0 +1,46 @@
+package com.rohan.taskmanagement.repository;
+
+/**
+ * Task counts of one status, split by due date relative to a point in time.
+ * The due date windows are disjoint from overdue: dueToday and dueThisWeek only count
+ * tasks due from that point on, and dueThisWeek includes dueToday.
+ */
+public final class TaskStatusCount {
+
+    private final String status;
+    private final long total;
+    private final long overdue;
+    private final long dueToday;
+    private final long dueThisWeek;
+
+    public TaskStatusCount(String status, Long total, Long overdue, Long dueToday, Long dueThisWeek) {
+        this.status = status;
+        this.total = total != null ? total : 0L;
+        this.overdue = overdue != null ? overdue : 0L;
+        this.dueToday = dueToday != null ? dueToday : 0L;
+        this.dueThisWeek = dueThisWeek != null ? dueThisWeek : 0L;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Tasks due before the point in time
+     */
+    public long getOverdue() {
+        return overdue;
+    }
+
+    public long getDueToday() {
+        return dueToday;
+    }
+
+    public long getDueThisWeek() {
+        return dueThisWeek;
+    }
+}
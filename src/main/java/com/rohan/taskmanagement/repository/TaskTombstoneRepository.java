@@ -0,0 +1,30 @@
+package com.rohan.taskmanagement.repository;
+
+import com.rohan.taskmanagement.model.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+    // Records the deletion of the given tasks in one statement; run before the rows are deleted
+    @Modifying
+    @Query("INSERT INTO TaskTombstone (taskId, deletedOn) SELECT t.id, :deletedOn FROM Task t WHERE t.id IN :ids")
+    int insertForTasks(@Param("ids") Collection<Long> ids, @Param("deletedOn") LocalDateTime deletedOn);
+    
+    // Deletions after a sync position, in (deleted_on, task_id) order over idx_task_tombstones_deleted_on
+    @Query("SELECT tt FROM TaskTombstone tt WHERE tt.deletedOn >= :since " +
+           "AND (tt.deletedOn > :since OR tt.taskId > :afterId) ORDER BY tt.deletedOn, tt.taskId")
+    List<TaskTombstone> findDeletedAfter(@Param("since") LocalDateTime since, @Param("afterId") Long afterId, Limit limit);
+    
+    @Modifying
+    @Query("DELETE FROM TaskTombstone tt WHERE tt.deletedOn < :cutoff")
+    int deleteDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,244 @@
+package com.rohan.taskmanagement.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over task titles.
+ * A substring search looks up the posting list of the rarest trigram in the search term
+ * and verifies only those candidates, instead of scanning the tasks table.
+ * Search terms shorter than a trigram are answered by scanning the in-memory titles.
+ */
+@Component
+public class TaskTitleIndex {
+
+    private static final int GRAM = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, Entry> entries = new HashMap<>();
+    private Map<Long, Set<Long>> postings = new HashMap<>();
+
+    // Changes that arrive while a rebuild is loading, replayed on top of the loaded snapshot
+    private List<Runnable> pendingChanges;
+    private volatile boolean ready;
+
+    private static final class Entry {
+        private final String title;
+        private final String status;
+
+        private Entry(String title, String status) {
+            this.title = title;
+            this.status = status;
+        }
+    }
+
+    /**
+     * Loads a fresh snapshot of the index. Writes applied through {@link #put} and
+     * {@link #remove} while the snapshot is being read are replayed once it is installed.
+     */
+    public class Builder {
+        private final Map<Long, Entry> newEntries = new HashMap<>();
+        private final Map<Long, Set<Long>> newPostings = new HashMap<>();
+
+        public void add(Long taskId, String title, String status) {
+            addTo(newEntries, newPostings, taskId, title, status);
+        }
+
+        public void install() {
+            lock.writeLock().lock();
+            try {
+                entries = newEntries;
+                postings = newPostings;
+                for (Runnable change : pendingChanges) {
+                    change.run();
+                }
+                pendingChanges = null;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        public void abandon() {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public Builder beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+            return new Builder();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(Long taskId, String title, String status) {
+        lock.writeLock().lock();
+        try {
+            removeFrom(entries, postings, taskId);
+            addTo(entries, postings, taskId, title, status);
+            if (pendingChanges != null) {
+                pendingChanges.add(() -> {
+                    removeFrom(entries, postings, taskId);
+                    addTo(entries, postings, taskId, title, status);
+                });
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Changes the status of an indexed task; unknown ids are ignored
+     */
+    public void updateStatus(Long taskId, String status) {
+        lock.writeLock().lock();
+        try {
+            Entry existing = entries.get(taskId);
+            if (existing != null) {
+                entries.put(taskId, new Entry(existing.title, status));
+            }
+            if (pendingChanges != null) {
+                pendingChanges.add(() -> {
+                    Entry entry = entries.get(taskId);
+                    if (entry != null) {
+                        entries.put(taskId, new Entry(entry.title, status));
+                    }
+                });
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long taskId) {
+        lock.writeLock().lock();
+        try {
+            removeFrom(entries, postings, taskId);
+            if (pendingChanges != null) {
+                pendingChanges.add(() -> removeFrom(entries, postings, taskId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds tasks whose title contains the term (case-insensitive), optionally filtered by status.
+     * @return matching task ids in ascending order, or null if the index has not been loaded yet
+     */
+    public List<Long> search(String term, String status) {
+        if (!ready) {
+            return null;
+        }
+
+        String needle = normalize(term);
+        List<Long> matches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            if (needle.length() < GRAM) {
+                for (Map.Entry<Long, Entry> candidate : entries.entrySet()) {
+                    if (matches(candidate.getValue(), needle, status)) {
+                        matches.add(candidate.getKey());
+                    }
+                }
+            } else {
+                Set<Long> smallest = null;
+                for (int i = 0; i + GRAM <= needle.length(); i++) {
+                    Set<Long> posting = postings.get(gramKey(needle, i));
+                    if (posting == null) {
+                        return matches;
+                    }
+                    if (smallest == null || posting.size() < smallest.size()) {
+                        smallest = posting;
+                    }
+                }
+                for (Long candidate : smallest) {
+                    if (matches(entries.get(candidate), needle, status)) {
+                        matches.add(candidate);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Collections.sort(matches);
+        return matches;
+    }
+
+    private static boolean matches(Entry entry, String needle, String status) {
+        return entry != null
+                && entry.title.contains(needle)
+                && (status == null || status.equals(entry.status));
+    }
+
+    private static void addTo(Map<Long, Entry> entries, Map<Long, Set<Long>> postings,
+                              Long taskId, String title, String status) {
+        String normalized = normalize(title);
+        entries.put(taskId, new Entry(normalized, status));
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            postings.computeIfAbsent(gramKey(normalized, i), key -> new HashSet<>()).add(taskId);
+        }
+    }
+
+    private static void removeFrom(Map<Long, Entry> entries, Map<Long, Set<Long>> postings, Long taskId) {
+        Entry existing = entries.remove(taskId);
+        if (existing == null) {
+            return;
+        }
+        for (int i = 0; i + GRAM <= existing.title.length(); i++) {
+            Long key = gramKey(existing.title, i);
+            Set<Long> posting = postings.get(key);
+            if (posting != null) {
+                posting.remove(taskId);
+                if (posting.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    // Packs three UTF-16 chars into one long so no substring is allocated per trigram
+    private static Long gramKey(String value, int offset) {
+        return ((long) value.charAt(offset) << 32)
+                | ((long) value.charAt(offset + 1) << 16)
+                | value.charAt(offset + 2);
+    }
+}
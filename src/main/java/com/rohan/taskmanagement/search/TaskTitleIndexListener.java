@@ -0,0 +1,78 @@
+package com.rohan.taskmanagement.search;
+
+import com.rohan.taskmanagement.datasource.ReadReplicaRoutingDataSource;
+import com.rohan.taskmanagement.event.TaskBulkStatusEvent;
+import com.rohan.taskmanagement.event.TaskChangeEvent;
+import com.rohan.taskmanagement.repository.TaskScanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Keeps the {@link TaskTitleIndex} in sync with the tasks table: loads it once the
+ * application is ready and applies every committed task change afterwards.
+ */
+@Component
+public class TaskTitleIndexListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskTitleIndexListener.class);
+
+    @Autowired
+    private TaskTitleIndex taskTitleIndex;
+
+    @Autowired
+    private TaskScanRepository taskScanRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        TaskTitleIndex.Builder builder = taskTitleIndex.beginRebuild();
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        try {
+            // A lagging replica could miss changes the index already received as events
+            ReadReplicaRoutingDataSource.onPrimary(() -> template.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = taskScanRepository.streamTitleEntries()) {
+                    rows.forEach(row -> builder.add((Long) row[0], (String) row[1], (String) row[2]));
+                }
+            }));
+        } catch (RuntimeException e) {
+            // Searches keep falling back to the database until a later rebuild succeeds
+            builder.abandon();
+            logger.error("Failed to load task title index: {}", e.getMessage(), e);
+            return;
+        }
+
+        builder.install();
+        logger.info("Task title index loaded with {} tasks in {} ms",
+                taskTitleIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        if (event.getAfter() == null) {
+            taskTitleIndex.remove(event.getTaskId());
+        } else {
+            taskTitleIndex.put(event.getTaskId(), event.getAfter().getTitle(), event.getAfter().getStatus());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBulkStatusChange(TaskBulkStatusEvent event) {
+        for (Long taskId : event.getTaskIds()) {
+            taskTitleIndex.updateStatus(taskId, event.getStatus());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.rohan.taskmanagement.service;
+
+import com.rohan.taskmanagement.datasource.ReadReplicaRoutingDataSource;
+import com.rohan.taskmanagement.datasource.ReadReplicaRoutingDataSource.Target;
+import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.event.TaskBulkStatusEvent;
+import com.rohan.taskmanagement.event.TaskChangeEvent;
+import com.rohan.taskmanagement.exception.ResourceNotFoundException;
+import com.rohan.taskmanagement.metrics.TaskMetrics;
+import com.rohan.taskmanagement.metrics.TaskMetrics.CoalescedRead;
+import com.rohan.taskmanagement.model.Task;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses identical concurrent reads of the hot endpoints into one call to the {@link TaskService}.
+ * The first caller of a read runs it; callers with the same read and parameters arriving while it is in flight
+ * wait for it and get the same result (or exception), so they must not modify it. Nothing is kept once the
+ * call returns. A committed change ends the sharing of in-flight reads it may affect, so a read that starts
+ * after a change always sees it. Calls inside a transaction of their own may see its uncommitted changes and
+ * always run alone. With a read replica, only calls routed to the same database share a read, so a client
+ * reading its own write on the primary never gets another client's replica result. Set
+ * app.coalescing.enabled=false to turn it off.
+ */
+@Component
+public class TaskReadCoalescer {
+
+    /**
+     * A read, the database it is routed to (null without a replica) and its normalized parameters;
+     * the parameters of the other read are null
+     */
+    private record ReadKey(CoalescedRead read, Target target, Long taskId, String title, String status) {
+    }
+
+    @Value("${app.coalescing.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskMetrics taskMetrics;
+
+    @Autowired(required = false)
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    private final Map<ReadKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        taskMetrics.registerCoalescedReads(inFlight);
+    }
+
+    public TaskDTO getTaskById(Long taskId) {
+        return coalesce(new ReadKey(CoalescedRead.GET, target(), taskId, null, null), () -> taskService.findTaskById(taskId))
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+    }
+
+    /**
+     * Title matching ignores case and surrounding whitespace, so titles differing only in those share a read
+     */
+    public List<TaskDTO> searchTasks(String title, String status) {
+        ReadKey key = new ReadKey(CoalescedRead.SEARCH, target(), null, emptyToNull(Task.normalizeTitle(title)),
+                emptyToNull(status != null ? status.trim() : null));
+        return coalesce(key, () -> taskService.searchTasks(title, status));
+    }
+
+    @TransactionalEventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        // Any change can add a task to a search or take one out
+        inFlight.keySet().removeIf(key -> key.read() == CoalescedRead.SEARCH || event.getTaskId().equals(key.taskId()));
+    }
+
+    @TransactionalEventListener
+    public void onBulkStatusChange(TaskBulkStatusEvent event) {
+        Set<Long> taskIds = new HashSet<>(event.getTaskIds());
+        inFlight.keySet().removeIf(key -> key.read() == CoalescedRead.SEARCH || taskIds.contains(key.taskId()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T coalesce(ReadKey key, Supplier<T> read) {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return read.get();
+        }
+
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            taskMetrics.recordReadAbsorbed(key.read());
+            try {
+                return (T) running.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+
+        taskMetrics.recordReadExecuted(key.read());
+        try {
+            T result = read.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Only if no change has ended the sharing and a newer call taken its place
+            inFlight.remove(key, call);
+        }
+    }
+
+    private Target target() {
+        return routingDataSource != null ? routingDataSource.readTarget() : null;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -1,16 +1,43 @@
 package com.rohan.taskmanagement.service;
 
+import com.rohan.taskmanagement.dto.BulkStatusUpdateDTO;
+import com.rohan.taskmanagement.dto.TaskBatchResultDTO;
+import com.rohan.taskmanagement.dto.TaskChangesDTO;
 import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.dto.TaskHistoryPageDTO;
+import com.rohan.taskmanagement.dto.TaskPageDTO;
+import com.rohan.taskmanagement.dto.TaskStatsDTO;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface TaskService {
     TaskDTO createTask(TaskDTO taskDTO);
+    List<TaskBatchResultDTO> createTasks(List<TaskDTO> taskDTOs);
+    List<TaskBatchResultDTO> updateTasks(List<TaskDTO> taskDTOs);
+    List<TaskBatchResultDTO> deleteTasks(List<Long> taskIds);
+    // Reads through findTaskById; an unknown id throws ResourceNotFoundException
     TaskDTO getTaskById(Long taskId);
+    // The cached lookup; an id without a task is cached as absent, so it is not read again until it is created
+    Optional<TaskDTO> findTaskById(Long taskId);
     List<TaskDTO> getAllTasks();
+    TaskStatsDTO getTaskStats();
+    TaskPageDTO getTaskPage(String after, Integer limit, String sort, String fields);
+    TaskChangesDTO getChangesSince(String since, Integer limit);
+    TaskHistoryPageDTO getTaskHistory(Long taskId, String after, Integer limit);
     TaskDTO updateTask(Long taskId, TaskDTO taskDTO);
     void deleteTask(Long taskId);
     TaskDTO markTaskAsCompleted(Long taskId);
     TaskDTO markTaskAsPending(Long taskId);
+    int bulkUpdateStatus(BulkStatusUpdateDTO request);
+    List<Long> markOverdue(Collection<Long> taskIds, LocalDateTime now);
     List<TaskDTO> searchTasks(String title, String status);
     List<TaskDTO> searchTasks(String keyword);
+    List<TaskDTO> searchTasksByTitlePrefix(String prefix, String status);
+    List<Map<String, Object>> searchTaskFields(String title, String status, String fields);
+    long exportTasks(String title, String status, OutputStream outputStream) throws IOException;
 }
\ No newline at end of file
@@ -0,0 +1,424 @@
+package com.rohan.taskmanagement.service.impl;
+
+import com.rohan.taskmanagement.datasource.ShardRoutingDataSource;
+import com.rohan.taskmanagement.dto.BulkStatusUpdateDTO;
+import com.rohan.taskmanagement.dto.TaskBatchResultDTO;
+import com.rohan.taskmanagement.dto.TaskChangesDTO;
+import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.dto.TaskHistoryPageDTO;
+import com.rohan.taskmanagement.dto.TaskPageDTO;
+import com.rohan.taskmanagement.dto.TaskStatsDTO;
+import com.rohan.taskmanagement.exception.ValidationException;
+import com.rohan.taskmanagement.mapper.TaskMapper;
+import com.rohan.taskmanagement.model.Task;
+import com.rohan.taskmanagement.repository.TaskField;
+import com.rohan.taskmanagement.repository.TaskScanRepository;
+import com.rohan.taskmanagement.repository.TaskSortOrder;
+import com.rohan.taskmanagement.service.TaskService;
+import com.rohan.taskmanagement.shard.TaskShards;
+import com.rohan.taskmanagement.stats.TaskStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Task service over tasks split across several databases (app.sharding.enabled=true), in front of
+ * {@link TaskServiceImpl}, which works on the one shard each call is routed to.
+ * Calls about one task run on the shard its id belongs to and new tasks on the shard {@link TaskShards} places
+ * them on; batches are split by shard and their results put back in request order. Reads over the collection
+ * are scatter-gather: every shard runs the query in parallel and the results are merged into the order a
+ * single database returns them in. A caller's own transaction holds a connection to one shard, so within it
+ * new tasks are placed on that shard and tasks of other shards cannot be changed; reads over every shard run
+ * in transactions of their own and only see committed tasks.
+ */
+@Service
+@Primary
+@Profile("!memory")
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardedTaskService implements TaskService {
+
+    // Separates the per-shard positions in a sync token
+    private static final String SYNC_TOKEN_SEPARATOR = ".";
+
+    // Every shard's ids lie above those of the shards before it, so the sort only reorders within a shard's run
+    private static final Comparator<TaskDTO> ID_ORDER = Comparator.comparing(TaskDTO::getId);
+
+    @Value("${app.batch.max-items:1000}")
+    private int maxBatchItems;
+
+    @Autowired
+    @Qualifier("taskServiceImpl")
+    private TaskService shardService;
+
+    @Autowired
+    private TaskShards taskShards;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private TaskScanRepository taskScanRepository;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private TaskCursorCodec taskCursorCodec;
+
+    @Override
+    public TaskDTO createTask(TaskDTO taskDTO) {
+        return onShard(placeNew(taskDTO), () -> shardService.createTask(taskDTO));
+    }
+
+    @Override
+    public List<TaskBatchResultDTO> createTasks(List<TaskDTO> taskDTOs) {
+        validateBatchSize(taskDTOs);
+        return splitBatch(taskDTOs, this::placeNew, shardService::createTasks);
+    }
+
+    @Override
+    public List<TaskBatchResultDTO> updateTasks(List<TaskDTO> taskDTOs) {
+        validateBatchSize(taskDTOs);
+        return splitBatch(taskDTOs, taskDTO -> shardOf(taskDTO != null ? taskDTO.getId() : null), shardService::updateTasks);
+    }
+
+    @Override
+    public List<TaskBatchResultDTO> deleteTasks(List<Long> taskIds) {
+        validateBatchSize(taskIds);
+        return splitBatch(taskIds, this::shardOf, shardService::deleteTasks);
+    }
+
+    @Override
+    public TaskDTO getTaskById(Long taskId) {
+        return onShard(shardOf(taskId), () -> shardService.getTaskById(taskId));
+    }
+
+    @Override
+    public Optional<TaskDTO> findTaskById(Long taskId) {
+        return onShard(shardOf(taskId), () -> shardService.findTaskById(taskId));
+    }
+
+    @Override
+    public List<TaskDTO> getAllTasks() {
+        return mergeById(taskShards.scatter(shard -> shardService.getAllTasks()));
+    }
+
+    @Override
+    public TaskStatsDTO getTaskStats() {
+        LocalDateTime now = LocalDateTime.now();
+        TaskStatsDTO stats = taskStatistics.snapshot(now);
+        if (stats != null) {
+            return stats;
+        }
+
+        // Not loaded yet, count in every shard
+        return TaskStatistics.summarize(taskScanRepository.countByStatus(
+                now, TaskStatistics.endOfDay(now), TaskStatistics.endOfWeek(now)), now);
+    }
+
+    /**
+     * Every shard reads the page after the cursor and the pages are merged; the first limit tasks of the merge
+     * are the page. Shards return whole tasks, whose sort keys the merge and the next cursor need at full
+     * precision, and the requested fields are projected afterwards.
+     */
+    @Override
+    public TaskPageDTO getTaskPage(String after, Integer limit, String sort, String fields) {
+        List<TaskSortOrder> sortOrders = TaskSortOrder.parse(sort);
+        List<TaskField> taskFields = TaskField.parse(fields);
+        List<TaskPageDTO> pages = taskShards.scatter(shard -> shardService.getTaskPage(after, limit, sort, null));
+
+        int pageLimit = pages.get(0).getLimit();
+        boolean hasMore = false;
+        List<Task> tasks = new ArrayList<>();
+        for (TaskPageDTO page : pages) {
+            page.getItems().forEach(item -> tasks.add(taskMapper.toEntity((TaskDTO) item)));
+            // A shard with more tasks filled its page, so the merge holds at least a page either way
+            hasMore |= page.isHasMore();
+        }
+        tasks.sort(TaskSortOrder.comparator(sortOrders));
+        hasMore |= tasks.size() > pageLimit;
+        List<Task> pageTasks = tasks.subList(0, Math.min(pageLimit, tasks.size()));
+
+        String nextCursor = hasMore ? taskCursorCodec.encode(sortOrders, pageTasks.get(pageTasks.size() - 1)) : null;
+        List<?> items = taskFields != null
+                ? pageTasks.stream().map(task -> taskMapper.toFieldMap(task, taskFields)).collect(Collectors.toList())
+                : pageTasks.stream().map(taskMapper::toDTO).collect(Collectors.toList());
+        return new TaskPageDTO(items, nextCursor, hasMore, pageLimit, TaskSortOrder.format(sortOrders));
+    }
+
+    /**
+     * Every shard is synced from a position of its own with its share of the limit; the token carries the
+     * positions of all shards. A token with a single position, such as one issued before sharding was enabled,
+     * is a valid position on every shard.
+     */
+    @Override
+    public TaskChangesDTO getChangesSince(String since, Integer limit) {
+        int syncLimit = limit != null ? limit : TaskServiceImpl.DEFAULT_SYNC_LIMIT;
+        if (syncLimit < 1 || syncLimit > TaskServiceImpl.MAX_SYNC_LIMIT) {
+            throw new ValidationException("limit", "Limit must be between 1 and " + TaskServiceImpl.MAX_SYNC_LIMIT);
+        }
+        int shardLimit = Math.max(1, syncLimit / taskShards.getCount());
+        List<String> tokens = shardSyncTokens(since);
+
+        List<TaskDTO> tasks = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        List<String> nextTokens = new ArrayList<>();
+        boolean hasMore = false;
+        for (TaskChangesDTO changes : taskShards.scatter(shard -> shardService.getChangesSince(tokens.get(shard), shardLimit))) {
+            tasks.addAll(changes.getTasks());
+            deletedIds.addAll(changes.getDeletedIds());
+            nextTokens.add(changes.getToken());
+            hasMore |= changes.isHasMore();
+        }
+        return new TaskChangesDTO(tasks, deletedIds, String.join(SYNC_TOKEN_SEPARATOR, nextTokens), hasMore);
+    }
+
+    private List<String> shardSyncTokens(String since) {
+        if (since == null || since.trim().isEmpty()) {
+            return Collections.nCopies(taskShards.getCount(), null);
+        }
+        String[] tokens = since.trim().split(Pattern.quote(SYNC_TOKEN_SEPARATOR), -1);
+        if (tokens.length == 1) {
+            return Collections.nCopies(taskShards.getCount(), tokens[0]);
+        }
+        if (tokens.length != taskShards.getCount()) {
+            throw new ValidationException("since", "Malformed sync token");
+        }
+        return Arrays.asList(tokens);
+    }
+
+    @Override
+    public TaskHistoryPageDTO getTaskHistory(Long taskId, String after, Integer limit) {
+        return onShard(shardOf(taskId), () -> shardService.getTaskHistory(taskId, after, limit));
+    }
+
+    @Override
+    public TaskDTO updateTask(Long taskId, TaskDTO taskDTO) {
+        return onShard(shardOf(taskId), () -> shardService.updateTask(taskId, taskDTO));
+    }
+
+    @Override
+    public void deleteTask(Long taskId) {
+        onShard(shardOf(taskId), () -> {
+            shardService.deleteTask(taskId);
+            return null;
+        });
+    }
+
+    @Override
+    public TaskDTO markTaskAsCompleted(Long taskId) {
+        return onShard(shardOf(taskId), () -> shardService.markTaskAsCompleted(taskId));
+    }
+
+    @Override
+    public TaskDTO markTaskAsPending(Long taskId) {
+        return onShard(shardOf(taskId), () -> shardService.markTaskAsPending(taskId));
+    }
+
+    /**
+     * Listed ids are changed on their own shards, a title/status filter on every shard; the shards commit
+     * separately
+     */
+    @Override
+    public int bulkUpdateStatus(BulkStatusUpdateDTO request) {
+        if (request == null || request.getIds() == null || request.getIds().isEmpty()) {
+            return taskShards.scatter(shard -> shardService.bulkUpdateStatus(request)).stream()
+                    .mapToInt(Integer::intValue)
+                    .sum();
+        }
+
+        Map<Integer, List<Long>> idsByShard = groupByShard(request.getIds());
+        if (idsByShard.isEmpty()) {
+            // Only null ids, rejected or ignored the way a single database does
+            return onShard(ShardRoutingDataSource.currentShard(), () -> shardService.bulkUpdateStatus(request));
+        }
+        return onShards(idsByShard.keySet(), shard -> shardService.bulkUpdateStatus(withIds(request, idsByShard.get(shard))))
+                .values().stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+    }
+
+    @Override
+    public List<Long> markOverdue(Collection<Long> taskIds, LocalDateTime now) {
+        Map<Integer, List<Long>> idsByShard = groupByShard(taskIds);
+        List<Long> markedIds = new ArrayList<>();
+        onShards(idsByShard.keySet(), shard -> shardService.markOverdue(idsByShard.get(shard), now))
+                .values()
+                .forEach(markedIds::addAll);
+        return markedIds;
+    }
+
+    @Override
+    public List<TaskDTO> searchTasks(String title, String status) {
+        return mergeById(taskShards.scatter(shard -> shardService.searchTasks(title, status)));
+    }
+
+    @Override
+    public List<TaskDTO> searchTasks(String keyword) {
+        return mergeById(taskShards.scatter(shard -> shardService.searchTasks(keyword)));
+    }
+
+    @Override
+    public List<TaskDTO> searchTasksByTitlePrefix(String prefix, String status) {
+        return taskShards.scatter(shard -> shardService.searchTasksByTitlePrefix(prefix, status)).stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing((TaskDTO task) -> Task.normalizeTitle(task.getTitle())).thenComparing(ID_ORDER))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Map<String, Object>> searchTaskFields(String title, String status, String fields) {
+        return taskShards.scatter(shard -> shardService.searchTaskFields(title, status, fields)).stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(row -> (Long) row.get(TaskField.ID.getAttribute())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Streams the shards one after the other, so the lines come in id order as from a single database
+     */
+    @Override
+    public long exportTasks(String title, String status, OutputStream outputStream) throws IOException {
+        long count = 0;
+        try {
+            for (int shard = 0; shard < taskShards.getCount(); shard++) {
+                count += onShard(shard, () -> {
+                    try {
+                        return shardService.exportTasks(title, status, outputStream);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        outputStream.flush();
+        return count;
+    }
+
+    private int placeNew(TaskDTO taskDTO) {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                ? ShardRoutingDataSource.currentShard()
+                : taskShards.shardFor(taskDTO);
+    }
+
+    /**
+     * Shard of the task; an item without an id stays on the current shard, which rejects it
+     */
+    private int shardOf(Long taskId) {
+        return taskId != null ? taskShards.shardOf(taskId) : ShardRoutingDataSource.currentShard();
+    }
+
+    private Map<Integer, List<Long>> groupByShard(Collection<Long> taskIds) {
+        return taskIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(taskShards::shardOf, TreeMap::new, Collectors.toList()));
+    }
+
+    /**
+     * Runs the work on the shard, on the calling thread
+     */
+    private <T> T onShard(int shard, Supplier<T> work) {
+        int transactionShard = ShardRoutingDataSource.currentShard();
+        if (shard != transactionShard && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("A task of shard " + shard + " cannot be used in a transaction on shard "
+                    + transactionShard);
+        }
+        return taskShards.onShard(shard, work);
+    }
+
+    /**
+     * Runs the work on each of the shards, in parallel when there is more than one
+     * @return the results by shard
+     */
+    private <T> Map<Integer, T> onShards(Collection<Integer> shards, IntFunction<T> work) {
+        if (shards.size() == 1) {
+            int shard = shards.iterator().next();
+            Map<Integer, T> results = new LinkedHashMap<>();
+            results.put(shard, onShard(shard, () -> work.apply(shard)));
+            return results;
+        }
+        if (!shards.isEmpty() && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Tasks of shards " + shards + " cannot be used in one transaction");
+        }
+        return taskShards.scatter(shards, work);
+    }
+
+    /**
+     * Sends each item to its shard as a batch of its own and puts every result back at its item's index
+     */
+    private <T> List<TaskBatchResultDTO> splitBatch(List<T> items, ToIntFunction<T> shardOf,
+                                                    Function<List<T>, List<TaskBatchResultDTO>> batch) {
+        Map<Integer, List<Integer>> indexesByShard = new TreeMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            indexesByShard.computeIfAbsent(shardOf.applyAsInt(items.get(i)), shard -> new ArrayList<>()).add(i);
+        }
+
+        Map<Integer, List<TaskBatchResultDTO>> shardResults = onShards(indexesByShard.keySet(), shard ->
+                batch.apply(indexesByShard.get(shard).stream().map(items::get).collect(Collectors.toList())));
+
+        TaskBatchResultDTO[] results = new TaskBatchResultDTO[items.size()];
+        shardResults.forEach((shard, batchResults) -> {
+            List<Integer> indexes = indexesByShard.get(shard);
+            for (TaskBatchResultDTO result : batchResults) {
+                result.setIndex(indexes.get(result.getIndex()));
+                results[result.getIndex()] = result;
+            }
+        });
+        return new ArrayList<>(Arrays.asList(results));
+    }
+
+    private void validateBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new ValidationException("items", "Batch must contain at least one item");
+        }
+        if (items.size() > maxBatchItems) {
+            throw new ValidationException("items", "Batch cannot contain more than " + maxBatchItems + " items");
+        }
+    }
+
+    private static List<TaskDTO> mergeById(List<List<TaskDTO>> shardResults) {
+        return shardResults.stream()
+                .flatMap(List::stream)
+                .sorted(ID_ORDER)
+                .collect(Collectors.toList());
+    }
+
+    private static BulkStatusUpdateDTO withIds(BulkStatusUpdateDTO request, List<Long> taskIds) {
+        BulkStatusUpdateDTO shardRequest = new BulkStatusUpdateDTO();
+        shardRequest.setIds(taskIds);
+        shardRequest.setTitle(request.getTitle());
+        shardRequest.setCurrentStatus(request.getCurrentStatus());
+        shardRequest.setStatus(request.getStatus());
+        shardRequest.setUpdatedBy(request.getUpdatedBy());
+        return shardRequest;
+    }
+}
@@ -0,0 +1,104 @@
+package com.rohan.taskmanagement.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.rohan.taskmanagement.exception.ValidationException;
+import com.rohan.taskmanagement.model.Task;
+import com.rohan.taskmanagement.repository.TaskSortOrder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Encodes and decodes the opaque "after" cursor used by paginated task listings.
+ * A cursor holds the sort key values and id of the last row of a page, plus the sort
+ * it was issued for so it cannot be replayed against a different ordering.
+ */
+@Component
+public class TaskCursorCodec {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static class Position {
+        private final List<Object> values;
+        private final Long id;
+
+        Position(List<Object> values, Long id) {
+            this.values = values;
+            this.id = id;
+        }
+
+        public List<Object> getValues() {
+            return values;
+        }
+
+        public Long getId() {
+            return id;
+        }
+    }
+
+    public String encode(List<TaskSortOrder> sort, Task last) {
+        List<Object> values = new ArrayList<>();
+        for (TaskSortOrder order : sort) {
+            values.add(order.getField().valueOf(last));
+        }
+        return encode(sort, values, last.getId());
+    }
+
+    public String encode(List<TaskSortOrder> sort, List<Object> values, Long id) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("s", TaskSortOrder.format(sort));
+        ArrayNode keys = node.putArray("k");
+        for (Object value : values) {
+            if (value == null) {
+                keys.addNull();
+            } else {
+                keys.add(value.toString());
+            }
+        }
+        node.put("id", id);
+
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(objectMapper.writeValueAsBytes(node));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to encode cursor: " + e.getMessage(), e);
+        }
+    }
+
+    public Position decode(String cursor, List<TaskSortOrder> sort) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw new ValidationException("after", "Malformed cursor");
+        }
+
+        if (node == null || !node.path("id").canConvertToLong() || !node.path("k").isArray()) {
+            throw new ValidationException("after", "Malformed cursor");
+        }
+        if (!TaskSortOrder.format(sort).equals(node.path("s").asText())) {
+            throw new ValidationException("after", "Cursor was issued for a different sort order");
+        }
+
+        JsonNode keys = node.get("k");
+        if (keys.size() != sort.size()) {
+            throw new ValidationException("after", "Malformed cursor");
+        }
+
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < sort.size(); i++) {
+            JsonNode key = keys.get(i);
+            if (key.isNull() && !sort.get(i).getField().isNullable()) {
+                throw new ValidationException("after", "Malformed cursor");
+            }
+            values.add(sort.get(i).getField().parseValue(key.isNull() ? null : key.asText()));
+        }
+        return new Position(values, node.get("id").asLong());
+    }
+}
@@ -1,73 +1,168 @@
 package com.rohan.taskmanagement.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rohan.taskmanagement.config.CacheConfig;
+import com.rohan.taskmanagement.dto.BulkStatusUpdateDTO;
+import com.rohan.taskmanagement.dto.TaskBatchResultDTO;
+import com.rohan.taskmanagement.dto.TaskChangesDTO;
 import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.dto.TaskHistoryPageDTO;
+import com.rohan.taskmanagement.dto.TaskPageDTO;
+import com.rohan.taskmanagement.dto.TaskStatsDTO;
+import com.rohan.taskmanagement.event.TaskBulkStatusEvent;
+import com.rohan.taskmanagement.event.TaskChangeEvent;
 import com.rohan.taskmanagement.exception.ResourceNotFoundException;
+import com.rohan.taskmanagement.exception.SyncTokenExpiredException;
 import com.rohan.taskmanagement.exception.ValidationException;
 import com.rohan.taskmanagement.mapper.TaskMapper;
+import com.rohan.taskmanagement.metrics.TaskMetrics;
+import com.rohan.taskmanagement.metrics.TaskMetrics.Operation;
+import com.rohan.taskmanagement.metrics.TaskMetrics.SearchTier;
+import com.rohan.taskmanagement.overdue.TaskDueDateSchedule;
 import com.rohan.taskmanagement.model.Task;
+import com.rohan.taskmanagement.model.TaskHistoryEntry;
+import com.rohan.taskmanagement.model.TaskTombstone;
+import com.rohan.taskmanagement.repository.TaskField;
+import com.rohan.taskmanagement.repository.TaskHistoryRepository;
+import com.rohan.taskmanagement.repository.TaskKeysetRepository;
 import com.rohan.taskmanagement.repository.TaskRepository;
+import com.rohan.taskmanagement.repository.TaskSortOrder;
+import com.rohan.taskmanagement.repository.TaskTombstoneRepository;
+import com.rohan.taskmanagement.search.TaskTitleIndex;
 import com.rohan.taskmanagement.service.TaskService;
+import com.rohan.taskmanagement.shard.TaskShards;
+import com.rohan.taskmanagement.stats.TaskStatistics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Service
+@Profile("!memory")
 @Transactional
 public class TaskServiceImpl implements TaskService {
     
     private static final Logger logger = LoggerFactory.getLogger(TaskServiceImpl.class);
 
+    private static final int DEFAULT_PAGE_LIMIT = 50;
+    private static final int MAX_PAGE_LIMIT = 500;
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+    private static final int ID_LOOKUP_CHUNK_SIZE = 1000;
+    static final int DEFAULT_SYNC_LIMIT = 500;
+    static final int MAX_SYNC_LIMIT = 5000;
+    // Position of a sync without a token, before any task was written
+    private static final LocalDateTime SYNC_ORIGIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Value("${app.batch.max-items:1000}")
+    private int maxBatchItems;
+
+    // Matches hibernate.jdbc.batch_size so every flush is one full JDBC batch
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchFlushSize;
+
+    // How far back a completed sync restarts, to catch changes committed late with an earlier last_updated_on
+    @Value("${app.sync.overlap:PT5S}")
+    private Duration syncOverlap;
+
+    @Value("${app.sync.tombstone-retention:P30D}")
+    private Duration tombstoneRetention;
+
     @Autowired
     private TaskRepository taskRepository;
 
+    // This service through its proxy, so getTaskById reads through the task cache
+    @Autowired
+    @Lazy
+    @Qualifier("taskServiceImpl")
+    private TaskService cachedTaskService;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private TaskHistoryRepository taskHistoryRepository;
+
     @Autowired
     private TaskMapper taskMapper;
 
+    @Autowired
+    private TaskCursorCodec taskCursorCodec;
+
+    @Autowired
+    private TaskSyncTokenCodec taskSyncTokenCodec;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskTitleIndex taskTitleIndex;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TaskMetrics taskMetrics;
+
+    @Autowired
+    private TaskShards taskShards;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public TaskDTO createTask(TaskDTO taskDTO) {
         if (taskDTO.getTitle() == null || taskDTO.getTitle().trim().isEmpty()) {
-            logger.error("Task creation failed: Title cannot be null or empty");
             throw new ValidationException("title", "Task title cannot be null or empty");
         }
         
-        logger.debug("Creating task with title: {}", taskDTO.getTitle());
-        
         try {
-            Task task = new Task();
-            task.setTitle(taskDTO.getTitle());
-            task.setDescription(taskDTO.getDescription());
-            task.setDueDate(taskDTO.getDueDate());
-            task.setStatus(taskDTO.getStatus() != null ? taskDTO.getStatus() : "TODO");
-            task.setRemarks(taskDTO.getRemarks());
-            
-            LocalDateTime now = LocalDateTime.now();
-            task.setCreatedOn(now);
-            task.setLastUpdatedOn(now);
-            
-            if (taskDTO.getCreatedBy() != null && !taskDTO.getCreatedBy().isEmpty()) {
-                task.setCreatedBy(taskDTO.getCreatedBy());
-            } else {
-                task.setCreatedBy("Company Admin");
-            }
-            
-            if (taskDTO.getLastUpdatedBy() != null && !taskDTO.getLastUpdatedBy().isEmpty()) {
-                task.setLastUpdatedBy(taskDTO.getLastUpdatedBy());
-            } else {
-                task.setLastUpdatedBy(task.getCreatedBy());
-            }
+            Task task = buildNewTask(taskDTO);
             
             Task savedTask = taskRepository.save(task);
-            logger.info("Task saved successfully with ID: {}", savedTask.getId());
+            logger.debug("Task saved with ID: {}", savedTask.getId());
             
-            return taskMapper.toDTO(savedTask);
+            TaskDTO createdTask = taskMapper.toDTO(savedTask);
+            eventPublisher.publishEvent(TaskChangeEvent.created(createdTask));
+            return createdTask;
         } catch (Exception e) {
-            logger.error("Failed to create task: {}", e.getMessage(), e);
+            // Rethrown to the controller, which logs unexpected failures once
             if (e instanceof ValidationException || e instanceof ResourceNotFoundException) {
                 throw e;
             } else {
@@ -77,14 +172,401 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    public List<TaskBatchResultDTO> createTasks(List<TaskDTO> taskDTOs) {
+        validateBatchSize(taskDTOs);
+
+        List<TaskBatchResultDTO> results = new ArrayList<>(taskDTOs.size());
+        List<Task> pending = new ArrayList<>();
+        List<TaskBatchResultDTO> pendingResults = new ArrayList<>();
+
+        for (int i = 0; i < taskDTOs.size(); i++) {
+            TaskDTO taskDTO = taskDTOs.get(i);
+            if (taskDTO == null || isBlank(taskDTO.getTitle())) {
+                results.add(TaskBatchResultDTO.failure(i, null, TaskBatchResultDTO.INVALID,
+                        "Task title cannot be null or empty"));
+                continue;
+            }
+
+            TaskBatchResultDTO result = new TaskBatchResultDTO(i, null, TaskBatchResultDTO.CREATED);
+            pending.add(buildNewTask(taskDTO));
+            pendingResults.add(result);
+            results.add(result);
+
+            if (pending.size() == batchFlushSize) {
+                persistCreated(pending, pendingResults);
+            }
+        }
+        persistCreated(pending, pendingResults);
+
+        logger.info("Batch create finished: {} of {} tasks created", countResults(results, TaskBatchResultDTO.CREATED), taskDTOs.size());
+        return results;
+    }
+
+    @Override
+    public List<TaskBatchResultDTO> updateTasks(List<TaskDTO> taskDTOs) {
+        validateBatchSize(taskDTOs);
+
+        List<Long> taskIds = taskDTOs.stream()
+                .filter(taskDTO -> taskDTO != null && taskDTO.getId() != null)
+                .map(TaskDTO::getId)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, Task> existingTasks = new HashMap<>();
+        for (Task task : findAllByIdInOrder(taskIds)) {
+            existingTasks.put(task.getId(), task);
+        }
+
+        List<TaskBatchResultDTO> results = new ArrayList<>(taskDTOs.size());
+        int dirty = 0;
+        for (int i = 0; i < taskDTOs.size(); i++) {
+            TaskDTO taskDTO = taskDTOs.get(i);
+            if (taskDTO == null || taskDTO.getId() == null) {
+                results.add(TaskBatchResultDTO.failure(i, null, TaskBatchResultDTO.INVALID, "Task ID cannot be null"));
+                continue;
+            }
+            if (isBlank(taskDTO.getTitle())) {
+                results.add(TaskBatchResultDTO.failure(i, taskDTO.getId(), TaskBatchResultDTO.INVALID,
+                        "Task title cannot be null or empty"));
+                continue;
+            }
+
+            Task existingTask = existingTasks.get(taskDTO.getId());
+            if (existingTask == null) {
+                results.add(TaskBatchResultDTO.failure(i, taskDTO.getId(), TaskBatchResultDTO.NOT_FOUND,
+                        "Task not found with id: " + taskDTO.getId()));
+                continue;
+            }
+
+            TaskDTO previousTask = taskMapper.toDTO(existingTask);
+            applyUpdate(existingTask, taskDTO);
+            TaskDTO updatedTask = taskMapper.toDTO(existingTask);
+            eventPublisher.publishEvent(TaskChangeEvent.updated(previousTask, updatedTask));
+
+            TaskBatchResultDTO result = new TaskBatchResultDTO(i, existingTask.getId(), TaskBatchResultDTO.UPDATED);
+            result.setTask(updatedTask);
+            results.add(result);
+
+            // Managed entities are written by dirty checking; flushing in chunks lets Hibernate batch the UPDATEs
+            if (++dirty % batchFlushSize == 0) {
+                entityManager.flush();
+            }
+        }
+        entityManager.flush();
+
+        logger.info("Batch update finished: {} of {} tasks updated", countResults(results, TaskBatchResultDTO.UPDATED), taskDTOs.size());
+        return results;
+    }
+
+    @Override
+    public List<TaskBatchResultDTO> deleteTasks(List<Long> taskIds) {
+        validateBatchSize(taskIds);
+
+        List<Long> distinctIds = taskIds.stream()
+                .filter(taskId -> taskId != null)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, TaskDTO> existingTasks = new HashMap<>();
+        for (Task task : findAllByIdInOrder(distinctIds)) {
+            existingTasks.put(task.getId(), taskMapper.toDTO(task));
+        }
+
+        List<TaskBatchResultDTO> results = new ArrayList<>(taskIds.size());
+        List<Long> deletedIds = new ArrayList<>();
+        Set<Long> seenIds = new HashSet<>();
+        for (int i = 0; i < taskIds.size(); i++) {
+            Long taskId = taskIds.get(i);
+            if (taskId == null) {
+                results.add(TaskBatchResultDTO.failure(i, null, TaskBatchResultDTO.INVALID, "Task ID cannot be null"));
+            } else if (!existingTasks.containsKey(taskId) || !seenIds.add(taskId)) {
+                results.add(TaskBatchResultDTO.failure(i, taskId, TaskBatchResultDTO.NOT_FOUND,
+                        "Task not found with id: " + taskId));
+            } else {
+                deletedIds.add(taskId);
+                results.add(new TaskBatchResultDTO(i, taskId, TaskBatchResultDTO.DELETED));
+            }
+        }
+
+        // The rows were loaded above, so drop them from the persistence context before the bulk delete
+        entityManager.flush();
+        entityManager.clear();
+        LocalDateTime deletedOn = LocalDateTime.now();
+        for (int from = 0; from < deletedIds.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = deletedIds.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, deletedIds.size()));
+            taskTombstoneRepository.insertForTasks(chunk, deletedOn);
+            taskRepository.deleteAllByIdInBatch(chunk);
+        }
+        for (Long taskId : deletedIds) {
+            eventPublisher.publishEvent(TaskChangeEvent.deleted(existingTasks.get(taskId)));
+        }
+
+        logger.info("Batch delete finished: {} of {} tasks deleted", deletedIds.size(), taskIds.size());
+        return results;
+    }
+
+    private void persistCreated(List<Task> pending, List<TaskBatchResultDTO> pendingResults) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Ids come from the pooled generator, so the INSERTs are only issued at flush time, as one JDBC batch
+        taskRepository.saveAll(pending);
+        entityManager.flush();
+
+        for (int i = 0; i < pending.size(); i++) {
+            TaskDTO createdTask = taskMapper.toDTO(pending.get(i));
+            pendingResults.get(i).setId(createdTask.getId());
+            pendingResults.get(i).setTask(createdTask);
+            eventPublisher.publishEvent(TaskChangeEvent.created(createdTask));
+        }
+
+        // Keep the persistence context from growing with the size of the batch
+        entityManager.clear();
+        pending.clear();
+        pendingResults.clear();
+    }
+
+    private void validateBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new ValidationException("items", "Batch must contain at least one item");
+        }
+        if (items.size() > maxBatchItems) {
+            throw new ValidationException("items", "Batch cannot contain more than " + maxBatchItems + " items");
+        }
+    }
+
+    private static long countResults(List<TaskBatchResultDTO> results, String outcome) {
+        return results.stream().filter(result -> outcome.equals(result.getResult())).count();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<TaskDTO> getAllTasks() {
         List<Task> tasks = taskRepository.findAll();
+        taskMetrics.recordResults(Operation.LIST, tasks.size());
         return tasks.stream()
                 .map(taskMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
+    // Served from memory without a transaction, so no pooled connection is taken
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public TaskStatsDTO getTaskStats() {
+        LocalDateTime now = LocalDateTime.now();
+        TaskStatsDTO stats = taskStatistics.snapshot(now);
+        if (stats != null) {
+            return stats;
+        }
+
+        // Not loaded yet, count in the database
+        return TaskStatistics.summarize(taskRepository.countByStatus(
+                now, TaskStatistics.endOfDay(now), TaskStatistics.endOfWeek(now)), now);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPageDTO getTaskPage(String after, Integer limit, String sort, String fields) {
+        int pageLimit = limit != null ? limit : DEFAULT_PAGE_LIMIT;
+        if (pageLimit < 1 || pageLimit > MAX_PAGE_LIMIT) {
+            throw new ValidationException("limit", "Limit must be between 1 and " + MAX_PAGE_LIMIT);
+        }
+
+        List<TaskSortOrder> sortOrders = TaskSortOrder.parse(sort);
+        List<TaskField> taskFields = TaskField.parse(fields);
+        List<Object> afterValues = List.of();
+        Long afterId = null;
+        if (after != null && !after.trim().isEmpty()) {
+            TaskCursorCodec.Position position = taskCursorCodec.decode(after.trim(), sortOrders);
+            afterValues = position.getValues();
+            afterId = position.getId();
+        }
+
+        if (taskFields != null) {
+            return getFieldPage(taskFields, sortOrders, afterValues, afterId, pageLimit);
+        }
+
+        // Fetch one extra row to learn whether another page exists
+        List<Task> tasks = taskRepository.findPageAfter(sortOrders, afterValues, afterId, pageLimit + 1);
+        boolean hasMore = tasks.size() > pageLimit;
+        if (hasMore) {
+            tasks = tasks.subList(0, pageLimit);
+        }
+
+        String nextCursor = hasMore ? taskCursorCodec.encode(sortOrders, tasks.get(tasks.size() - 1)) : null;
+        List<TaskDTO> items = tasks.stream()
+                .map(taskMapper::toDTO)
+                .collect(Collectors.toList());
+
+        taskMetrics.recordResults(Operation.PAGE, items.size());
+        return new TaskPageDTO(items, nextCursor, hasMore, pageLimit, TaskSortOrder.format(sortOrders));
+    }
+
+    private TaskPageDTO getFieldPage(List<TaskField> taskFields, List<TaskSortOrder> sortOrders,
+                                     List<Object> afterValues, Long afterId, int pageLimit) {
+        List<Tuple> rows = taskRepository.findFieldPageAfter(taskFields, sortOrders, afterValues, afterId, pageLimit + 1);
+        boolean hasMore = rows.size() > pageLimit;
+        if (hasMore) {
+            rows = rows.subList(0, pageLimit);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Tuple last = rows.get(rows.size() - 1);
+            List<Object> sortValues = new ArrayList<>();
+            for (int i = 0; i < sortOrders.size(); i++) {
+                sortValues.add(last.get(TaskKeysetRepository.sortKeyAlias(taskFields, sortOrders, i)));
+            }
+            nextCursor = taskCursorCodec.encode(sortOrders, sortValues, (Long) last.get(TaskField.ID.getAttribute()));
+        }
+
+        List<Map<String, Object>> items = rows.stream()
+                .map(row -> taskMapper.toFieldMap(row, taskFields))
+                .collect(Collectors.toList());
+
+        taskMetrics.recordResults(Operation.PAGE, items.size());
+        return new TaskPageDTO(items, nextCursor, hasMore, pageLimit, TaskSortOrder.format(sortOrders));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskChangesDTO getChangesSince(String since, Integer limit) {
+        int syncLimit = limit != null ? limit : DEFAULT_SYNC_LIMIT;
+        if (syncLimit < 1 || syncLimit > MAX_SYNC_LIMIT) {
+            throw new ValidationException("limit", "Limit must be between 1 and " + MAX_SYNC_LIMIT);
+        }
+
+        // Taken before reading, so a change committed while the queries run is picked up by the next sync
+        LocalDateTime queryStart = LocalDateTime.now();
+        LocalDateTime position = SYNC_ORIGIN;
+        Long afterId = 0L;
+        LocalDateTime startedOn = null;
+        if (since != null && !since.trim().isEmpty()) {
+            TaskSyncTokenCodec.Position token = taskSyncTokenCodec.decode(since.trim());
+            if (token.getStartedOn().isBefore(queryStart.minus(tombstoneRetention))) {
+                throw new SyncTokenExpiredException("Sync token is older than the tombstone retention, reload all tasks");
+            }
+            position = token.getSince();
+            afterId = token.getAfterId();
+            startedOn = token.getStartedOn();
+        }
+
+        // Both streams are read in (time, id) order one row past the limit and merged, to learn whether more follow
+        List<Task> changed = taskRepository.findChangedAfter(position, afterId, Limit.of(syncLimit + 1));
+        List<TaskTombstone> deleted = taskTombstoneRepository.findDeletedAfter(position, afterId, Limit.of(syncLimit + 1));
+
+        List<TaskDTO> tasks = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        int taskIndex = 0;
+        int deletedIndex = 0;
+        while (tasks.size() + deletedIds.size() < syncLimit && (taskIndex < changed.size() || deletedIndex < deleted.size())) {
+            Task task = taskIndex < changed.size() ? changed.get(taskIndex) : null;
+            TaskTombstone tombstone = deletedIndex < deleted.size() ? deleted.get(deletedIndex) : null;
+            if (tombstone == null || (task != null && comparePositions(task.getLastUpdatedOn(), task.getId(),
+                    tombstone.getDeletedOn(), tombstone.getTaskId()) < 0)) {
+                tasks.add(taskMapper.toDTO(task));
+                position = task.getLastUpdatedOn();
+                afterId = task.getId();
+                taskIndex++;
+            } else {
+                deletedIds.add(tombstone.getTaskId());
+                position = tombstone.getDeletedOn();
+                afterId = tombstone.getTaskId();
+                deletedIndex++;
+            }
+        }
+        boolean hasMore = taskIndex < changed.size() || deletedIndex < deleted.size();
+
+        // A caught-up client restarts a little before this sync; changes within the overlap are sent again
+        LocalDateTime resumeFrom = queryStart.minus(syncOverlap);
+        String token = hasMore
+                ? taskSyncTokenCodec.encode(position, afterId, startedOn != null ? startedOn : resumeFrom)
+                : taskSyncTokenCodec.encode(resumeFrom, 0L, resumeFrom);
+
+        taskMetrics.recordResults(Operation.SYNC, tasks.size() + deletedIds.size());
+        return new TaskChangesDTO(tasks, deletedIds, token, hasMore);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskHistoryPageDTO getTaskHistory(Long taskId, String after, Integer limit) {
+        int pageLimit = limit != null ? limit : DEFAULT_PAGE_LIMIT;
+        if (pageLimit < 1 || pageLimit > MAX_PAGE_LIMIT) {
+            throw new ValidationException("limit", "Limit must be between 1 and " + MAX_PAGE_LIMIT);
+        }
+        Long beforeId = parseHistoryCursor(after);
+
+        // Deleted tasks keep their history, so only a task with none at all is unknown
+        List<TaskHistoryEntry> entries = taskHistoryRepository.findByTaskId(taskId, beforeId, pageLimit + 1);
+        if (entries.isEmpty() && beforeId == null && !taskRepository.existsById(taskId)) {
+            throw new ResourceNotFoundException("Task not found with id: " + taskId);
+        }
+        return historyPage(taskId, entries, pageLimit);
+    }
+
+    /**
+     * @return the id the history cursor points below, or null for the first page
+     */
+    static Long parseHistoryCursor(String after) {
+        if (isBlank(after)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(after.trim());
+        } catch (NumberFormatException e) {
+            throw new ValidationException("after", "Invalid history cursor");
+        }
+    }
+
+    /**
+     * Page of history entries read one past the limit; the cursor is the id of the oldest entry returned
+     */
+    static TaskHistoryPageDTO historyPage(Long taskId, List<TaskHistoryEntry> entries, int limit) {
+        boolean hasMore = entries.size() > limit;
+        List<TaskHistoryEntry> page = hasMore ? entries.subList(0, limit) : entries;
+        String nextCursor = hasMore ? String.valueOf(page.get(page.size() - 1).getId()) : null;
+        return new TaskHistoryPageDTO(taskId, page, nextCursor, hasMore, limit);
+    }
+
+    static int comparePositions(LocalDateTime time, Long id, LocalDateTime otherTime, Long otherId) {
+        int byTime = time.compareTo(otherTime);
+        return byTime != 0 ? byTime : id.compareTo(otherId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> searchTaskFields(String title, String status, String fields) {
+        List<TaskField> taskFields = TaskField.parse(fields);
+        if (taskFields == null) {
+            throw new ValidationException("fields", "At least one field must be requested");
+        }
+
+        title = title != null && !title.trim().isEmpty() ? title.trim() : null;
+        status = status != null && !status.trim().isEmpty() ? status.trim() : null;
+
+        List<Tuple> rows;
+        SearchTier tier;
+        List<Long> taskIds = title != null ? taskTitleIndex.search(title, status) : null;
+        if (taskIds != null) {
+            taskIds = taskShards.onCurrentShard(taskIds);
+            rows = new ArrayList<>(taskIds.size());
+            for (int from = 0; from < taskIds.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+                rows.addAll(taskRepository.findFieldsByIds(taskFields,
+                        taskIds.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, taskIds.size()))));
+            }
+            tier = SearchTier.INDEX;
+        } else {
+            rows = taskRepository.findFields(taskFields, title, status);
+            tier = title != null ? SearchTier.DATABASE : status != null ? SearchTier.STATUS : SearchTier.ALL;
+        }
+        taskMetrics.recordSearch(tier, rows.size());
+
+        return rows.stream()
+                .map(row -> taskMapper.toFieldMap(row, taskFields))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<TaskDTO> searchTasks(String keyword) {
         if (keyword == null || keyword.trim().isEmpty()) {
             logger.debug("Empty keyword provided, returning all tasks");
@@ -97,10 +579,70 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<TaskDTO> searchTasksByTitlePrefix(String prefix, String status) {
+        if (prefix == null || prefix.trim().isEmpty()) {
+            throw new ValidationException("prefix", "Prefix is required");
+        }
+
+        // Titles are stored trimmed and lower-cased, so a trailing space still narrows the match
+        String pattern = escapeLike(prefix.stripLeading().toLowerCase(Locale.ROOT));
+        List<Task> tasks = status != null && !status.trim().isEmpty()
+                ? taskRepository.findByTitlePrefixAndStatus(pattern, status.trim())
+                : taskRepository.findByTitlePrefix(pattern);
+        taskMetrics.recordSearch(SearchTier.PREFIX, tasks.size());
+
+        return tasks.stream()
+                .map(taskMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportTasks(String title, String status, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TaskDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+
+        try (Stream<Task> tasks = taskRepository.streamByTitleAndStatus(title, status);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                writer.writeValue(generator, taskMapper.toDTO(task));
+                generator.writeRaw('\n');
+
+                // Drop the row from the persistence context so memory stays flat
+                entityManager.detach(task);
+
+                if (++count % EXPORT_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+
+        logger.info("Exported {} tasks", count);
+        taskMetrics.recordResults(Operation.EXPORT, count);
+        return count;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public TaskDTO getTaskById(Long taskId) {
-        Task task = taskRepository.findById(taskId)
+        return cachedTaskService.findTaskById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
-        return taskMapper.toDTO(task);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.TASKS_CACHE, key = "#taskId", sync = true)
+    @Transactional(readOnly = true)
+    public Optional<TaskDTO> findTaskById(Long taskId) {
+        return taskRepository.findById(taskId).map(taskMapper::toDTO);
     }
 
     @Override
@@ -116,28 +658,15 @@ public class TaskServiceImpl implements TaskService {
             
             Task existingTask = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
-            
-            existingTask.setTitle(taskDTO.getTitle());
-            existingTask.setDescription(taskDTO.getDescription());
-            existingTask.setDueDate(taskDTO.getDueDate());
-            existingTask.setRemarks(taskDTO.getRemarks());
-            
-            if (taskDTO.getStatus() != null && !taskDTO.getStatus().isEmpty()) {
-                existingTask.setStatus(taskDTO.getStatus());
-            }
-            
-            existingTask.setLastUpdatedOn(LocalDateTime.now());
-            
-            if (taskDTO.getLastUpdatedBy() != null && !taskDTO.getLastUpdatedBy().isEmpty()) {
-                existingTask.setLastUpdatedBy(taskDTO.getLastUpdatedBy());
-            } else {
-                existingTask.setLastUpdatedBy("System Update");
-            }
+            TaskDTO previousTask = taskMapper.toDTO(existingTask);
+            applyUpdate(existingTask, taskDTO);
             
             Task updatedTask = taskRepository.save(existingTask);
-            return taskMapper.toDTO(updatedTask);
+            TaskDTO result = taskMapper.toDTO(updatedTask);
+            eventPublisher.publishEvent(TaskChangeEvent.updated(previousTask, result));
+            return result;
         } catch (Exception e) {
-            logger.error("Error updating task: {}", e.getMessage());
+            // Rethrown to the controller, which logs unexpected failures once
             if (e instanceof ResourceNotFoundException || e instanceof ValidationException) {
                 throw e;
             } else {
@@ -151,39 +680,130 @@ public class TaskServiceImpl implements TaskService {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
         
+        taskTombstoneRepository.insertForTasks(List.of(taskId), LocalDateTime.now());
         taskRepository.deleteById(taskId);
-        logger.info("Task with ID {} deleted", taskId);
+        eventPublisher.publishEvent(TaskChangeEvent.deleted(taskMapper.toDTO(task)));
+        logger.debug("Task with ID {} deleted", taskId);
     }
 
     @Override
     public TaskDTO markTaskAsCompleted(Long taskId) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        return changeStatus(taskId, "DONE");
+    }
+
+    @Override
+    public TaskDTO markTaskAsPending(Long taskId) {
+        return changeStatus(taskId, "TODO");
+    }
+
+    @Override
+    public int bulkUpdateStatus(BulkStatusUpdateDTO request) {
+        if (request == null || isBlank(request.getStatus())) {
+            throw new ValidationException("status", "Target status cannot be null or empty");
+        }
 
-        task.setStatus("DONE");
-        task.setLastUpdatedOn(LocalDateTime.now());
-        task.setLastUpdatedBy("System Status Update");
+        String title = isBlank(request.getTitle()) ? null : request.getTitle().trim();
+        String currentStatus = isBlank(request.getCurrentStatus()) ? null : request.getCurrentStatus().trim();
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (!hasIds && title == null && currentStatus == null) {
+            throw new ValidationException("ids", "Either ids or a title/currentStatus filter is required");
+        }
 
-        Task updatedTask = taskRepository.save(task);
-        return taskMapper.toDTO(updatedTask);
+        List<Long> taskIds;
+        if (hasIds) {
+            taskIds = request.getIds().stream()
+                    .filter(taskId -> taskId != null)
+                    .distinct()
+                    .collect(Collectors.toList());
+        } else if (title != null) {
+            taskIds = taskTitleIndex.search(title, currentStatus);
+            if (taskIds != null) {
+                taskIds = taskShards.onCurrentShard(taskIds);
+            } else {
+                taskIds = taskRepository.findIdsByTitleAndStatus(title, currentStatus);
+            }
+        } else {
+            taskIds = taskRepository.findIdsByStatus(currentStatus);
+        }
+
+        String status = request.getStatus().trim();
+        String updatedBy = isBlank(request.getUpdatedBy()) ? "System Status Update" : request.getUpdatedBy();
+        LocalDateTime now = LocalDateTime.now();
+
+        // One set-based UPDATE per chunk of ids; unknown ids are simply not matched
+        int updated = 0;
+        List<Long> changedIds = new ArrayList<>();
+        for (int from = 0; from < taskIds.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = taskIds.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, taskIds.size()));
+            if (!hasIds && currentStatus != null) {
+                // A task may have changed status since the filter found it; re-checked under a row lock
+                chunk = taskRepository.lockIdsByStatus(chunk, currentStatus);
+                if (chunk.isEmpty()) {
+                    continue;
+                }
+            }
+            updated += taskRepository.updateStatusByIds(chunk, status, now, updatedBy);
+            changedIds.addAll(chunk);
+        }
+
+        if (updated > 0) {
+            eventPublisher.publishEvent(new TaskBulkStatusEvent(changedIds, status, now, updatedBy));
+        }
+        logger.info("Bulk status change to '{}' updated {} tasks", status, updated);
+        return updated;
     }
 
     @Override
-    public TaskDTO markTaskAsPending(Long taskId) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+    public List<Long> markOverdue(Collection<Long> taskIds, LocalDateTime now) {
+        List<Long> candidates = new ArrayList<>(taskIds);
+        List<String> excludedStatuses = List.of(TaskStatistics.DONE, TaskDueDateSchedule.OVERDUE);
+        String updatedBy = "System Overdue Check";
+
+        // Re-checked under a row lock, since a task may have been completed or rescheduled since it was found due
+        List<Long> markedIds = new ArrayList<>();
+        for (int from = 0; from < candidates.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = candidates.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, candidates.size()));
+            List<Long> dueIds = taskRepository.lockDueIds(chunk, now, excludedStatuses);
+            if (!dueIds.isEmpty()) {
+                taskRepository.updateStatusByIds(dueIds, TaskDueDateSchedule.OVERDUE, now, updatedBy);
+                markedIds.addAll(dueIds);
+            }
+        }
+
+        if (!markedIds.isEmpty()) {
+            eventPublisher.publishEvent(new TaskBulkStatusEvent(markedIds, TaskDueDateSchedule.OVERDUE, now, updatedBy));
+        }
+        logger.debug("Marked {} of {} due tasks as overdue", markedIds.size(), candidates.size());
+        return markedIds;
+    }
 
-        task.setStatus("TODO");
-        task.setLastUpdatedOn(LocalDateTime.now());
-        task.setLastUpdatedBy("System Status Update");
+    /**
+     * Flips the status with one UPDATE of status/lastUpdatedOn/lastUpdatedBy. The task read before it
+     * supplies the previous status for the change event and the rest of the response.
+     */
+    private TaskDTO changeStatus(Long taskId, String status) {
+        Optional<Task> previousTask = taskRepository.findById(taskId);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        String updatedBy = "System Status Update";
+        int updated = taskRepository.updateStatus(taskId, status, now, updatedBy);
+        if (updated == 0 || previousTask.isEmpty()) {
+            throw new ResourceNotFoundException("Task not found with id: " + taskId);
+        }
 
-        Task updatedTask = taskRepository.save(task);
-        return taskMapper.toDTO(updatedTask);
+        TaskDTO before = taskMapper.toDTO(previousTask.get());
+        TaskDTO result = taskMapper.toDTO(previousTask.get());
+        result.setStatus(status);
+        result.setLastUpdatedOn(now);
+        result.setLastUpdatedBy(updatedBy);
+        eventPublisher.publishEvent(TaskChangeEvent.statusChanged(before, result));
+        return result;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskDTO> searchTasks(String title, String status) {
-        List<Task> tasks = null;
+        List<Task> tasks;
+        SearchTier tier;
         
         // Log search parameters
         logger.debug("Searching tasks with title='{}', status='{}'", title, status);
@@ -204,61 +824,34 @@ public class TaskServiceImpl implements TaskService {
         }
         
         try {
-            // First attempt: Try with Spring Data JPA derived query methods
-            if (title != null && status != null) {
-                logger.debug("Searching by both title and status using derived query method");
-                tasks = taskRepository.findByTitleContainingIgnoreCaseAndStatus(title, status);
-            } else if (title != null) {
-                logger.debug("Searching by title only: '{}' using derived query method", title);
-                tasks = taskRepository.findByTitleContainingIgnoreCase(title);
-                
-                // Check if we got results, if not, try the next method
-                if (tasks.isEmpty()) {
-                    logger.debug("No results with derived query method. Trying JPQL query.");
-                    tasks = taskRepository.searchByTitle(title);
-                    
-                    // If still no results, try native query
-                    if (tasks.isEmpty()) {
-                        logger.debug("No results with JPQL query. Trying native SQL query.");
-                        tasks = taskRepository.findTasksByTitleNative(title);
-                    }
+            if (title != null) {
+                // Substring matching is answered by the in-memory trigram index; status is a post-filter
+                List<Long> taskIds = taskTitleIndex.search(title, status);
+                if (taskIds != null) {
+                    logger.debug("Title index matched {} tasks", taskIds.size());
+                    tasks = findAllByIdInOrder(taskShards.onCurrentShard(taskIds));
+                    tier = SearchTier.INDEX;
+                } else if (status != null) {
+                    logger.debug("Title index not loaded yet, searching by title and status in the database");
+                    tasks = taskRepository.findByTitleContainingIgnoreCaseAndStatus(title, status);
+                    tier = SearchTier.DATABASE;
+                } else {
+                    logger.debug("Title index not loaded yet, searching by title in the database");
+                    tasks = taskRepository.findByTitleContainingIgnoreCase(title);
+                    tier = SearchTier.DATABASE;
                 }
             } else if (status != null) {
                 logger.debug("Filtering by status only: '{}'", status);
                 tasks = taskRepository.findByStatus(status);
+                tier = SearchTier.STATUS;
             } else {
                 logger.debug("No search criteria provided, returning all tasks");
                 tasks = taskRepository.findAll();
-            }
-            
-            // Final fallback - if still no results and we were searching by title
-            if ((tasks == null || tasks.isEmpty()) && title != null) {
-                logger.warn("All search methods failed. Performing manual search.");
-                // Get all tasks and filter manually
-                List<Task> allTasks = taskRepository.findAll();
-                String lowerTitle = title.toLowerCase();
-                tasks = allTasks.stream()
-                    .filter(task -> task.getTitle().toLowerCase().contains(lowerTitle))
-                    .collect(Collectors.toList());
-                
-                logger.debug("Manual search found {} tasks", tasks.size());
-            }
-            
-            // Make sure tasks is never null
-            if (tasks == null) {
-                tasks = List.of();
+                tier = SearchTier.ALL;
             }
             
             logger.debug("Search results count: {}", tasks.size());
-            if (tasks.isEmpty()) {
-                logger.warn("No tasks found for the search criteria");
-            } else {
-                // Log the first few results for debugging
-                tasks.stream().limit(5).forEach(task -> 
-                    logger.debug("Found task: id={}, title='{}', status='{}'", 
-                        task.getId(), task.getTitle(), task.getStatus())
-                );
-            }
+            taskMetrics.recordSearch(tier, tasks.size());
             
             return tasks.stream()
                     .map(taskMapper::toDTO)
@@ -268,4 +861,68 @@ public class TaskServiceImpl implements TaskService {
             return List.of(); // Return empty list instead of throwing exception
         }
     }
+
+    static Task buildNewTask(TaskDTO taskDTO) {
+        Task task = new Task();
+        task.setTitle(taskDTO.getTitle());
+        task.setDescription(taskDTO.getDescription());
+        task.setDueDate(taskDTO.getDueDate());
+        task.setStatus(taskDTO.getStatus() != null ? taskDTO.getStatus() : "TODO");
+        task.setRemarks(taskDTO.getRemarks());
+        
+        LocalDateTime now = LocalDateTime.now();
+        task.setCreatedOn(now);
+        task.setLastUpdatedOn(now);
+        
+        if (taskDTO.getCreatedBy() != null && !taskDTO.getCreatedBy().isEmpty()) {
+            task.setCreatedBy(taskDTO.getCreatedBy());
+        } else {
+            task.setCreatedBy("Company Admin");
+        }
+        
+        if (taskDTO.getLastUpdatedBy() != null && !taskDTO.getLastUpdatedBy().isEmpty()) {
+            task.setLastUpdatedBy(taskDTO.getLastUpdatedBy());
+        } else {
+            task.setLastUpdatedBy(task.getCreatedBy());
+        }
+        return task;
+    }
+
+    static void applyUpdate(Task existingTask, TaskDTO taskDTO) {
+        existingTask.setTitle(taskDTO.getTitle());
+        existingTask.setDescription(taskDTO.getDescription());
+        existingTask.setDueDate(taskDTO.getDueDate());
+        existingTask.setRemarks(taskDTO.getRemarks());
+        
+        if (taskDTO.getStatus() != null && !taskDTO.getStatus().isEmpty()) {
+            existingTask.setStatus(taskDTO.getStatus());
+        }
+        
+        existingTask.setLastUpdatedOn(LocalDateTime.now());
+        
+        if (taskDTO.getLastUpdatedBy() != null && !taskDTO.getLastUpdatedBy().isEmpty()) {
+            existingTask.setLastUpdatedBy(taskDTO.getLastUpdatedBy());
+        } else {
+            existingTask.setLastUpdatedBy("System Update");
+        }
+    }
+
+    static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    /**
+     * Loads tasks by id in chunks so large index hits don't produce one huge IN list,
+     * keeping the order of the given ids
+     */
+    private List<Task> findAllByIdInOrder(List<Long> taskIds) {
+        List<Task> tasks = new ArrayList<>(taskIds.size());
+        for (int from = 0; from < taskIds.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = taskIds.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, taskIds.size()));
+            List<Task> loaded = new ArrayList<>(taskRepository.findAllById(chunk));
+            loaded.sort(Comparator.comparing(Task::getId));
+            tasks.addAll(loaded);
+        }
+        return tasks;
+    }
 }
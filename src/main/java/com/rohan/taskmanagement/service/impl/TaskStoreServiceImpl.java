@@ -0,0 +1,615 @@
+package com.rohan.taskmanagement.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rohan.taskmanagement.config.CacheConfig;
+import com.rohan.taskmanagement.dto.BulkStatusUpdateDTO;
+import com.rohan.taskmanagement.dto.TaskBatchResultDTO;
+import com.rohan.taskmanagement.dto.TaskChangesDTO;
+import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.dto.TaskHistoryPageDTO;
+import com.rohan.taskmanagement.dto.TaskPageDTO;
+import com.rohan.taskmanagement.dto.TaskStatsDTO;
+import com.rohan.taskmanagement.event.TaskBulkStatusEvent;
+import com.rohan.taskmanagement.event.TaskChangeEvent;
+import com.rohan.taskmanagement.exception.ResourceNotFoundException;
+import com.rohan.taskmanagement.exception.SyncTokenExpiredException;
+import com.rohan.taskmanagement.exception.ValidationException;
+import com.rohan.taskmanagement.mapper.TaskMapper;
+import com.rohan.taskmanagement.metrics.TaskMetrics;
+import com.rohan.taskmanagement.metrics.TaskMetrics.Operation;
+import com.rohan.taskmanagement.metrics.TaskMetrics.SearchTier;
+import com.rohan.taskmanagement.model.Task;
+import com.rohan.taskmanagement.model.TaskHistoryEntry;
+import com.rohan.taskmanagement.model.TaskTombstone;
+import com.rohan.taskmanagement.overdue.TaskDueDateSchedule;
+import com.rohan.taskmanagement.repository.TaskField;
+import com.rohan.taskmanagement.repository.TaskSortOrder;
+import com.rohan.taskmanagement.search.TaskTitleIndex;
+import com.rohan.taskmanagement.service.TaskService;
+import com.rohan.taskmanagement.stats.TaskStatistics;
+import com.rohan.taskmanagement.store.TaskStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link TaskService} on the embedded {@link TaskStore}, active with the memory profile.
+ * Same behaviour, events and validation as {@link TaskServiceImpl}; transactions are the store's own.
+ */
+@Service
+@Profile("memory")
+@Transactional
+public class TaskStoreServiceImpl implements TaskService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStoreServiceImpl.class);
+
+    private static final int DEFAULT_PAGE_LIMIT = 50;
+    private static final int MAX_PAGE_LIMIT = 500;
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+    private static final int DEFAULT_SYNC_LIMIT = 500;
+    private static final int MAX_SYNC_LIMIT = 5000;
+    // Position of a sync without a token, before any task was written
+    private static final LocalDateTime SYNC_ORIGIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Value("${app.batch.max-items:1000}")
+    private int maxBatchItems;
+
+    // How far back a completed sync restarts, to catch changes committed late with an earlier last_updated_on
+    @Value("${app.sync.overlap:PT5S}")
+    private Duration syncOverlap;
+
+    @Value("${app.sync.tombstone-retention:P30D}")
+    private Duration tombstoneRetention;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    // This service through its proxy, so getTaskById reads through the task cache
+    @Autowired
+    @Lazy
+    @Qualifier("taskStoreServiceImpl")
+    private TaskService cachedTaskService;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private TaskCursorCodec taskCursorCodec;
+
+    @Autowired
+    private TaskSyncTokenCodec taskSyncTokenCodec;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskTitleIndex taskTitleIndex;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TaskMetrics taskMetrics;
+
+    @Override
+    public TaskDTO createTask(TaskDTO taskDTO) {
+        if (taskDTO.getTitle() == null || taskDTO.getTitle().trim().isEmpty()) {
+            throw new ValidationException("title", "Task title cannot be null or empty");
+        }
+
+        Task savedTask = taskStore.insert(TaskServiceImpl.buildNewTask(taskDTO));
+        logger.debug("Task saved with ID: {}", savedTask.getId());
+
+        TaskDTO createdTask = taskMapper.toDTO(savedTask);
+        eventPublisher.publishEvent(TaskChangeEvent.created(createdTask));
+        return createdTask;
+    }
+
+    @Override
+    public List<TaskBatchResultDTO> createTasks(List<TaskDTO> taskDTOs) {
+        validateBatchSize(taskDTOs);
+
+        List<TaskBatchResultDTO> results = new ArrayList<>(taskDTOs.size());
+        for (int i = 0; i < taskDTOs.size(); i++) {
+            TaskDTO taskDTO = taskDTOs.get(i);
+            if (taskDTO == null || TaskServiceImpl.isBlank(taskDTO.getTitle())) {
+                results.add(TaskBatchResultDTO.failure(i, null, TaskBatchResultDTO.INVALID,
+                        "Task title cannot be null or empty"));
+                continue;
+            }
+
+            TaskDTO createdTask = taskMapper.toDTO(taskStore.insert(TaskServiceImpl.buildNewTask(taskDTO)));
+            TaskBatchResultDTO result = new TaskBatchResultDTO(i, createdTask.getId(), TaskBatchResultDTO.CREATED);
+            result.setTask(createdTask);
+            results.add(result);
+            eventPublisher.publishEvent(TaskChangeEvent.created(createdTask));
+        }
+
+        logger.info("Batch create finished: {} of {} tasks created", countResults(results, TaskBatchResultDTO.CREATED), taskDTOs.size());
+        return results;
+    }
+
+    @Override
+    public List<TaskBatchResultDTO> updateTasks(List<TaskDTO> taskDTOs) {
+        validateBatchSize(taskDTOs);
+
+        List<Long> taskIds = taskDTOs.stream()
+                .filter(taskDTO -> taskDTO != null && taskDTO.getId() != null)
+                .map(TaskDTO::getId)
+                .collect(Collectors.toList());
+        Map<Long, Task> existingTasks = new HashMap<>();
+        for (Task task : taskStore.findAllById(taskIds)) {
+            existingTasks.put(task.getId(), task);
+        }
+
+        List<TaskBatchResultDTO> results = new ArrayList<>(taskDTOs.size());
+        for (int i = 0; i < taskDTOs.size(); i++) {
+            TaskDTO taskDTO = taskDTOs.get(i);
+            if (taskDTO == null || taskDTO.getId() == null) {
+                results.add(TaskBatchResultDTO.failure(i, null, TaskBatchResultDTO.INVALID, "Task ID cannot be null"));
+                continue;
+            }
+            if (TaskServiceImpl.isBlank(taskDTO.getTitle())) {
+                results.add(TaskBatchResultDTO.failure(i, taskDTO.getId(), TaskBatchResultDTO.INVALID,
+                        "Task title cannot be null or empty"));
+                continue;
+            }
+
+            Task existingTask = existingTasks.get(taskDTO.getId());
+            if (existingTask == null) {
+                results.add(TaskBatchResultDTO.failure(i, taskDTO.getId(), TaskBatchResultDTO.NOT_FOUND,
+                        "Task not found with id: " + taskDTO.getId()));
+                continue;
+            }
+
+            TaskDTO previousTask = taskMapper.toDTO(existingTask);
+            TaskServiceImpl.applyUpdate(existingTask, taskDTO);
+            taskStore.update(existingTask);
+            TaskDTO updatedTask = taskMapper.toDTO(existingTask);
+            eventPublisher.publishEvent(TaskChangeEvent.updated(previousTask, updatedTask));
+
+            TaskBatchResultDTO result = new TaskBatchResultDTO(i, existingTask.getId(), TaskBatchResultDTO.UPDATED);
+            result.setTask(updatedTask);
+            results.add(result);
+        }
+
+        logger.info("Batch update finished: {} of {} tasks updated", countResults(results, TaskBatchResultDTO.UPDATED), taskDTOs.size());
+        return results;
+    }
+
+    @Override
+    public List<TaskBatchResultDTO> deleteTasks(List<Long> taskIds) {
+        validateBatchSize(taskIds);
+
+        Map<Long, TaskDTO> existingTasks = new HashMap<>();
+        for (Task task : taskStore.findAllById(taskIds.stream().filter(taskId -> taskId != null).collect(Collectors.toList()))) {
+            existingTasks.put(task.getId(), taskMapper.toDTO(task));
+        }
+
+        List<TaskBatchResultDTO> results = new ArrayList<>(taskIds.size());
+        Set<Long> deletedIds = new HashSet<>();
+        LocalDateTime deletedOn = LocalDateTime.now();
+        for (int i = 0; i < taskIds.size(); i++) {
+            Long taskId = taskIds.get(i);
+            if (taskId == null) {
+                results.add(TaskBatchResultDTO.failure(i, null, TaskBatchResultDTO.INVALID, "Task ID cannot be null"));
+            } else if (!existingTasks.containsKey(taskId) || !deletedIds.add(taskId)) {
+                results.add(TaskBatchResultDTO.failure(i, taskId, TaskBatchResultDTO.NOT_FOUND,
+                        "Task not found with id: " + taskId));
+            } else {
+                taskStore.delete(taskId, deletedOn);
+                eventPublisher.publishEvent(TaskChangeEvent.deleted(existingTasks.get(taskId)));
+                results.add(new TaskBatchResultDTO(i, taskId, TaskBatchResultDTO.DELETED));
+            }
+        }
+
+        logger.info("Batch delete finished: {} of {} tasks deleted", deletedIds.size(), taskIds.size());
+        return results;
+    }
+
+    private void validateBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new ValidationException("items", "Batch must contain at least one item");
+        }
+        if (items.size() > maxBatchItems) {
+            throw new ValidationException("items", "Batch cannot contain more than " + maxBatchItems + " items");
+        }
+    }
+
+    private static long countResults(List<TaskBatchResultDTO> results, String outcome) {
+        return results.stream().filter(result -> outcome.equals(result.getResult())).count();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskDTO> getAllTasks() {
+        List<Task> tasks = taskStore.findByTitleAndStatus(null, null);
+        taskMetrics.recordResults(Operation.LIST, tasks.size());
+        return tasks.stream()
+                .map(taskMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public TaskStatsDTO getTaskStats() {
+        LocalDateTime now = LocalDateTime.now();
+        TaskStatsDTO stats = taskStatistics.snapshot(now);
+        if (stats != null) {
+            return stats;
+        }
+
+        // Not loaded yet, count over the store's due date index
+        return TaskStatistics.summarize(taskStore.countByStatus(
+                now, TaskStatistics.endOfDay(now), TaskStatistics.endOfWeek(now)), now);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPageDTO getTaskPage(String after, Integer limit, String sort, String fields) {
+        int pageLimit = limit != null ? limit : DEFAULT_PAGE_LIMIT;
+        if (pageLimit < 1 || pageLimit > MAX_PAGE_LIMIT) {
+            throw new ValidationException("limit", "Limit must be between 1 and " + MAX_PAGE_LIMIT);
+        }
+
+        List<TaskSortOrder> sortOrders = TaskSortOrder.parse(sort);
+        List<TaskField> taskFields = TaskField.parse(fields);
+        List<Object> afterValues = List.of();
+        Long afterId = null;
+        if (after != null && !after.trim().isEmpty()) {
+            TaskCursorCodec.Position position = taskCursorCodec.decode(after.trim(), sortOrders);
+            afterValues = position.getValues();
+            afterId = position.getId();
+        }
+
+        // Fetch one extra task to learn whether another page exists
+        List<Task> tasks = taskStore.findPageAfter(sortOrders, afterValues, afterId, pageLimit + 1);
+        boolean hasMore = tasks.size() > pageLimit;
+        if (hasMore) {
+            tasks = tasks.subList(0, pageLimit);
+        }
+
+        String nextCursor = hasMore ? taskCursorCodec.encode(sortOrders, tasks.get(tasks.size() - 1)) : null;
+        // Tasks are decoded from the store either way, so a projection only trims the response
+        List<?> items = taskFields != null
+                ? tasks.stream().map(task -> taskMapper.toFieldMap(task, taskFields)).collect(Collectors.toList())
+                : tasks.stream().map(taskMapper::toDTO).collect(Collectors.toList());
+
+        taskMetrics.recordResults(Operation.PAGE, items.size());
+        return new TaskPageDTO(items, nextCursor, hasMore, pageLimit, TaskSortOrder.format(sortOrders));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskChangesDTO getChangesSince(String since, Integer limit) {
+        int syncLimit = limit != null ? limit : DEFAULT_SYNC_LIMIT;
+        if (syncLimit < 1 || syncLimit > MAX_SYNC_LIMIT) {
+            throw new ValidationException("limit", "Limit must be between 1 and " + MAX_SYNC_LIMIT);
+        }
+
+        // Taken before reading, so a change committed while the indexes are read is picked up by the next sync
+        LocalDateTime queryStart = LocalDateTime.now();
+        LocalDateTime position = SYNC_ORIGIN;
+        Long afterId = 0L;
+        LocalDateTime startedOn = null;
+        if (since != null && !since.trim().isEmpty()) {
+            TaskSyncTokenCodec.Position token = taskSyncTokenCodec.decode(since.trim());
+            if (token.getStartedOn().isBefore(queryStart.minus(tombstoneRetention))) {
+                throw new SyncTokenExpiredException("Sync token is older than the tombstone retention, reload all tasks");
+            }
+            position = token.getSince();
+            afterId = token.getAfterId();
+            startedOn = token.getStartedOn();
+        }
+
+        // Both indexes are read in (time, id) order one entry past the limit and merged, to learn whether more follow
+        List<Task> changed = taskStore.findChangedAfter(position, afterId, syncLimit + 1);
+        List<TaskTombstone> deleted = taskStore.findDeletedAfter(position, afterId, syncLimit + 1);
+
+        List<TaskDTO> tasks = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        int taskIndex = 0;
+        int deletedIndex = 0;
+        while (tasks.size() + deletedIds.size() < syncLimit && (taskIndex < changed.size() || deletedIndex < deleted.size())) {
+            Task task = taskIndex < changed.size() ? changed.get(taskIndex) : null;
+            TaskTombstone tombstone = deletedIndex < deleted.size() ? deleted.get(deletedIndex) : null;
+            if (tombstone == null || (task != null && TaskServiceImpl.comparePositions(task.getLastUpdatedOn(), task.getId(),
+                    tombstone.getDeletedOn(), tombstone.getTaskId()) < 0)) {
+                tasks.add(taskMapper.toDTO(task));
+                position = task.getLastUpdatedOn();
+                afterId = task.getId();
+                taskIndex++;
+            } else {
+                deletedIds.add(tombstone.getTaskId());
+                position = tombstone.getDeletedOn();
+                afterId = tombstone.getTaskId();
+                deletedIndex++;
+            }
+        }
+        boolean hasMore = taskIndex < changed.size() || deletedIndex < deleted.size();
+
+        // A caught-up client restarts a little before this sync; changes within the overlap are sent again
+        LocalDateTime resumeFrom = queryStart.minus(syncOverlap);
+        String token = hasMore
+                ? taskSyncTokenCodec.encode(position, afterId, startedOn != null ? startedOn : resumeFrom)
+                : taskSyncTokenCodec.encode(resumeFrom, 0L, resumeFrom);
+
+        taskMetrics.recordResults(Operation.SYNC, tasks.size() + deletedIds.size());
+        return new TaskChangesDTO(tasks, deletedIds, token, hasMore);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskHistoryPageDTO getTaskHistory(Long taskId, String after, Integer limit) {
+        int pageLimit = limit != null ? limit : DEFAULT_PAGE_LIMIT;
+        if (pageLimit < 1 || pageLimit > MAX_PAGE_LIMIT) {
+            throw new ValidationException("limit", "Limit must be between 1 and " + MAX_PAGE_LIMIT);
+        }
+        Long beforeId = TaskServiceImpl.parseHistoryCursor(after);
+
+        // Deleted tasks keep their history, so only a task with none at all is unknown
+        List<TaskHistoryEntry> entries = taskStore.findByTaskId(taskId, beforeId, pageLimit + 1);
+        if (entries.isEmpty() && beforeId == null && taskStore.findById(taskId).isEmpty()) {
+            throw new ResourceNotFoundException("Task not found with id: " + taskId);
+        }
+        return TaskServiceImpl.historyPage(taskId, entries, pageLimit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> searchTaskFields(String title, String status, String fields) {
+        List<TaskField> taskFields = TaskField.parse(fields);
+        if (taskFields == null) {
+            throw new ValidationException("fields", "At least one field must be requested");
+        }
+
+        title = TaskServiceImpl.isBlank(title) ? null : title.trim();
+        status = TaskServiceImpl.isBlank(status) ? null : status.trim();
+
+        List<Task> tasks = search(title, status);
+        return tasks.stream()
+                .map(task -> taskMapper.toFieldMap(task, taskFields))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskDTO> searchTasks(String keyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            logger.debug("Empty keyword provided, returning all tasks");
+            return getAllTasks();
+        }
+        return searchTasks(keyword, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskDTO> searchTasks(String title, String status) {
+        logger.debug("Searching tasks with title='{}', status='{}'", title, status);
+        title = TaskServiceImpl.isBlank(title) ? null : title.trim();
+        status = TaskServiceImpl.isBlank(status) ? null : status.trim();
+
+        return search(title, status).stream()
+                .map(taskMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Title matches come from the trigram index once it is loaded, otherwise from a scan of the store
+     */
+    private List<Task> search(String title, String status) {
+        List<Task> tasks;
+        SearchTier tier;
+        List<Long> taskIds = title != null ? taskTitleIndex.search(title, status) : null;
+        if (taskIds != null) {
+            tasks = taskStore.findAllById(taskIds);
+            tier = SearchTier.INDEX;
+        } else {
+            tasks = taskStore.findByTitleAndStatus(title, status);
+            tier = title != null ? SearchTier.DATABASE : status != null ? SearchTier.STATUS : SearchTier.ALL;
+        }
+        taskMetrics.recordSearch(tier, tasks.size());
+        return tasks;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskDTO> searchTasksByTitlePrefix(String prefix, String status) {
+        if (prefix == null || prefix.trim().isEmpty()) {
+            throw new ValidationException("prefix", "Prefix is required");
+        }
+
+        // Titles are matched trimmed and lower-cased, so a trailing space still narrows the match
+        List<Task> tasks = taskStore.findByTitlePrefix(prefix.stripLeading().toLowerCase(Locale.ROOT),
+                TaskServiceImpl.isBlank(status) ? null : status.trim());
+        taskMetrics.recordSearch(SearchTier.PREFIX, tasks.size());
+
+        return tasks.stream()
+                .map(taskMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportTasks(String title, String status, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TaskDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+
+        try (Stream<Task> tasks = taskStore.streamByTitleAndStatus(title, status);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, taskMapper.toDTO(iterator.next()));
+                generator.writeRaw('\n');
+
+                if (++count % EXPORT_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+
+        logger.info("Exported {} tasks", count);
+        taskMetrics.recordResults(Operation.EXPORT, count);
+        return count;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public TaskDTO getTaskById(Long taskId) {
+        return cachedTaskService.findTaskById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.TASKS_CACHE, key = "#taskId", sync = true)
+    @Transactional(readOnly = true)
+    public Optional<TaskDTO> findTaskById(Long taskId) {
+        return taskStore.findById(taskId).map(taskMapper::toDTO);
+    }
+
+    @Override
+    public TaskDTO updateTask(Long taskId, TaskDTO taskDTO) {
+        if (taskId == null) {
+            throw new ValidationException("taskId", "Task ID cannot be null");
+        }
+        if (taskDTO.getTitle() == null || taskDTO.getTitle().trim().isEmpty()) {
+            throw new ValidationException("title", "Task title cannot be null or empty");
+        }
+
+        Task existingTask = taskStore.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        TaskDTO previousTask = taskMapper.toDTO(existingTask);
+        TaskServiceImpl.applyUpdate(existingTask, taskDTO);
+        taskStore.update(existingTask);
+
+        TaskDTO result = taskMapper.toDTO(existingTask);
+        eventPublisher.publishEvent(TaskChangeEvent.updated(previousTask, result));
+        return result;
+    }
+
+    @Override
+    public void deleteTask(Long taskId) {
+        Task task = taskStore.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+
+        taskStore.delete(taskId, LocalDateTime.now());
+        eventPublisher.publishEvent(TaskChangeEvent.deleted(taskMapper.toDTO(task)));
+        logger.debug("Task with ID {} deleted", taskId);
+    }
+
+    @Override
+    public TaskDTO markTaskAsCompleted(Long taskId) {
+        return changeStatus(taskId, "DONE");
+    }
+
+    @Override
+    public TaskDTO markTaskAsPending(Long taskId) {
+        return changeStatus(taskId, "TODO");
+    }
+
+    @Override
+    public int bulkUpdateStatus(BulkStatusUpdateDTO request) {
+        if (request == null || TaskServiceImpl.isBlank(request.getStatus())) {
+            throw new ValidationException("status", "Target status cannot be null or empty");
+        }
+
+        String title = TaskServiceImpl.isBlank(request.getTitle()) ? null : request.getTitle().trim();
+        String currentStatus = TaskServiceImpl.isBlank(request.getCurrentStatus()) ? null : request.getCurrentStatus().trim();
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (!hasIds && title == null && currentStatus == null) {
+            throw new ValidationException("ids", "Either ids or a title/currentStatus filter is required");
+        }
+
+        List<Long> taskIds;
+        if (hasIds) {
+            taskIds = request.getIds().stream()
+                    .filter(taskId -> taskId != null)
+                    .distinct()
+                    .collect(Collectors.toList());
+        } else {
+            taskIds = title != null ? taskTitleIndex.search(title, currentStatus) : null;
+            if (taskIds == null) {
+                taskIds = taskStore.findIdsByTitleAndStatus(title, currentStatus);
+            }
+        }
+
+        String status = request.getStatus().trim();
+        String updatedBy = TaskServiceImpl.isBlank(request.getUpdatedBy()) ? "System Status Update" : request.getUpdatedBy();
+        LocalDateTime now = LocalDateTime.now();
+        int updated = taskStore.updateStatus(taskIds, status, now, updatedBy);
+
+        if (updated > 0) {
+            eventPublisher.publishEvent(new TaskBulkStatusEvent(taskIds, status, now, updatedBy));
+        }
+        logger.info("Bulk status change to '{}' updated {} tasks", status, updated);
+        return updated;
+    }
+
+    @Override
+    public List<Long> markOverdue(Collection<Long> taskIds, LocalDateTime now) {
+        List<String> excludedStatuses = List.of(TaskStatistics.DONE, TaskDueDateSchedule.OVERDUE);
+        String updatedBy = "System Overdue Check";
+
+        // Re-checked inside the transaction, since a task may have been completed or rescheduled since it was found due
+        List<Long> markedIds = taskStore.findDueIds(taskIds, now, excludedStatuses);
+        if (!markedIds.isEmpty()) {
+            taskStore.updateStatus(markedIds, TaskDueDateSchedule.OVERDUE, now, updatedBy);
+            eventPublisher.publishEvent(new TaskBulkStatusEvent(markedIds, TaskDueDateSchedule.OVERDUE, now, updatedBy));
+        }
+        logger.debug("Marked {} of {} due tasks as overdue", markedIds.size(), taskIds.size());
+        return markedIds;
+    }
+
+    private TaskDTO changeStatus(Long taskId, String status) {
+        Optional<Task> previousTask = taskStore.findById(taskId);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        String updatedBy = "System Status Update";
+        int updated = taskStore.updateStatus(List.of(taskId), status, now, updatedBy);
+        if (updated == 0 || previousTask.isEmpty()) {
+            throw new ResourceNotFoundException("Task not found with id: " + taskId);
+        }
+
+        TaskDTO before = taskMapper.toDTO(previousTask.get());
+        TaskDTO result = taskMapper.toDTO(previousTask.get());
+        result.setStatus(status);
+        result.setLastUpdatedOn(now);
+        result.setLastUpdatedBy(updatedBy);
+        eventPublisher.publishEvent(TaskChangeEvent.statusChanged(before, result));
+        return result;
+    }
+}
@@ -0,0 +1,81 @@
+package com.rohan.taskmanagement.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.rohan.taskmanagement.exception.ValidationException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque "since" token of delta syncs.
+ * A token holds the (time, id) position the next sync continues after, plus the time the sync
+ * started, which decides whether the tombstones it depends on may already have been purged.
+ */
+@Component
+public class TaskSyncTokenCodec {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static class Position {
+        private final LocalDateTime since;
+        private final Long afterId;
+        private final LocalDateTime startedOn;
+
+        Position(LocalDateTime since, Long afterId, LocalDateTime startedOn) {
+            this.since = since;
+            this.afterId = afterId;
+            this.startedOn = startedOn;
+        }
+
+        public LocalDateTime getSince() {
+            return since;
+        }
+
+        public Long getAfterId() {
+            return afterId;
+        }
+
+        public LocalDateTime getStartedOn() {
+            return startedOn;
+        }
+    }
+
+    public String encode(LocalDateTime since, Long afterId, LocalDateTime startedOn) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("t", since.toString());
+        node.put("id", afterId);
+        node.put("at", startedOn.toString());
+
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(objectMapper.writeValueAsBytes(node));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to encode sync token: " + e.getMessage(), e);
+        }
+    }
+
+    public Position decode(String token) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw new ValidationException("since", "Malformed sync token");
+        }
+
+        if (node == null || !node.path("id").canConvertToLong() || !node.path("t").isTextual() || !node.path("at").isTextual()) {
+            throw new ValidationException("since", "Malformed sync token");
+        }
+
+        try {
+            return new Position(LocalDateTime.parse(node.get("t").asText()), node.get("id").asLong(),
+                    LocalDateTime.parse(node.get("at").asText()));
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("since", "Malformed sync token");
+        }
+    }
+}
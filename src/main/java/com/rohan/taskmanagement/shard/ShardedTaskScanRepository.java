@@ -0,0 +1,79 @@
+package com.rohan.taskmanagement.shard;
+
+import com.rohan.taskmanagement.repository.TaskRepository;
+import com.rohan.taskmanagement.repository.TaskScanRepository;
+import com.rohan.taskmanagement.repository.TaskStatusCount;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Whole-table reads over every shard, for the in-memory title index, statistics and due date schedule.
+ * The shards are read in parallel, each in a read-only transaction of its own, and their rows handed on together;
+ * the per-status counts of the shards are summed up by TaskStatistics.summarize.
+ */
+@Component
+@Primary
+@Profile("!memory")
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardedTaskScanRepository implements TaskScanRepository {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskShards taskShards;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public Stream<Object[]> streamTitleEntries() {
+        return gather(taskRepository::streamTitleEntries);
+    }
+
+    @Override
+    public Stream<Object[]> streamStatisticsEntries() {
+        return gather(taskRepository::streamStatisticsEntries);
+    }
+
+    @Override
+    public List<TaskStatusCount> countByStatus(LocalDateTime now, LocalDateTime endOfToday, LocalDateTime endOfWeek) {
+        TransactionTemplate template = readOnlyTemplate();
+        return taskShards.scatter(shard -> template.execute(status -> taskRepository.countByStatus(now, endOfToday, endOfWeek)))
+                .stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The callers consume the rows inside a transaction of their own, which can only reach one shard,
+     * so each shard's rows are read to the end before they are handed on
+     */
+    private Stream<Object[]> gather(Supplier<Stream<Object[]>> scan) {
+        TransactionTemplate template = readOnlyTemplate();
+        return taskShards.scatter(shard -> template.execute(status -> {
+                    try (Stream<Object[]> rows = scan.get()) {
+                        return rows.collect(Collectors.toList());
+                    }
+                }))
+                .stream()
+                .flatMap(List::stream);
+    }
+
+    private TransactionTemplate readOnlyTemplate() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
@@ -0,0 +1,196 @@
+package com.rohan.taskmanagement.shard;
+
+import com.rohan.taskmanagement.datasource.ShardRoutingDataSource;
+import com.rohan.taskmanagement.dto.TaskDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The databases the tasks table is split over with app.sharding.enabled=true, app.sharding.count of them;
+ * without sharding there is one, shard 0.
+ * Each shard hands out task ids from its own range (the shard number times 2^40 upwards), so ids are unique
+ * across shards and a task is found from its id alone. New tasks are spread round-robin, or with
+ * app.sharding.placement=created-by placed by a hash of their creator so the tasks of one creator share a shard.
+ */
+@Component
+public class TaskShards {
+
+    public static final int SHARD_ID_BITS = 40;
+    // Ids are positive longs, which leaves 23 bits for the shard number
+    private static final int MAX_SHARDS = 1 << (Long.SIZE - 1 - SHARD_ID_BITS);
+
+    @Value("${app.sharding.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.sharding.count:1}")
+    private int configuredCount;
+
+    @Value("${app.sharding.placement:round-robin}")
+    private String placement;
+
+    private int count;
+    private boolean placeByCreator;
+    private final AtomicInteger nextShard = new AtomicInteger();
+    // Runs the per-shard parts of a scatter-gather; absent with a single shard
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        count = enabled ? configuredCount : 1;
+        if (count < 1 || count > MAX_SHARDS) {
+            throw new IllegalStateException("app.sharding.count must be between 1 and " + MAX_SHARDS + " but was " + count);
+        }
+        switch (placement) {
+            case "round-robin" -> placeByCreator = false;
+            case "created-by" -> placeByCreator = true;
+            default -> throw new IllegalStateException(
+                    "app.sharding.placement must be round-robin or created-by but was " + placement);
+        }
+        if (count > 1) {
+            // A virtual thread per shard part; the shards' connection pools bound how many query at once
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-shard-", 0).factory());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Shard holding the task; ids outside every shard's range are looked up, and not found, on shard 0
+     */
+    public int shardOf(Long taskId) {
+        if (taskId == null || taskId < 0) {
+            return 0;
+        }
+        long shard = taskId >>> SHARD_ID_BITS;
+        return shard < count ? (int) shard : 0;
+    }
+
+    /**
+     * Shard a new task is created on; tasks without a creator are spread round-robin either way
+     */
+    public int shardFor(TaskDTO taskDTO) {
+        if (count == 1) {
+            return 0;
+        }
+        if (placeByCreator && taskDTO != null && taskDTO.getCreatedBy() != null && !taskDTO.getCreatedBy().isEmpty()) {
+            return Math.floorMod(taskDTO.getCreatedBy().hashCode(), count);
+        }
+        return Math.floorMod(nextShard.getAndIncrement(), count);
+    }
+
+    /**
+     * First id the shard's id generator hands out
+     */
+    public static long firstId(int shard) {
+        return ((long) shard << SHARD_ID_BITS) + 1;
+    }
+
+    /**
+     * The ids that belong to the shard the current thread works on, in their order; the in-memory
+     * indexes hold the ids of every shard
+     */
+    public List<Long> onCurrentShard(List<Long> taskIds) {
+        if (count == 1) {
+            return taskIds;
+        }
+        int shard = ShardRoutingDataSource.currentShard();
+        return taskIds.stream()
+                .filter(taskId -> shardOf(taskId) == shard)
+                .collect(Collectors.toList());
+    }
+
+    public <T> T onShard(int shard, Supplier<T> work) {
+        return ShardRoutingDataSource.onShard(shard, work);
+    }
+
+    /**
+     * Runs the work once per shard, one shard after the other on the calling thread
+     */
+    public void forEachShard(IntConsumer work) {
+        for (int shard = 0; shard < count; shard++) {
+            int current = shard;
+            onShard(current, () -> {
+                work.accept(current);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Runs the work on every shard in parallel and waits for all of them
+     * @return the results by shard number
+     */
+    public <T> List<T> scatter(IntFunction<T> work) {
+        return new ArrayList<>(scatter(IntStream.range(0, count).boxed().collect(Collectors.toList()), work).values());
+    }
+
+    /**
+     * Runs the work on the given shards in parallel, each on a thread of its own and so in transactions of its
+     * own, and waits for all of them. The first failure is rethrown once every shard has finished.
+     * @return the results by shard, in the order the shards were given
+     */
+    public <T> Map<Integer, T> scatter(Collection<Integer> shards, IntFunction<T> work) {
+        Map<Integer, T> results = new LinkedHashMap<>();
+        if (executor == null) {
+            for (Integer shard : shards) {
+                results.put(shard, onShard(shard, () -> work.apply(shard)));
+            }
+            return results;
+        }
+
+        Map<Integer, Future<T>> futures = new LinkedHashMap<>();
+        for (Integer shard : shards) {
+            futures.put(shard, executor.submit(() -> onShard(shard, () -> work.apply(shard))));
+        }
+        RuntimeException failure = null;
+        for (Map.Entry<Integer, Future<T>> future : futures.entrySet()) {
+            try {
+                results.put(future.getKey(), future.getValue().get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause
+                            ? cause
+                            : new IllegalStateException("Shard " + future.getKey() + " failed: " + e.getCause().getMessage(), e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.values().forEach(pending -> pending.cancel(true));
+                throw new IllegalStateException("Interrupted while waiting for the shards", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+}
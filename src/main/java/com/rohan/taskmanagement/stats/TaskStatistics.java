@@ -0,0 +1,248 @@
+package com.rohan.taskmanagement.stats;
+
+import com.rohan.taskmanagement.dto.TaskStatsDTO;
+import com.rohan.taskmanagement.repository.TaskStatusCount;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory task counters behind GET /api/tasks/stats.
+ * The status and due date of every task are kept so that a change event can be applied
+ * without reading the row. Counts per status are maintained directly; the due dates of open
+ * (not DONE) tasks are kept sorted, and overdue is a running count of open tasks due before a
+ * watermark that follows the clock, so a read only visits tasks that fell overdue since the last one.
+ */
+@Component
+public class TaskStatistics {
+
+    public static final String DONE = "DONE";
+
+    private final Lock lock = new ReentrantLock();
+
+    private State state = new State();
+
+    // Changes that arrive while a rebuild is loading, replayed on top of the loaded snapshot
+    private List<Runnable> pendingChanges;
+    private volatile boolean ready;
+    private long modifications;
+
+    private static final class Entry {
+        private final String status;
+        private final LocalDateTime dueDate;
+
+        private Entry(String status, LocalDateTime dueDate) {
+            this.status = status;
+            this.dueDate = dueDate;
+        }
+    }
+
+    private static final class State {
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final Map<String, Long> statusCounts = new HashMap<>();
+        private final NavigableMap<LocalDateTime, Integer> openDueDates = new TreeMap<>();
+        private LocalDateTime overdueWatermark = LocalDateTime.MIN;
+        // Open tasks due before overdueWatermark
+        private long overdueCount;
+
+        private void add(Long taskId, String status, LocalDateTime dueDate) {
+            remove(taskId);
+            entries.put(taskId, new Entry(status, dueDate));
+            statusCounts.merge(status, 1L, Long::sum);
+            if (isOpen(status) && dueDate != null) {
+                openDueDates.merge(dueDate, 1, Integer::sum);
+                if (dueDate.isBefore(overdueWatermark)) {
+                    overdueCount++;
+                }
+            }
+        }
+
+        private void remove(Long taskId) {
+            Entry existing = entries.remove(taskId);
+            if (existing == null) {
+                return;
+            }
+            statusCounts.computeIfPresent(existing.status, (status, count) -> count > 1 ? count - 1 : null);
+            if (isOpen(existing.status) && existing.dueDate != null) {
+                openDueDates.computeIfPresent(existing.dueDate, (dueDate, count) -> count > 1 ? count - 1 : null);
+                if (existing.dueDate.isBefore(overdueWatermark)) {
+                    overdueCount--;
+                }
+            }
+        }
+
+        private long overdue(LocalDateTime now) {
+            if (now.isBefore(overdueWatermark)) {
+                // The clock went back, or another read got ahead of this one
+                return overdueCount - countDue(now, overdueWatermark);
+            }
+            overdueCount += countDue(overdueWatermark, now);
+            overdueWatermark = now;
+            return overdueCount;
+        }
+
+        private long countDue(LocalDateTime from, LocalDateTime to) {
+            long count = 0;
+            for (int tasks : openDueDates.subMap(from, true, to, false).values()) {
+                count += tasks;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Loads a fresh snapshot of the counters. Writes applied through {@link #put},
+     * {@link #updateStatus} and {@link #remove} while it is being read are replayed once it is installed.
+     */
+    public class Builder {
+        private final State newState = new State();
+
+        public void add(Long taskId, String status, LocalDateTime dueDate) {
+            newState.add(taskId, status, dueDate);
+        }
+
+        public void install() {
+            lock.lock();
+            try {
+                state = newState;
+                for (Runnable change : pendingChanges) {
+                    change.run();
+                }
+                pendingChanges = null;
+                modifications++;
+                ready = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public void abandon() {
+            lock.lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public Builder beginRebuild() {
+        lock.lock();
+        try {
+            pendingChanges = new ArrayList<>();
+            return new Builder();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void put(Long taskId, String status, LocalDateTime dueDate) {
+        apply(() -> state.add(taskId, status, dueDate));
+    }
+
+    /**
+     * Changes the status of a known task; unknown ids are ignored
+     */
+    public void updateStatus(Long taskId, String status) {
+        apply(() -> {
+            Entry existing = state.entries.get(taskId);
+            if (existing != null) {
+                state.add(taskId, status, existing.dueDate);
+            }
+        });
+    }
+
+    public void remove(Long taskId) {
+        apply(() -> state.remove(taskId));
+    }
+
+    /**
+     * Number of changes applied so far; unchanged across a database read means no change landed in between
+     */
+    public long getModificationCount() {
+        lock.lock();
+        try {
+            return modifications;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the counters at the given time, or null if they have not been loaded yet
+     */
+    public TaskStatsDTO snapshot(LocalDateTime now) {
+        if (!ready) {
+            return null;
+        }
+
+        lock.lock();
+        try {
+            return new TaskStatsDTO(state.entries.size(), new TreeMap<>(state.statusCounts), state.overdue(now),
+                    state.countDue(now, endOfDay(now)), state.countDue(now, endOfWeek(now)), now);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Combines per-status counts from the database into the same totals as {@link #snapshot};
+     * a status may appear more than once, e.g. once per shard
+     */
+    public static TaskStatsDTO summarize(List<TaskStatusCount> counts, LocalDateTime now) {
+        Map<String, Long> byStatus = new TreeMap<>();
+        long total = 0;
+        long overdue = 0;
+        long dueToday = 0;
+        long dueThisWeek = 0;
+        for (TaskStatusCount count : counts) {
+            byStatus.merge(count.getStatus(), count.getTotal(), Long::sum);
+            total += count.getTotal();
+            if (isOpen(count.getStatus())) {
+                overdue += count.getOverdue();
+                dueToday += count.getDueToday();
+                dueThisWeek += count.getDueThisWeek();
+            }
+        }
+        return new TaskStatsDTO(total, byStatus, overdue, dueToday, dueThisWeek, now);
+    }
+
+    public static LocalDateTime endOfDay(LocalDateTime now) {
+        return now.toLocalDate().plusDays(1).atStartOfDay();
+    }
+
+    public static LocalDateTime endOfWeek(LocalDateTime now) {
+        return now.toLocalDate().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).atStartOfDay();
+    }
+
+    private static boolean isOpen(String status) {
+        return !DONE.equals(status);
+    }
+
+    private void apply(Runnable change) {
+        lock.lock();
+        try {
+            change.run();
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            modifications++;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
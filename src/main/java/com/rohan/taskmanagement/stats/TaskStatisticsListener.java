@@ -0,0 +1,115 @@
+package com.rohan.taskmanagement.stats;
+
+import com.rohan.taskmanagement.datasource.ReadReplicaRoutingDataSource;
+import com.rohan.taskmanagement.dto.TaskStatsDTO;
+import com.rohan.taskmanagement.event.TaskBulkStatusEvent;
+import com.rohan.taskmanagement.event.TaskChangeEvent;
+import com.rohan.taskmanagement.metrics.TaskMetrics;
+import com.rohan.taskmanagement.metrics.TaskMetrics.Reconciliation;
+import com.rohan.taskmanagement.repository.TaskScanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the {@link TaskStatistics} in sync with the tasks table: loads them once the
+ * application is ready, applies every committed task change, and periodically compares them
+ * with a GROUP BY over the table, reloading them if they drifted (e.g. rows changed by hand).
+ */
+@Component
+public class TaskStatisticsListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatisticsListener.class);
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private TaskScanRepository taskScanRepository;
+
+    @Autowired
+    private TaskMetrics taskMetrics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        TaskStatistics.Builder builder = taskStatistics.beginRebuild();
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        try {
+            // Counted on the primary, which has every change already received as an event
+            ReadReplicaRoutingDataSource.onPrimary(() -> template.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = taskScanRepository.streamStatisticsEntries()) {
+                    rows.forEach(row -> builder.add((Long) row[0], (String) row[1], (LocalDateTime) row[2]));
+                }
+            }));
+        } catch (RuntimeException e) {
+            // Stats keep being computed by the database until a later rebuild succeeds
+            builder.abandon();
+            logger.error("Failed to load task statistics: {}", e.getMessage(), e);
+            return;
+        }
+
+        builder.install();
+        logger.info("Task statistics loaded in {} ms", System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(initialDelayString = "${app.stats.reconcile-interval:PT5M}",
+               fixedDelayString = "${app.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        if (!taskStatistics.isReady()) {
+            return;
+        }
+
+        // Database DATETIME(6) columns hold microseconds, compare at the same precision
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        long modifications = taskStatistics.getModificationCount();
+        // Compared on the primary, replica lag would look like drift
+        TaskStatsDTO counted = TaskStatistics.summarize(ReadReplicaRoutingDataSource.onPrimary(() -> taskScanRepository.countByStatus(
+                now, TaskStatistics.endOfDay(now), TaskStatistics.endOfWeek(now))), now);
+        TaskStatsDTO maintained = taskStatistics.snapshot(now);
+
+        if (taskStatistics.getModificationCount() != modifications) {
+            // A change was applied while counting; try again next time
+            taskMetrics.recordReconciliation(Reconciliation.SKIPPED);
+        } else if (counted.sameCounts(maintained)) {
+            taskMetrics.recordReconciliation(Reconciliation.MATCHED);
+        } else {
+            taskMetrics.recordReconciliation(Reconciliation.REBUILT);
+            logger.warn("Task statistics drifted from the database (maintained total {}, counted {}), reloading",
+                    maintained.getTotal(), counted.getTotal());
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        if (event.getAfter() == null) {
+            taskStatistics.remove(event.getTaskId());
+        } else {
+            taskStatistics.put(event.getTaskId(), event.getAfter().getStatus(), event.getAfter().getDueDate());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBulkStatusChange(TaskBulkStatusEvent event) {
+        for (Long taskId : event.getTaskIds()) {
+            taskStatistics.updateStatus(taskId, event.getStatus());
+        }
+    }
+}
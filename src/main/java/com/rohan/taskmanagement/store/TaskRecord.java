@@ -0,0 +1,185 @@
+package com.rohan.taskmanagement.store;
+
+import com.rohan.taskmanagement.model.Task;
+import com.rohan.taskmanagement.repository.TaskSortField;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.function.UnaryOperator;
+
+/**
+ * Immutable stored form of a task. Free text is kept as UTF-8 bytes, the low-cardinality status and
+ * user names are interned by the store, and timestamps are epoch microseconds (the precision of the
+ * DATETIME(6) columns), so a task costs one object plus its byte arrays.
+ */
+final class TaskRecord {
+
+    static final long NO_TIME = Long.MIN_VALUE;
+
+    final long id;
+    final byte[] title;
+    final byte[] description;
+    final long dueDate;
+    final String status;
+    final byte[] remarks;
+    final long createdOn;
+    final long lastUpdatedOn;
+    final String createdBy;
+    final String lastUpdatedBy;
+
+    private TaskRecord(long id, byte[] title, byte[] description, long dueDate, String status, byte[] remarks,
+                       long createdOn, long lastUpdatedOn, String createdBy, String lastUpdatedBy) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.dueDate = dueDate;
+        this.status = status;
+        this.remarks = remarks;
+        this.createdOn = createdOn;
+        this.lastUpdatedOn = lastUpdatedOn;
+        this.createdBy = createdBy;
+        this.lastUpdatedBy = lastUpdatedBy;
+    }
+
+    static TaskRecord of(Task task, UnaryOperator<String> intern) {
+        return new TaskRecord(task.getId(), encode(task.getTitle()), encode(task.getDescription()),
+                toMicros(task.getDueDate()), intern.apply(task.getStatus()), encode(task.getRemarks()),
+                toMicros(task.getCreatedOn()), toMicros(task.getLastUpdatedOn()),
+                intern.apply(task.getCreatedBy()), intern.apply(task.getLastUpdatedBy()));
+    }
+
+    /**
+     * Search key for the store's sorted indexes and keyset cursors; carries no task text
+     */
+    static TaskRecord probe(long id, long dueDate, long createdOn, long lastUpdatedOn, String status) {
+        return new TaskRecord(id, null, null, dueDate, status, null, createdOn, lastUpdatedOn, null, null);
+    }
+
+    TaskRecord withStatus(String status, long updatedOn, String updatedBy) {
+        return new TaskRecord(id, title, description, dueDate, status, remarks, createdOn, updatedOn, createdBy, updatedBy);
+    }
+
+    Task toTask() {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title());
+        task.setDescription(decode(description));
+        task.setDueDate(toDateTime(dueDate));
+        task.setStatus(status);
+        task.setRemarks(decode(remarks));
+        task.setCreatedOn(toDateTime(createdOn));
+        task.setLastUpdatedOn(toDateTime(lastUpdatedOn));
+        task.setCreatedBy(createdBy);
+        task.setLastUpdatedBy(lastUpdatedBy);
+        return task;
+    }
+
+    String title() {
+        return decode(title);
+    }
+
+    boolean hasDueDate() {
+        return dueDate != NO_TIME;
+    }
+
+    /**
+     * Case-insensitive substring match, the same as LOWER(title) LIKE '%term%'
+     * @param lowerCaseTerm the term, already lower-cased
+     */
+    boolean titleContains(String lowerCaseTerm) {
+        return title().toLowerCase(Locale.ROOT).contains(lowerCaseTerm);
+    }
+
+    /**
+     * Value of a timestamp sort key, NO_TIME for a missing due date
+     */
+    long timeValue(TaskSortField field) {
+        switch (field) {
+            case DUE_DATE:
+                return dueDate;
+            case CREATED_ON:
+                return createdOn;
+            case LAST_UPDATED_ON:
+                return lastUpdatedOn;
+            default:
+                throw new IllegalArgumentException(field + " is not a timestamp");
+        }
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(id);
+        writeBytes(out, title);
+        writeBytes(out, description);
+        out.writeLong(dueDate);
+        out.writeUTF(status);
+        writeBytes(out, remarks);
+        out.writeLong(createdOn);
+        out.writeLong(lastUpdatedOn);
+        out.writeUTF(createdBy);
+        out.writeUTF(lastUpdatedBy);
+    }
+
+    static TaskRecord readFrom(DataInput in, UnaryOperator<String> intern) throws IOException {
+        return new TaskRecord(in.readLong(), readBytes(in), readBytes(in), in.readLong(), intern.apply(in.readUTF()),
+                readBytes(in), in.readLong(), in.readLong(), intern.apply(in.readUTF()), intern.apply(in.readUTF()));
+    }
+
+    static long toMicros(LocalDateTime time) {
+        if (time == null) {
+            return NO_TIME;
+        }
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), time);
+    }
+
+    static LocalDateTime toDateTime(long micros) {
+        if (micros == NO_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Nullable string of any length, as UTF-8 bytes
+     */
+    static void writeString(DataOutput out, String value) throws IOException {
+        writeBytes(out, encode(value));
+    }
+
+    static String readString(DataInput in) throws IOException {
+        return decode(readBytes(in));
+    }
+
+    private static byte[] encode(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static String decode(byte[] value) {
+        return value != null ? new String(value, StandardCharsets.UTF_8) : null;
+    }
+
+    private static void writeBytes(DataOutput out, byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private static byte[] readBytes(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        in.readFully(value);
+        return value;
+    }
+}
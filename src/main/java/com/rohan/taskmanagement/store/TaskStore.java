@@ -0,0 +1,988 @@
+package com.rohan.taskmanagement.store;
+
+import com.rohan.taskmanagement.model.Task;
+import com.rohan.taskmanagement.model.TaskHistoryEntry;
+import com.rohan.taskmanagement.model.TaskTombstone;
+import com.rohan.taskmanagement.repository.TaskHistoryRepository;
+import com.rohan.taskmanagement.repository.TaskScanRepository;
+import com.rohan.taskmanagement.repository.TaskSortField;
+import com.rohan.taskmanagement.repository.TaskSortOrder;
+import com.rohan.taskmanagement.repository.TaskStatusCount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Embedded task storage: all tasks in memory, made durable by {@link TaskStoreLog}.
+ *
+ * Tasks are held in a primitive-keyed map by id, partitioned by status, and in two sorted indexes on
+ * (dueDate, id) and (lastUpdatedOn, id) for the due date windows and delta sync. Read-write transactions
+ * run one at a time and buffer their writes; commit appends them to the log as one batch and then
+ * applies them, so readers only ever see whole commits. Filtered and ordered reads inside a transaction
+ * see its own writes; whole-store scans, aggregates, deletion lists and the task history read the
+ * committed state. The task history is kept per task in id order and outlives the task.
+ */
+public class TaskStore implements TaskScanRepository, TaskHistoryRepository, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStore.class);
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final byte HISTORY = 3;
+
+    private static final Comparator<TaskRecord> ID_ORDER = Comparator.comparingLong(record -> record.id);
+    private static final Comparator<TaskRecord> DUE_DATE_ORDER =
+            Comparator.comparingLong((TaskRecord record) -> record.dueDate).thenComparingLong(record -> record.id);
+    private static final Comparator<TaskRecord> LAST_UPDATED_ORDER =
+            Comparator.comparingLong((TaskRecord record) -> record.lastUpdatedOn).thenComparingLong(record -> record.id);
+
+    /**
+     * Visits a set of committed records; called with the read lock held
+     */
+    private interface RecordSource {
+        void forEach(Consumer<TaskRecord> action);
+    }
+
+    private static final class Tombstone {
+        static final Comparator<Tombstone> ORDER =
+                Comparator.comparingLong((Tombstone tombstone) -> tombstone.deletedOn).thenComparingLong(tombstone -> tombstone.taskId);
+
+        final long taskId;
+        final long deletedOn;
+
+        Tombstone(long taskId, long deletedOn) {
+            this.taskId = taskId;
+            this.deletedOn = deletedOn;
+        }
+    }
+
+    private final TaskStoreLog log;
+
+    // Guards the structures below; taken for writing only while a commit is applied
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Keeps log order and apply order the same, and snapshots out of the middle of a commit
+    private final ReentrantLock commitLock = new ReentrantLock();
+    // Held by a read-write transaction from begin to completion
+    private final ReentrantLock writerLock = new ReentrantLock();
+    // One snapshot at a time
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+    private final LongObjectMap<TaskRecord> tasks = new LongObjectMap<>(1 << 16);
+    private final Map<String, LongObjectMap<TaskRecord>> tasksByStatus = new HashMap<>();
+    private final TreeSet<TaskRecord> tasksByDueDate = new TreeSet<>(DUE_DATE_ORDER);
+    private final TreeSet<TaskRecord> tasksByLastUpdated = new TreeSet<>(LAST_UPDATED_ORDER);
+    private final LongObjectMap<Tombstone> tombstones = new LongObjectMap<>();
+    private final TreeSet<Tombstone> tombstonesByDeletedOn = new TreeSet<>(Tombstone.ORDER);
+    private final AtomicLong nextHistoryId = new AtomicLong(1);
+    private final LongObjectMap<List<TaskHistoryEntry>> history = new LongObjectMap<>(1 << 16);
+
+    public TaskStore(Path directory, boolean fsync) throws IOException {
+        this.log = new TaskStoreLog(directory, fsync);
+    }
+
+    /**
+     * Loads the newest snapshot and replays the logs written after it
+     */
+    public void open() throws IOException {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            TaskStoreLog.Snapshot<Void> snapshot = log.readSnapshot(this::loadSnapshot);
+            if (snapshot == null) {
+                clearState();
+            }
+            long batches = log.replay(snapshot != null ? snapshot.generation : 0, this::replayBatch);
+            logger.info("Task store opened with {} tasks from snapshot {} and {} logged commits in {} ms",
+                    tasks.size(), snapshot != null ? snapshot.generation : "none", batches,
+                    (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes a snapshot of the committed state and deletes the logs it replaces.
+     * Tombstones deleted before the cutoff are dropped first.
+     * @return the number of tasks in the snapshot
+     */
+    public int snapshot(LocalDateTime tombstoneCutoff) throws IOException {
+        snapshotLock.lock();
+        try {
+            long cutoff = TaskRecord.toMicros(tombstoneCutoff);
+            List<TaskRecord> records;
+            List<Tombstone> retained;
+            List<TaskHistoryEntry> historyEntries = new ArrayList<>();
+            long snapshotNextId;
+            long snapshotNextHistoryId;
+            long generation;
+            int purged = 0;
+
+            commitLock.lock();
+            try {
+                lock.writeLock().lock();
+                try {
+                    Tombstone first;
+                    while (!tombstonesByDeletedOn.isEmpty() && (first = tombstonesByDeletedOn.first()).deletedOn < cutoff) {
+                        tombstonesByDeletedOn.pollFirst();
+                        tombstones.remove(first.taskId);
+                        purged++;
+                    }
+                    // Records are immutable, so copying the references captures a consistent state
+                    records = tasks.values();
+                    retained = new ArrayList<>(tombstonesByDeletedOn);
+                    snapshotNextId = nextId.get();
+                    history.forEachValue(historyEntries::addAll);
+                    snapshotNextHistoryId = nextHistoryId.get();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                generation = log.rotate();
+            } finally {
+                commitLock.unlock();
+            }
+
+            // Commits go on into the new log while the snapshot is written
+            log.writeSnapshot(generation, out -> {
+                out.writeLong(snapshotNextId);
+                out.writeInt(records.size());
+                for (TaskRecord record : records) {
+                    record.writeTo(out);
+                }
+                out.writeInt(retained.size());
+                for (Tombstone tombstone : retained) {
+                    out.writeLong(tombstone.taskId);
+                    out.writeLong(tombstone.deletedOn);
+                }
+                out.writeLong(snapshotNextHistoryId);
+                out.writeInt(historyEntries.size());
+                for (TaskHistoryEntry entry : historyEntries) {
+                    writeHistory(out, entry);
+                }
+            });
+            logger.info("Task store snapshot {} written with {} tasks, {} expired tombstones purged",
+                    generation, records.size(), purged);
+            return records.size();
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * Bytes written to the current log since the last snapshot
+     */
+    public long logSize() throws IOException {
+        return log.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    // ---------------------------------------------------------------- transactions
+
+    TaskStoreTransaction begin(boolean readOnly) {
+        if (!readOnly) {
+            writerLock.lock();
+        }
+        return new TaskStoreTransaction(readOnly);
+    }
+
+    void commit(TaskStoreTransaction transaction) throws IOException {
+        if (!transaction.hasWrites()) {
+            return;
+        }
+
+        byte[] batch = encode(transaction);
+        commitLock.lock();
+        try {
+            log.append(batch);
+            lock.writeLock().lock();
+            try {
+                for (Map.Entry<Long, TaskRecord> write : transaction.writes.entrySet()) {
+                    if (write.getValue() != null) {
+                        applyPut(write.getValue());
+                    } else {
+                        applyDelete(write.getKey(), transaction.deletedOn.getOrDefault(write.getKey(), TaskRecord.NO_TIME));
+                    }
+                }
+                for (TaskHistoryEntry entry : transaction.history) {
+                    applyHistory(entry);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    void end(TaskStoreTransaction transaction) {
+        if (!transaction.readOnly) {
+            writerLock.unlock();
+        }
+    }
+
+    private TaskStoreTransaction currentTransaction() {
+        return (TaskStoreTransaction) TransactionSynchronizationManager.getResource(this);
+    }
+
+    /**
+     * Runs the write in the current transaction, or commits it on its own when there is none
+     */
+    private <T> T write(Function<TaskStoreTransaction, T> work) {
+        TaskStoreTransaction transaction = currentTransaction();
+        if (transaction != null) {
+            if (transaction.readOnly) {
+                throw new IllegalStateException("Task store write in a read-only transaction");
+            }
+            return work.apply(transaction);
+        }
+
+        transaction = begin(false);
+        try {
+            T result = work.apply(transaction);
+            commit(transaction);
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to commit to the task store", e);
+        } finally {
+            end(transaction);
+        }
+    }
+
+    // ---------------------------------------------------------------- writes
+
+    /**
+     * Assigns the next id to the task and stores it
+     */
+    public Task insert(Task task) {
+        return write(transaction -> {
+            task.prePersist();
+            task.setId(nextId.getAndIncrement());
+            transaction.writes.put(task.getId(), TaskRecord.of(task, this::intern));
+            return task;
+        });
+    }
+
+    /**
+     * Replaces an existing task
+     * @return false if there is no task with the id
+     */
+    public boolean update(Task task) {
+        return write(transaction -> {
+            if (visible(transaction, task.getId()) == null) {
+                return false;
+            }
+            if (task.getLastUpdatedBy() == null) {
+                task.setLastUpdatedBy("system");
+            }
+            transaction.writes.put(task.getId(), TaskRecord.of(task, this::intern));
+            return true;
+        });
+    }
+
+    /**
+     * Deletes the task and records a tombstone for delta sync
+     * @return false if there is no task with the id
+     */
+    public boolean delete(long taskId, LocalDateTime deletedOn) {
+        return write(transaction -> {
+            if (visible(transaction, taskId) == null) {
+                return false;
+            }
+            transaction.writes.put(taskId, null);
+            transaction.deletedOn.put(taskId, TaskRecord.toMicros(deletedOn));
+            return true;
+        });
+    }
+
+    /**
+     * Sets status and audit fields of the given tasks; unknown ids are skipped
+     * @return the number of tasks changed
+     */
+    public int updateStatus(Collection<Long> taskIds, String status, LocalDateTime updatedOn, String updatedBy) {
+        long updatedOnMicros = TaskRecord.toMicros(updatedOn);
+        String internedStatus = intern(status);
+        String internedUpdatedBy = intern(updatedBy);
+        return write(transaction -> {
+            int updated = 0;
+            for (Long taskId : taskIds) {
+                TaskRecord record = visible(transaction, taskId);
+                if (record != null) {
+                    transaction.writes.put(taskId, record.withStatus(internedStatus, updatedOnMicros, internedUpdatedBy));
+                    updated++;
+                }
+            }
+            return updated;
+        });
+    }
+
+    @Override
+    public void insertAll(List<TaskHistoryEntry> entries) {
+        write(transaction -> {
+            for (TaskHistoryEntry entry : entries) {
+                transaction.history.add(internHistory(entry).withId(nextHistoryId.getAndIncrement()));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public int insertForTasks(Collection<Long> taskIds, TaskHistoryEntry entry) {
+        TaskHistoryEntry interned = internHistory(entry);
+        return write(transaction -> {
+            int inserted = 0;
+            for (Long taskId : taskIds) {
+                if (visible(transaction, taskId) != null) {
+                    transaction.history.add(interned.forTask(taskId).withId(nextHistoryId.getAndIncrement()));
+                    inserted++;
+                }
+            }
+            return inserted;
+        });
+    }
+
+    // ---------------------------------------------------------------- reads
+
+    public Optional<Task> findById(long taskId) {
+        TaskRecord record = visible(currentTransaction(), taskId);
+        return Optional.ofNullable(record != null ? record.toTask() : null);
+    }
+
+    /**
+     * @return the tasks of the given ids that exist, in id order
+     */
+    public List<Task> findAllById(Collection<Long> taskIds) {
+        TaskStoreTransaction transaction = currentTransaction();
+        List<TaskRecord> records = new ArrayList<>(taskIds.size());
+        for (Long taskId : new HashSet<>(taskIds)) {
+            TaskRecord record = visible(transaction, taskId);
+            if (record != null) {
+                records.add(record);
+            }
+        }
+        records.sort(ID_ORDER);
+        return toTasks(records);
+    }
+
+    public long count() {
+        TaskStoreTransaction transaction = currentTransaction();
+        if (transaction == null || !transaction.hasWrites()) {
+            lock.readLock().lock();
+            try {
+                return tasks.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        return select(allTasks(), record -> true, null, Integer.MAX_VALUE).size();
+    }
+
+    /**
+     * Tasks matching an optional case-insensitive title substring and an optional status, in id order
+     */
+    public List<Task> findByTitleAndStatus(String title, String status) {
+        return toTasks(select(source(status), filter(title, status), ID_ORDER, Integer.MAX_VALUE));
+    }
+
+    public List<Long> findIdsByTitleAndStatus(String title, String status) {
+        return toIds(select(source(status), filter(title, status), ID_ORDER, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Same as {@link #findByTitleAndStatus} for exports; the matches are collected up front
+     */
+    public Stream<Task> streamByTitleAndStatus(String title, String status) {
+        return select(source(status), filter(title, status), ID_ORDER, Integer.MAX_VALUE).stream()
+                .map(TaskRecord::toTask);
+    }
+
+    /**
+     * Tasks whose normalized title starts with the normalized prefix, ordered by normalized title and id
+     */
+    public List<Task> findByTitlePrefix(String prefix, String status) {
+        Predicate<TaskRecord> filter = filter(null, status);
+        Comparator<TaskRecord> titleOrder = Comparator.comparing((TaskRecord record) -> Task.normalizeTitle(record.title()))
+                .thenComparingLong(record -> record.id);
+        return toTasks(select(source(status), filter.and(record -> Task.normalizeTitle(record.title()).startsWith(prefix)),
+                titleOrder, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Keyset page in the same order as the JPA repository: keys with nulls last, then the id in the
+     * direction of the last key. A page sorted by due date or last update alone is read from that index.
+     */
+    public List<Task> findPageAfter(List<TaskSortOrder> sort, List<Object> afterValues, Long afterId, int limit) {
+        TaskRecord cursor = afterId != null ? cursor(sort, afterValues, afterId) : null;
+        TaskStoreTransaction transaction = currentTransaction();
+        if (sort.size() == 1 && (transaction == null || !transaction.hasWrites())) {
+            TaskSortOrder order = sort.get(0);
+            if (order.getField() == TaskSortField.DUE_DATE) {
+                return toTasks(indexedPage(tasksByDueDate, true, order.isDescending(), cursor, limit));
+            }
+            if (order.getField() == TaskSortField.LAST_UPDATED_ON) {
+                return toTasks(indexedPage(tasksByLastUpdated, false, order.isDescending(), cursor, limit));
+            }
+        }
+
+        Predicate<TaskRecord> filter = cursor != null ? record -> comparePage(sort, record, cursor) > 0 : record -> true;
+        return toTasks(select(allTasks(), filter, (left, right) -> comparePage(sort, left, right), limit));
+    }
+
+    /**
+     * Reads a page from a (key, id) index in either direction; with a nullable key, the tasks
+     * without one follow in id order
+     */
+    private List<TaskRecord> indexedPage(NavigableSet<TaskRecord> index, boolean nullable, boolean descending,
+                                         TaskRecord cursor, int limit) {
+        List<TaskRecord> page = new ArrayList<>(limit);
+        boolean cursorPastIndex = nullable && cursor != null && !cursor.hasDueDate();
+        if (!cursorPastIndex) {
+            lock.readLock().lock();
+            try {
+                NavigableSet<TaskRecord> range = descending ? index.descendingSet() : index;
+                for (TaskRecord record : cursor != null ? range.tailSet(cursor, false) : range) {
+                    if (page.size() == limit) {
+                        break;
+                    }
+                    page.add(record);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        if (nullable && page.size() < limit) {
+            long afterId = cursorPastIndex ? cursor.id : descending ? Long.MAX_VALUE : Long.MIN_VALUE;
+            Predicate<TaskRecord> unindexed = descending
+                    ? record -> !record.hasDueDate() && record.id < afterId
+                    : record -> !record.hasDueDate() && record.id > afterId;
+            page.addAll(select(allTasks(), unindexed, descending ? ID_ORDER.reversed() : ID_ORDER, limit - page.size()));
+        }
+        return page;
+    }
+
+    /**
+     * Probe record holding the sort key values of a keyset cursor
+     */
+    private static TaskRecord cursor(List<TaskSortOrder> sort, List<Object> afterValues, long afterId) {
+        long dueDate = TaskRecord.NO_TIME;
+        long createdOn = TaskRecord.NO_TIME;
+        long lastUpdatedOn = TaskRecord.NO_TIME;
+        String status = null;
+        for (int i = 0; i < sort.size(); i++) {
+            Object value = afterValues.get(i);
+            switch (sort.get(i).getField()) {
+                case DUE_DATE:
+                    dueDate = TaskRecord.toMicros((LocalDateTime) value);
+                    break;
+                case CREATED_ON:
+                    createdOn = TaskRecord.toMicros((LocalDateTime) value);
+                    break;
+                case LAST_UPDATED_ON:
+                    lastUpdatedOn = TaskRecord.toMicros((LocalDateTime) value);
+                    break;
+                default:
+                    status = (String) value;
+            }
+        }
+        return TaskRecord.probe(afterId, dueDate, createdOn, lastUpdatedOn, status);
+    }
+
+    /**
+     * Tasks changed after a sync position, in (lastUpdatedOn, id) order
+     */
+    public List<Task> findChangedAfter(LocalDateTime since, long afterId, int limit) {
+        TaskRecord position = TaskRecord.probe(afterId, TaskRecord.NO_TIME, TaskRecord.NO_TIME, TaskRecord.toMicros(since), null);
+        TaskStoreTransaction transaction = currentTransaction();
+        if (transaction != null && transaction.hasWrites()) {
+            return toTasks(select(allTasks(), record -> LAST_UPDATED_ORDER.compare(record, position) > 0,
+                    LAST_UPDATED_ORDER, limit));
+        }
+
+        List<TaskRecord> records = new ArrayList<>(Math.min(limit, 1024));
+        lock.readLock().lock();
+        try {
+            for (TaskRecord record : tasksByLastUpdated.tailSet(position, false)) {
+                if (records.size() == limit) {
+                    break;
+                }
+                records.add(record);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return toTasks(records);
+    }
+
+    /**
+     * Committed deletions after a sync position, in (deletedOn, taskId) order
+     */
+    public List<TaskTombstone> findDeletedAfter(LocalDateTime since, long afterId, int limit) {
+        List<TaskTombstone> deleted = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Tombstone tombstone : tombstonesByDeletedOn.tailSet(new Tombstone(afterId, TaskRecord.toMicros(since)), false)) {
+                if (deleted.size() == limit) {
+                    break;
+                }
+                TaskTombstone taskTombstone = new TaskTombstone();
+                taskTombstone.setTaskId(tombstone.taskId);
+                taskTombstone.setDeletedOn(TaskRecord.toDateTime(tombstone.deletedOn));
+                deleted.add(taskTombstone);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return deleted;
+    }
+
+    /**
+     * Ids of the given tasks that are due by now and not in one of the excluded statuses. Read-write
+     * transactions run one at a time, so the result holds until the caller's transaction ends.
+     */
+    public List<Long> findDueIds(Collection<Long> taskIds, LocalDateTime now, Collection<String> excludedStatuses) {
+        TaskStoreTransaction transaction = currentTransaction();
+        long nowMicros = TaskRecord.toMicros(now);
+        List<Long> dueIds = new ArrayList<>();
+        for (Long taskId : taskIds) {
+            TaskRecord record = visible(transaction, taskId);
+            if (record != null && record.hasDueDate() && record.dueDate <= nowMicros
+                    && !excludedStatuses.contains(record.status)) {
+                dueIds.add(taskId);
+            }
+        }
+        return dueIds;
+    }
+
+    @Override
+    public Stream<Object[]> streamTitleEntries() {
+        return committedRecords().stream()
+                .map(record -> new Object[] {record.id, record.title(), record.status});
+    }
+
+    @Override
+    public Stream<Object[]> streamStatisticsEntries() {
+        return committedRecords().stream()
+                .map(record -> new Object[] {record.id, record.status, TaskRecord.toDateTime(record.dueDate)});
+    }
+
+    @Override
+    public List<TaskStatusCount> countByStatus(LocalDateTime now, LocalDateTime endOfToday, LocalDateTime endOfWeek) {
+        long nowMicros = TaskRecord.toMicros(now);
+        long endOfTodayMicros = TaskRecord.toMicros(endOfToday);
+        Map<String, long[]> counts = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, LongObjectMap<TaskRecord>> partition : tasksByStatus.entrySet()) {
+                counts.put(partition.getKey(), new long[] {partition.getValue().size(), 0, 0, 0});
+            }
+            // Range reads on the due date index instead of a pass over every task
+            TaskRecord nowPosition = TaskRecord.probe(Long.MIN_VALUE, nowMicros, TaskRecord.NO_TIME, TaskRecord.NO_TIME, null);
+            for (TaskRecord record : tasksByDueDate.headSet(nowPosition, false)) {
+                counts.get(record.status)[1]++;
+            }
+            TaskRecord endOfWeekPosition = TaskRecord.probe(Long.MIN_VALUE, TaskRecord.toMicros(endOfWeek),
+                    TaskRecord.NO_TIME, TaskRecord.NO_TIME, null);
+            for (TaskRecord record : tasksByDueDate.subSet(nowPosition, true, endOfWeekPosition, false)) {
+                long[] statusCounts = counts.get(record.status);
+                statusCounts[3]++;
+                if (record.dueDate < endOfTodayMicros) {
+                    statusCounts[2]++;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<TaskStatusCount> result = new ArrayList<>(counts.size());
+        counts.forEach((status, statusCounts) -> result.add(new TaskStatusCount(
+                status, statusCounts[0], statusCounts[1], statusCounts[2], statusCounts[3])));
+        return result;
+    }
+
+    @Override
+    public List<TaskHistoryEntry> findByTaskId(long taskId, Long beforeId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<TaskHistoryEntry> entries = history.get(taskId);
+            if (entries == null) {
+                return List.of();
+            }
+            // Entries are in id order; start below the cursor and walk back
+            int index = entries.size() - 1;
+            if (beforeId != null) {
+                int low = 0;
+                int high = entries.size();
+                while (low < high) {
+                    int middle = (low + high) >>> 1;
+                    if (entries.get(middle).getId() < beforeId) {
+                        low = middle + 1;
+                    } else {
+                        high = middle;
+                    }
+                }
+                index = low - 1;
+            }
+            List<TaskHistoryEntry> page = new ArrayList<>(Math.min(limit, index + 1));
+            for (; index >= 0 && page.size() < limit; index--) {
+                page.add(entries.get(index));
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------- query helpers
+
+    private TaskRecord visible(TaskStoreTransaction transaction, long taskId) {
+        if (transaction != null && transaction.writes.containsKey(taskId)) {
+            return transaction.writes.get(taskId);
+        }
+        lock.readLock().lock();
+        try {
+            return tasks.get(taskId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Matching records of the source, with the current transaction's writes in place of the committed
+     * versions. With an order, only the first limit records are kept while scanning.
+     */
+    private List<TaskRecord> select(RecordSource source, Predicate<TaskRecord> filter,
+                                    Comparator<TaskRecord> order, int limit) {
+        TaskStoreTransaction transaction = currentTransaction();
+        Map<Long, TaskRecord> writes = transaction != null ? transaction.writes : Map.of();
+        boolean bounded = order != null && limit != Integer.MAX_VALUE;
+        List<TaskRecord> matches = new ArrayList<>();
+        // Largest kept record at the head, so it is the one to evict
+        PriorityQueue<TaskRecord> top = bounded ? new PriorityQueue<>(limit + 1, order.reversed()) : null;
+        Consumer<TaskRecord> collector = record -> {
+            if (!filter.test(record)) {
+                return;
+            }
+            if (top == null) {
+                matches.add(record);
+            } else if (top.size() < limit || order.compare(record, top.peek()) < 0) {
+                top.add(record);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        };
+
+        lock.readLock().lock();
+        try {
+            source.forEach(record -> {
+                if (!writes.containsKey(record.id)) {
+                    collector.accept(record);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        for (TaskRecord written : writes.values()) {
+            if (written != null) {
+                collector.accept(written);
+            }
+        }
+
+        List<TaskRecord> result = top != null ? new ArrayList<>(top) : matches;
+        if (order != null) {
+            result.sort(order);
+        }
+        return result;
+    }
+
+    private RecordSource allTasks() {
+        return tasks::forEachValue;
+    }
+
+    /**
+     * The status partition when filtering by status, otherwise every task
+     */
+    private RecordSource source(String status) {
+        if (status == null) {
+            return allTasks();
+        }
+        return action -> {
+            LongObjectMap<TaskRecord> partition = tasksByStatus.get(status);
+            if (partition != null) {
+                partition.forEachValue(action);
+            }
+        };
+    }
+
+    private static Predicate<TaskRecord> filter(String title, String status) {
+        Predicate<TaskRecord> filter = record -> true;
+        if (status != null) {
+            filter = filter.and(record -> status.equals(record.status));
+        }
+        if (title != null) {
+            String term = title.toLowerCase(Locale.ROOT);
+            filter = filter.and(record -> record.titleContains(term));
+        }
+        return filter;
+    }
+
+    private List<TaskRecord> committedRecords() {
+        lock.readLock().lock();
+        try {
+            return tasks.values();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int comparePage(List<TaskSortOrder> sort, TaskRecord record, TaskRecord other) {
+        for (TaskSortOrder order : sort) {
+            int compared = compareKey(order, record, other);
+            if (compared != 0) {
+                return compared;
+            }
+        }
+        return compareIds(sort, record.id, other.id);
+    }
+
+    /**
+     * Compares one sort key without boxing it; nulls sort last in either direction
+     */
+    private static int compareKey(TaskSortOrder order, TaskRecord record, TaskRecord other) {
+        int compared;
+        if (order.getField() == TaskSortField.STATUS) {
+            if (record.status == null || other.status == null) {
+                return nullsLast(record.status == null, other.status == null);
+            }
+            compared = record.status.compareTo(other.status);
+        } else {
+            long value = record.timeValue(order.getField());
+            long otherValue = other.timeValue(order.getField());
+            if (value == TaskRecord.NO_TIME || otherValue == TaskRecord.NO_TIME) {
+                return nullsLast(value == TaskRecord.NO_TIME, otherValue == TaskRecord.NO_TIME);
+            }
+            compared = Long.compare(value, otherValue);
+        }
+        return order.isDescending() ? -compared : compared;
+    }
+
+    private static int nullsLast(boolean valueMissing, boolean otherMissing) {
+        return valueMissing == otherMissing ? 0 : valueMissing ? 1 : -1;
+    }
+
+    private static int compareIds(List<TaskSortOrder> sort, long id, long otherId) {
+        boolean idDescending = !sort.isEmpty() && sort.get(sort.size() - 1).isDescending();
+        return idDescending ? Long.compare(otherId, id) : Long.compare(id, otherId);
+    }
+
+    private static List<Task> toTasks(List<TaskRecord> records) {
+        List<Task> result = new ArrayList<>(records.size());
+        for (TaskRecord record : records) {
+            result.add(record.toTask());
+        }
+        return result;
+    }
+
+    private static List<Long> toIds(List<TaskRecord> records) {
+        return records.stream().map(record -> record.id).collect(Collectors.toList());
+    }
+
+    private TaskHistoryEntry internHistory(TaskHistoryEntry entry) {
+        return new TaskHistoryEntry(entry.getId(), entry.getTaskId(), intern(entry.getChange()), intern(entry.getField()),
+                entry.getOldValue(), entry.getNewValue(), entry.getChangedOn(), intern(entry.getChangedBy()));
+    }
+
+    private String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = strings.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    // ---------------------------------------------------------------- state changes, under the write lock
+
+    private void applyPut(TaskRecord record) {
+        TaskRecord previous = tasks.put(record.id, record);
+        if (previous != null) {
+            unindex(previous);
+        }
+        tasksByStatus.computeIfAbsent(record.status, status -> new LongObjectMap<>()).put(record.id, record);
+        if (record.hasDueDate()) {
+            tasksByDueDate.add(record);
+        }
+        tasksByLastUpdated.add(record);
+        nextId.accumulateAndGet(record.id + 1, Math::max);
+    }
+
+    private void applyDelete(long taskId, long deletedOn) {
+        TaskRecord previous = tasks.remove(taskId);
+        if (previous != null) {
+            unindex(previous);
+        }
+        if (deletedOn != TaskRecord.NO_TIME) {
+            addTombstone(new Tombstone(taskId, deletedOn));
+        }
+        nextId.accumulateAndGet(taskId + 1, Math::max);
+    }
+
+    private void applyHistory(TaskHistoryEntry entry) {
+        List<TaskHistoryEntry> entries = history.get(entry.getTaskId());
+        if (entries == null) {
+            entries = new ArrayList<>(4);
+            history.put(entry.getTaskId(), entries);
+        }
+        entries.add(entry);
+        nextHistoryId.accumulateAndGet(entry.getId() + 1, Math::max);
+    }
+
+    private void unindex(TaskRecord record) {
+        LongObjectMap<TaskRecord> partition = tasksByStatus.get(record.status);
+        partition.remove(record.id);
+        if (partition.size() == 0) {
+            tasksByStatus.remove(record.status);
+        }
+        if (record.hasDueDate()) {
+            tasksByDueDate.remove(record);
+        }
+        tasksByLastUpdated.remove(record);
+    }
+
+    private void addTombstone(Tombstone tombstone) {
+        Tombstone previous = tombstones.put(tombstone.taskId, tombstone);
+        if (previous != null) {
+            tombstonesByDeletedOn.remove(previous);
+        }
+        tombstonesByDeletedOn.add(tombstone);
+    }
+
+    private void clearState() {
+        tasks.clear();
+        tasksByStatus.clear();
+        tasksByDueDate.clear();
+        tasksByLastUpdated.clear();
+        tombstones.clear();
+        tombstonesByDeletedOn.clear();
+        history.clear();
+        nextId.set(1);
+        nextHistoryId.set(1);
+    }
+
+    // ---------------------------------------------------------------- log and snapshot formats
+
+    private static byte[] encode(TaskStoreTransaction transaction) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 * (transaction.writes.size() + transaction.history.size()));
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(transaction.writes.size() + transaction.history.size());
+        for (Map.Entry<Long, TaskRecord> write : transaction.writes.entrySet()) {
+            if (write.getValue() != null) {
+                out.writeByte(PUT);
+                write.getValue().writeTo(out);
+            } else {
+                out.writeByte(DELETE);
+                out.writeLong(write.getKey());
+                out.writeLong(transaction.deletedOn.getOrDefault(write.getKey(), TaskRecord.NO_TIME));
+            }
+        }
+        for (TaskHistoryEntry entry : transaction.history) {
+            out.writeByte(HISTORY);
+            writeHistory(out, entry);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private void replayBatch(DataInput in) throws IOException {
+        int entries = in.readInt();
+        for (int i = 0; i < entries; i++) {
+            byte type = in.readByte();
+            if (type == PUT) {
+                applyPut(TaskRecord.readFrom(in, this::intern));
+            } else if (type == DELETE) {
+                applyDelete(in.readLong(), in.readLong());
+            } else if (type == HISTORY) {
+                applyHistory(readHistory(in));
+            } else {
+                throw new IOException("Unknown task store log entry type " + type);
+            }
+        }
+    }
+
+    private Void loadSnapshot(DataInput in, int version) throws IOException {
+        // A snapshot that fails halfway leaves partial state behind, so each attempt starts empty
+        clearState();
+        long snapshotNextId = in.readLong();
+        int taskCount = in.readInt();
+        for (int i = 0; i < taskCount; i++) {
+            applyPut(TaskRecord.readFrom(in, this::intern));
+        }
+        int tombstoneCount = in.readInt();
+        for (int i = 0; i < tombstoneCount; i++) {
+            addTombstone(new Tombstone(in.readLong(), in.readLong()));
+        }
+        nextId.accumulateAndGet(snapshotNextId, Math::max);
+        if (version >= 2) {
+            long snapshotNextHistoryId = in.readLong();
+            int historyCount = in.readInt();
+            for (int i = 0; i < historyCount; i++) {
+                applyHistory(readHistory(in));
+            }
+            nextHistoryId.accumulateAndGet(snapshotNextHistoryId, Math::max);
+        }
+        return null;
+    }
+
+    private static void writeHistory(DataOutput out, TaskHistoryEntry entry) throws IOException {
+        out.writeLong(entry.getId());
+        out.writeLong(entry.getTaskId());
+        out.writeUTF(entry.getChange());
+        TaskRecord.writeString(out, entry.getField());
+        TaskRecord.writeString(out, entry.getOldValue());
+        TaskRecord.writeString(out, entry.getNewValue());
+        out.writeLong(TaskRecord.toMicros(entry.getChangedOn()));
+        TaskRecord.writeString(out, entry.getChangedBy());
+    }
+
+    private TaskHistoryEntry readHistory(DataInput in) throws IOException {
+        return new TaskHistoryEntry(in.readLong(), in.readLong(), intern(in.readUTF()), intern(TaskRecord.readString(in)),
+                TaskRecord.readString(in), TaskRecord.readString(in), TaskRecord.toDateTime(in.readLong()),
+                intern(TaskRecord.readString(in)));
+    }
+}
@@ -0,0 +1,353 @@
+package com.rohan.taskmanagement.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Files of the task store: numbered write-ahead logs and snapshots in one directory.
+ *
+ * Every commit is appended to the current log as one batch, framed as [length][crc32][payload], so a
+ * batch torn by a crash fails its checksum and is dropped as a whole. snapshot-N holds the state
+ * written by all logs before wal-N; once it is on disk, older logs and snapshots are deleted. Recovery
+ * loads the newest intact snapshot and replays the logs from its generation on.
+ */
+final class TaskStoreLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStoreLog.class);
+
+    private static final Pattern WAL_FILE = Pattern.compile("wal-(\\d+)\\.log");
+    private static final Pattern SNAPSHOT_FILE = Pattern.compile("snapshot-(\\d+)\\.dat");
+    private static final int SNAPSHOT_MAGIC = 0x54534E50;
+    // Version 2 added the task history; version 1 snapshots are still read
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final int BATCH_HEADER_BYTES = 8;
+
+    interface SnapshotParser<T> {
+        T parse(DataInput in, int version) throws IOException;
+    }
+
+    interface SnapshotWriter {
+        void write(DataOutput out) throws IOException;
+    }
+
+    interface BatchReader {
+        void read(DataInput in) throws IOException;
+    }
+
+    static final class Snapshot<T> {
+        final long generation;
+        final T state;
+
+        private Snapshot(long generation, T state) {
+            this.generation = generation;
+            this.state = state;
+        }
+    }
+
+    private final Path directory;
+    private final boolean fsync;
+    // Guards the current log; a lock rather than the monitor, so a virtual thread waiting for the fsync unmounts
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private FileChannel channel;
+    private long generation;
+    private boolean broken;
+
+    TaskStoreLog(Path directory, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+        // Left behind by a snapshot that was interrupted before it was moved into place
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the newest snapshot that reads back completely with a matching checksum,
+     *         or null when there is none
+     */
+    <T> Snapshot<T> readSnapshot(SnapshotParser<T> parser) throws IOException {
+        List<Long> generations = generations(SNAPSHOT_FILE);
+        for (int i = generations.size() - 1; i >= 0; i--) {
+            long snapshotGeneration = generations.get(i);
+            Path file = snapshotFile(snapshotGeneration);
+            try (FileChannel snapshotChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+                CRC32 crc = new CRC32();
+                DataInputStream in = new DataInputStream(new CheckedInputStream(
+                        new BufferedInputStream(Channels.newInputStream(snapshotChannel), 1 << 16), crc));
+                if (in.readInt() != SNAPSHOT_MAGIC) {
+                    throw new IOException("not a task store snapshot");
+                }
+                int version = in.readInt();
+                if (version < 1 || version > SNAPSHOT_VERSION) {
+                    throw new IOException("unsupported snapshot version " + version);
+                }
+                T state = parser.parse(in, version);
+                long expected = crc.getValue();
+                if (in.readLong() != expected) {
+                    throw new IOException("checksum mismatch");
+                }
+                return new Snapshot<>(snapshotGeneration, state);
+            } catch (IOException e) {
+                // Written to a temporary file and moved into place, so this is damage on disk; try the one before
+                logger.error("Skipping unreadable task store snapshot {}: {}", file, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replays every batch of the logs from the given generation on, then opens the newest log for appending.
+     * A torn batch at the end of the newest log is cut off; damage anywhere else fails recovery.
+     * @return the number of batches replayed
+     */
+    long replay(long fromGeneration, BatchReader reader) throws IOException {
+        List<Long> logs = new ArrayList<>();
+        for (long logGeneration : generations(WAL_FILE)) {
+            if (logGeneration >= fromGeneration) {
+                logs.add(logGeneration);
+            }
+        }
+
+        // Logs are only deleted once a snapshot covers them, so a gap means lost commits
+        long expected = Math.max(fromGeneration, 1);
+        for (long logGeneration : logs) {
+            if (logGeneration != expected++) {
+                throw new IOException("Task store log " + walFile(expected - 1) + " is missing");
+            }
+        }
+        if (logs.isEmpty() && fromGeneration > 0) {
+            throw new IOException("Task store log " + walFile(fromGeneration) + " is missing");
+        }
+
+        long batches = 0;
+        for (int i = 0; i < logs.size(); i++) {
+            boolean newest = i == logs.size() - 1;
+            Path file = walFile(logs.get(i));
+            try (FileChannel logChannel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long position = 0;
+                long size = logChannel.size();
+                ByteBuffer header = ByteBuffer.allocate(BATCH_HEADER_BYTES);
+                while (position < size) {
+                    byte[] payload = readBatch(logChannel, position, size, header);
+                    if (payload == null) {
+                        if (!newest) {
+                            throw new IOException("Task store log " + file + " is damaged at offset " + position);
+                        }
+                        logger.warn("Discarding incomplete commit at offset {} of {} ({} bytes)", position, file, size - position);
+                        logChannel.truncate(position);
+                        logChannel.force(true);
+                        break;
+                    }
+                    reader.read(new DataInputStream(new ByteArrayInputStream(payload)));
+                    position += BATCH_HEADER_BYTES + payload.length;
+                    batches++;
+                }
+            }
+        }
+
+        open(logs.isEmpty() ? Math.max(fromGeneration, 1) : logs.get(logs.size() - 1));
+        return batches;
+    }
+
+    /**
+     * Appends one committed batch. A failed write is cut off again so later batches stay readable;
+     * if even that fails, the log refuses further writes.
+     */
+    void append(byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer buffer = ByteBuffer.allocate(BATCH_HEADER_BYTES + payload.length);
+        buffer.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+
+        lock.lock();
+        try {
+            if (broken) {
+                throw new IOException("Task store log is unusable after an earlier write failure");
+            }
+
+            long position = channel.position();
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                if (fsync) {
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                try {
+                    channel.truncate(position);
+                    channel.position(position);
+                } catch (IOException truncateFailure) {
+                    broken = true;
+                    e.addSuppressed(truncateFailure);
+                }
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the current log and starts the next generation
+     * @return the new generation, the one the next snapshot is numbered with
+     */
+    long rotate() throws IOException {
+        lock.lock();
+        try {
+            channel.force(true);
+            channel.close();
+            open(generation + 1);
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes snapshot-N through a temporary file and, once it is on disk, deletes the logs and
+     * snapshots it replaces
+     */
+    void writeSnapshot(long snapshotGeneration, SnapshotWriter writer) throws IOException {
+        Path temporary = directory.resolve("snapshot-" + snapshotGeneration + ".tmp");
+        try (FileChannel snapshotChannel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CRC32 crc = new CRC32();
+            OutputStream buffered = new BufferedOutputStream(Channels.newOutputStream(snapshotChannel), 1 << 16);
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(buffered, crc));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            writer.write(out);
+            out.flush();
+            new DataOutputStream(buffered).writeLong(crc.getValue());
+            buffered.flush();
+            snapshotChannel.force(true);
+        }
+        Files.move(temporary, snapshotFile(snapshotGeneration), StandardCopyOption.ATOMIC_MOVE);
+
+        for (long logGeneration : generations(WAL_FILE)) {
+            if (logGeneration < snapshotGeneration) {
+                Files.deleteIfExists(walFile(logGeneration));
+            }
+        }
+        for (long older : generations(SNAPSHOT_FILE)) {
+            if (older < snapshotGeneration) {
+                Files.deleteIfExists(snapshotFile(older));
+            }
+        }
+    }
+
+    long size() throws IOException {
+        lock.lock();
+        try {
+            return channel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (channel != null && channel.isOpen()) {
+                channel.force(true);
+                channel.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void open(long logGeneration) throws IOException {
+        channel = FileChannel.open(walFile(logGeneration), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        generation = logGeneration;
+    }
+
+    /**
+     * @return the payload of the batch at the position, or null if it is incomplete or fails its checksum
+     */
+    private static byte[] readBatch(FileChannel logChannel, long position, long size, ByteBuffer header) throws IOException {
+        if (size - position < BATCH_HEADER_BYTES) {
+            return null;
+        }
+        header.clear();
+        readFully(logChannel, header, position);
+        header.flip();
+        int length = header.getInt();
+        int checksum = header.getInt();
+        if (length < 0 || length > size - position - BATCH_HEADER_BYTES) {
+            return null;
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        readFully(logChannel, payload, position + BATCH_HEADER_BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(payload.array());
+        return (int) crc.getValue() == checksum ? payload.array() : null;
+    }
+
+    private static void readFully(FileChannel logChannel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (logChannel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of task store log");
+            }
+        }
+    }
+
+    private List<Long> generations(Pattern pattern) throws IOException {
+        List<Long> generations = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = pattern.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    generations.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+        generations.sort(null);
+        return generations;
+    }
+
+    private Path walFile(long logGeneration) {
+        return directory.resolve(String.format("wal-%06d.log", logGeneration));
+    }
+
+    private Path snapshotFile(long snapshotGeneration) {
+        return directory.resolve(String.format("snapshot-%06d.dat", snapshotGeneration));
+    }
+}
@@ -0,0 +1,47 @@
+package com.rohan.taskmanagement.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Snapshots the task store once its log has grown, which bounds recovery time and disk use.
+ * Tombstones older than app.sync.tombstone-retention are dropped with each snapshot.
+ */
+@Component
+@Profile("memory")
+public class TaskStoreSnapshotter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStoreSnapshotter.class);
+
+    @Value("${app.store.snapshot-min-log-size:1MB}")
+    private DataSize minLogSize;
+
+    @Value("${app.sync.tombstone-retention:P30D}")
+    private Duration tombstoneRetention;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Scheduled(initialDelayString = "${app.store.snapshot-interval:PT5M}",
+               fixedDelayString = "${app.store.snapshot-interval:PT5M}")
+    public void snapshot() {
+        try {
+            if (taskStore.logSize() >= minLogSize.toBytes()) {
+                taskStore.snapshot(LocalDateTime.now().minus(tombstoneRetention));
+            }
+        } catch (IOException e) {
+            // The log still holds every commit, so nothing is lost; the next run tries again
+            logger.error("Task store snapshot failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.rohan.taskmanagement.store;
+
+import com.rohan.taskmanagement.model.TaskHistoryEntry;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uncommitted writes of one task store transaction. Reads inside the transaction see them on top
+ * of the committed state; commit logs and applies them as one batch, rollback drops them.
+ */
+final class TaskStoreTransaction {
+
+    final boolean readOnly;
+
+    // Latest uncommitted version per task id; null marks a deletion
+    final Map<Long, TaskRecord> writes = new LinkedHashMap<>();
+
+    // Deletion time per deleted task id, in epoch microseconds
+    final Map<Long, Long> deletedOn = new LinkedHashMap<>();
+
+    // History entries to append, with their ids already assigned
+    final List<TaskHistoryEntry> history = new ArrayList<>();
+
+    boolean rollbackOnly;
+
+    TaskStoreTransaction(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+
+    boolean hasWrites() {
+        return !writes.isEmpty() || !history.isEmpty();
+    }
+}
@@ -0,0 +1,93 @@
+package com.rohan.taskmanagement.store;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+
+/**
+ * Drives {@link TaskStore} transactions from @Transactional, so the service keeps its transaction
+ * boundaries and after-commit listeners fire as they do with JPA. Read-only transactions take no lock;
+ * read-write transactions run one at a time.
+ */
+public class TaskStoreTransactionManager extends AbstractPlatformTransactionManager {
+
+    private final TaskStore taskStore;
+
+    public TaskStoreTransactionManager(TaskStore taskStore) {
+        this.taskStore = taskStore;
+    }
+
+    private static final class TransactionObject implements SmartTransactionObject {
+        TaskStoreTransaction transaction;
+
+        @Override
+        public boolean isRollbackOnly() {
+            return transaction != null && transaction.rollbackOnly;
+        }
+
+        @Override
+        public void flush() {
+            // Writes only exist in memory until commit
+        }
+    }
+
+    @Override
+    protected Object doGetTransaction() {
+        TransactionObject transactionObject = new TransactionObject();
+        transactionObject.transaction = (TaskStoreTransaction) TransactionSynchronizationManager.getResource(taskStore);
+        return transactionObject;
+    }
+
+    @Override
+    protected boolean isExistingTransaction(Object transaction) {
+        return ((TransactionObject) transaction).transaction != null;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        TaskStoreTransaction storeTransaction = taskStore.begin(definition.isReadOnly());
+        ((TransactionObject) transaction).transaction = storeTransaction;
+        TransactionSynchronizationManager.bindResource(taskStore, storeTransaction);
+    }
+
+    @Override
+    protected Object doSuspend(Object transaction) {
+        ((TransactionObject) transaction).transaction = null;
+        return TransactionSynchronizationManager.unbindResource(taskStore);
+    }
+
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources) {
+        TransactionSynchronizationManager.bindResource(taskStore, suspendedResources);
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        try {
+            taskStore.commit(((TransactionObject) status.getTransaction()).transaction);
+        } catch (IOException e) {
+            throw new TransactionSystemException("Could not write task store commit", e);
+        }
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+        // Nothing was applied; the buffered writes are dropped with the transaction
+    }
+
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        ((TransactionObject) status.getTransaction()).transaction.rollbackOnly = true;
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        TransactionSynchronizationManager.unbindResource(taskStore);
+        taskStore.end(((TransactionObject) transaction).transaction);
+    }
+}
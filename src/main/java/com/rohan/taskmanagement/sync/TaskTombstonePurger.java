@@ -0,0 +1,53 @@
+package com.rohan.taskmanagement.sync;
+
+import com.rohan.taskmanagement.repository.TaskTombstoneRepository;
+import com.rohan.taskmanagement.shard.TaskShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Deletes the tombstones of tasks deleted more than app.sync.tombstone-retention ago.
+ * Delta syncs reject tokens older than the retention, so no client still needs them.
+ */
+@Component
+@Profile("!memory")
+public class TaskTombstonePurger {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskTombstonePurger.class);
+
+    @Value("${app.sync.tombstone-retention:P30D}")
+    private Duration tombstoneRetention;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskShards taskShards;
+
+    @Scheduled(initialDelayString = "${app.sync.purge-interval:PT1H}",
+               fixedDelayString = "${app.sync.purge-interval:PT1H}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(tombstoneRetention);
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        // Every shard keeps the tombstones of its own tasks
+        taskShards.forEachShard(shard -> {
+            Integer purged = template.execute(status -> taskTombstoneRepository.deleteDeletedBefore(cutoff));
+            if (purged != null && purged > 0) {
+                logger.info("Purged {} task tombstones older than {} on shard {}", purged, cutoff, shard);
+            }
+        });
+    }
+}
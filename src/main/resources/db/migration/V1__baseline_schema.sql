@@ -0,0 +1,25 @@
+-- Schema as created by Hibernate before migrations were introduced.
+-- Existing databases are baselined at version 1 (spring.flyway.baseline-on-migrate), so this only runs on empty ones.
+
+CREATE TABLE tasks (
+  id BIGINT NOT NULL,
+  title VARCHAR(255) NOT NULL,
+  description VARCHAR(1000),
+  due_date DATETIME(6),
+  status VARCHAR(255) NOT NULL,
+  remarks VARCHAR(500),
+  created_on DATETIME(6) NOT NULL,
+  last_updated_on DATETIME(6) NOT NULL,
+  created_by VARCHAR(255) NOT NULL,
+  last_updated_by VARCHAR(255) NOT NULL,
+  PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- Block allocator for task ids (see the @TableGenerator on Task); raised to MAX(id) + 1 by TaskIdSequenceConfig
+CREATE TABLE task_id_sequence (
+  sequence_name VARCHAR(255) NOT NULL,
+  next_val BIGINT,
+  PRIMARY KEY (sequence_name)
+) ENGINE=InnoDB;
+
+INSERT INTO task_id_sequence (sequence_name, next_val) VALUES ('tasks', 1);
@@ -0,0 +1,21 @@
+-- Indexes for the query shapes of TaskRepository.
+-- Keyset pages sort by a key plus the id tie-breaker, so those indexes carry the id explicitly
+-- (InnoDB appends it to every secondary index anyway; other databases need it spelled out).
+
+-- Lower-cased, trimmed title for index range scans on title prefixes (maintained by Task)
+ALTER TABLE tasks ADD COLUMN title_normalized VARCHAR(255);
+UPDATE tasks SET title_normalized = LOWER(TRIM(title));
+ALTER TABLE tasks MODIFY COLUMN title_normalized VARCHAR(255) NOT NULL;
+CREATE INDEX idx_tasks_title_normalized ON tasks (title_normalized);
+
+-- Status filters, status + title searches, and pages sorted by status
+CREATE INDEX idx_tasks_status ON tasks (status, id);
+-- Status filters combined with a due date range or order
+CREATE INDEX idx_tasks_status_due_date ON tasks (status, due_date);
+
+-- Pages sorted by creation or last update
+CREATE INDEX idx_tasks_created_on ON tasks (created_on, id);
+CREATE INDEX idx_tasks_last_updated_on ON tasks (last_updated_on, id);
+
+-- Tasks of a given creator
+CREATE INDEX idx_tasks_created_by ON tasks (created_by);
@@ -0,0 +1,10 @@
+-- Ids of deleted tasks, so delta syncs (GET /api/tasks/changes) can report deletions.
+-- Rows older than app.sync.tombstone-retention are purged; sync tokens older than that are rejected.
+CREATE TABLE task_tombstones (
+    task_id BIGINT NOT NULL,
+    deleted_on DATETIME(6) NOT NULL,
+    PRIMARY KEY (task_id)
+) ENGINE=InnoDB;
+
+-- Deletions after a sync position, in (deleted_on, task_id) order, and the retention purge
+CREATE INDEX idx_task_tombstones_deleted_on ON task_tombstones (deleted_on, task_id);
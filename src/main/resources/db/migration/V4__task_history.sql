@@ -0,0 +1,16 @@
+-- Field-level change history of tasks, written in batches after commit (GET /api/tasks/{id}/history).
+-- Rows are kept after their task is deleted, so there is no foreign key to tasks.
+CREATE TABLE task_history (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    task_id BIGINT NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    field_name VARCHAR(50),
+    old_value VARCHAR(1000),
+    new_value VARCHAR(1000),
+    changed_on DATETIME(6) NOT NULL,
+    changed_by VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- History of one task, newest first
+CREATE INDEX idx_task_history_task_id ON task_history (task_id, id);
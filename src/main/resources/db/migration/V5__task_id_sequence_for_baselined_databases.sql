@@ -0,0 +1,12 @@
+-- Databases created by Hibernate before the table id generator (AUTO_INCREMENT ids) are baselined at version 1,
+-- so V1 never created the generator table for them. Created here, starting above every existing task id.
+CREATE TABLE IF NOT EXISTS task_id_sequence (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (sequence_name)
+) ENGINE=InnoDB;
+
+-- The aggregate is taken in a derived table: on its own it returns a row even when the WHERE matches nothing
+INSERT INTO task_id_sequence (sequence_name, next_val)
+SELECT 'tasks', max_id.next_val FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM tasks) max_id
+WHERE NOT EXISTS (SELECT 1 FROM task_id_sequence WHERE sequence_name = 'tasks');
@@ -0,0 +1,82 @@
+package com.rohan.taskmanagement.benchmark;
+
+import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares insert throughput of one transaction per task (the POST /api/tasks path)
+ * with the batch create path against the embedded H2 database in MySQL mode.
+ * Opt-in, run with:
+ *   ./mvnw test -Dtest=TaskBatchInsertBenchmarkTest -Dbenchmark=true
+ * Add -Dspring.jpa.properties.hibernate.jdbc.batch_size=1 to measure the batch path without JDBC batching.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TaskBatchInsertBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskBatchInsertBenchmarkTest.class);
+
+    private static final int WARMUP_ROWS = 5_000;
+    private static final int ROWS = 20_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void compareInsertThroughput() {
+        insertOneByOne(WARMUP_ROWS);
+        insertInBatches(WARMUP_ROWS);
+
+        long start = System.nanoTime();
+        insertOneByOne(ROWS);
+        double singleRowsPerSecond = ROWS / ((System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        insertInBatches(ROWS);
+        double batchRowsPerSecond = ROWS / ((System.nanoTime() - start) / 1e9);
+
+        logger.info("Single-row creates: {} rows/sec", String.format("%.0f", singleRowsPerSecond));
+        logger.info("Batch creates ({} per request): {} rows/sec", BATCH_SIZE, String.format("%.0f", batchRowsPerSecond));
+    }
+
+    private void insertOneByOne(int rows) {
+        for (int i = 0; i < rows; i++) {
+            taskService.createTask(newTask(i));
+        }
+    }
+
+    private void insertInBatches(int rows) {
+        List<TaskDTO> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            batch.add(newTask(i));
+            if (batch.size() == BATCH_SIZE) {
+                taskService.createTasks(batch);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            taskService.createTasks(batch);
+        }
+    }
+
+    private static TaskDTO newTask(int i) {
+        TaskDTO task = new TaskDTO();
+        task.setTitle("Benchmark task " + i);
+        task.setDescription("Generated by TaskBatchInsertBenchmarkTest");
+        task.setStatus(i % 3 == 0 ? "DONE" : "TODO");
+        task.setDueDate(LocalDateTime.now().plusDays(i % 30));
+        task.setCreatedBy("benchmark");
+        return task;
+    }
+}
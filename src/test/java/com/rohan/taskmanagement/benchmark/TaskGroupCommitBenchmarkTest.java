@@ -0,0 +1,108 @@
+package com.rohan.taskmanagement.benchmark;
+
+import com.rohan.taskmanagement.TaskManagementApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares POST /api/tasks throughput with one transaction per request against group commit
+ * (app.ingest.enabled=true). The gain comes from sharing commits, so it is far larger on a database
+ * that syncs its log on commit; point it at MySQL with -Dbenchmark.datasource-url=... (plus
+ * -Dspring.datasource.driver-class-name, username and password) instead of the embedded H2 database.
+ * Opt-in, run with:
+ *   ./mvnw test -Dtest=TaskGroupCommitBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TaskGroupCommitBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskGroupCommitBenchmarkTest.class);
+
+    private static final int CLIENTS = 64;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration-seconds", 15));
+
+    @Test
+    void compareCommitModes() throws Exception {
+        double perRequest = run(false);
+        double groupCommit = run(true);
+
+        logger.info("Commit per request: {} creates/sec", String.format("%.0f", perRequest));
+        logger.info("Group commit:       {} creates/sec", String.format("%.0f", groupCommit));
+    }
+
+    private double run(boolean groupCommit) throws Exception {
+        String datasourceUrl = System.getProperty("benchmark.datasource-url",
+                "jdbc:h2:mem:group_commit_" + groupCommit + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagementApplication.class)
+                .profiles("prod")
+                .properties("server.port=0",
+                        "spring.datasource.url=" + datasourceUrl,
+                        "app.ingest.enabled=" + groupCommit,
+                        // Enough request threads to keep CLIENTS creates waiting on a shared commit
+                        "server.tomcat.threads.max=" + (CLIENTS * 2),
+                        // A create holds a connection while the table id generator takes a second one
+                        "spring.datasource.hikari.maximum-pool-size=" + (CLIENTS * 2))
+                .run();
+        try {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            drive(port, WARMUP);
+            return drive(port, DURATION) / (DURATION.toNanos() / 1e9);
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Creates tasks from CLIENTS threads and returns how many were created
+     */
+    private long drive(int port, Duration duration) throws InterruptedException {
+        URI uri = URI.create("http://localhost:" + port + "/api/tasks");
+        AtomicLong created = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (HttpClient httpClient = HttpClient.newHttpClient();
+             ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+            for (int c = 0; c < CLIENTS; c++) {
+                int client = c;
+                clients.submit(() -> {
+                    int i = 0;
+                    while (System.nanoTime() < deadline) {
+                        String body = "{\"title\":\"Ingested task " + client + "-" + i++ + "\",\"status\":\"TODO\"}";
+                        try {
+                            HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(uri)
+                                    .header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 201) {
+                                created.incrementAndGet();
+                            } else if (response.statusCode() == 429) {
+                                rejected.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            logger.warn("Request failed: {}", e.getMessage());
+                        }
+                    }
+                });
+            }
+        }
+        if (rejected.get() > 0) {
+            logger.info("{} creates rejected with 429", rejected.get());
+        }
+        return created.get();
+    }
+}
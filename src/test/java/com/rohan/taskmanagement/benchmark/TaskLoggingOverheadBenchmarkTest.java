@@ -0,0 +1,121 @@
+package com.rohan.taskmanagement.benchmark;
+
+import com.rohan.taskmanagement.TaskManagementApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares request throughput with the development logging of application.properties (show-sql,
+ * format_sql, SQL and application DEBUG logging, every request in the access log) against the
+ * 'prod' profile (no SQL tracing, INFO logging, sampled access log).
+ * Each client runs create, get, update and search against the embedded H2 database.
+ * Opt-in, run with:
+ *   ./mvnw test -Dtest=TaskLoggingOverheadBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TaskLoggingOverheadBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskLoggingOverheadBenchmarkTest.class);
+
+    private static final int CLIENTS = 8;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration-seconds", 15));
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    @Test
+    void compareLoggingConfigurations() throws Exception {
+        double development = run(new String[0],
+                "spring.jpa.show-sql=true",
+                "spring.jpa.properties.hibernate.format_sql=true",
+                "logging.level.org.springframework=INFO",
+                "logging.level.com.rohan.taskmanagement=DEBUG",
+                "logging.level.org.hibernate.SQL=DEBUG",
+                "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=TRACE",
+                "logging.level.com.rohan.taskmanagement.repository=TRACE");
+        double production = run(new String[]{"prod"});
+
+        logger.info("Development logging: {} operations/sec", String.format("%.0f", development));
+        logger.info("Production profile:  {} operations/sec", String.format("%.0f", production));
+    }
+
+    private double run(String[] profiles, String... properties) throws Exception {
+        List<String> allProperties = new ArrayList<>(List.of(properties));
+        allProperties.add("server.port=0");
+        allProperties.add("spring.datasource.url=jdbc:h2:mem:logging_" + profiles.length + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagementApplication.class)
+                .profiles(profiles)
+                .properties(allProperties.toArray(new String[0]))
+                .run();
+        try {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            drive(port, WARMUP);
+            return drive(port, DURATION) * 4 / (DURATION.toNanos() / 1e9);
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Runs create, get, update and search cycles from CLIENTS threads and returns the completed cycles
+     */
+    private long drive(int port, Duration duration) throws InterruptedException {
+        String baseUrl = "http://localhost:" + port + "/api/tasks";
+        AtomicLong cycles = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (HttpClient httpClient = HttpClient.newHttpClient();
+             ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+            for (int c = 0; c < CLIENTS; c++) {
+                int client = c;
+                clients.submit(() -> {
+                    int i = 0;
+                    while (System.nanoTime() < deadline) {
+                        String title = "Logging task " + client + "-" + i++;
+                        String body = "{\"title\":\"" + title + "\",\"description\":\"Benchmark description\",\"status\":\"TODO\"}";
+                        try {
+                            HttpResponse<String> created = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl))
+                                    .header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+                            Matcher matcher = ID.matcher(created.body());
+                            if (!matcher.find()) {
+                                continue;
+                            }
+                            String taskUrl = baseUrl + "/" + matcher.group(1);
+
+                            httpClient.send(HttpRequest.newBuilder(URI.create(taskUrl)).build(), HttpResponse.BodyHandlers.discarding());
+                            httpClient.send(HttpRequest.newBuilder(URI.create(taskUrl))
+                                    .header("Content-Type", "application/json")
+                                    .PUT(HttpRequest.BodyPublishers.ofString(body.replace("TODO", "IN_PROGRESS"))).build(),
+                                    HttpResponse.BodyHandlers.discarding());
+                            httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/search?status=IN_PROGRESS&title=" + client + "-" + i)).build(),
+                                    HttpResponse.BodyHandlers.discarding());
+                            cycles.incrementAndGet();
+                        } catch (Exception e) {
+                            logger.warn("Request failed: {}", e.getMessage());
+                        }
+                    }
+                });
+            }
+        }
+        return cycles.get();
+    }
+}
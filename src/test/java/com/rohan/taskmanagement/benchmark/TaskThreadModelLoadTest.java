@@ -0,0 +1,234 @@
+package com.rohan.taskmanagement.benchmark;
+
+import com.rohan.taskmanagement.TaskManagementApplication;
+import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares throughput and latency of GET /api/tasks/{id} under high concurrency with requests served
+ * by Tomcat's platform thread pool (default) and by virtual threads (the 'virtual' profile).
+ * The application is started once per model with the task cache disabled, so every request runs one
+ * SELECT, and each JDBC statement is delayed to stand in for the round trip to MySQL; an in-memory H2
+ * database would otherwise never block the request thread.
+ * Opt-in, run with:
+ *   ./mvnw test -Dtest=TaskThreadModelLoadTest -Dbenchmark=true
+ * Tune with -Dload.concurrency, -Dload.jdbc-latency-ms, -Dload.pool-size and -Dload.duration-seconds.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TaskThreadModelLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskThreadModelLoadTest.class);
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 1000);
+    private static final long JDBC_LATENCY_MS = Long.getLong("load.jdbc-latency-ms", 50);
+    private static final int POOL_SIZE = Integer.getInteger("load.pool-size", 400);
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration-seconds", 20));
+    private static final int TASKS = 1_000;
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        logger.info("{} concurrent clients, {} ms per JDBC statement, pool of {} connections, Tomcat threads.max=200",
+                CONCURRENCY, JDBC_LATENCY_MS, POOL_SIZE);
+        logger.info("Platform threads: {}", platform);
+        logger.info("Virtual threads:  {}", virtual);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagementApplication.class, JdbcLatencyConfig.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load_" + virtualThreads + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.datasource.hikari.connection-timeout=60000",
+                        "app.cache.tasks.enabled=false",
+                        "logging.level.com.rohan.taskmanagement=WARN")
+                .run();
+        try {
+            List<Long> taskIds = seed(context.getBean(TaskService.class));
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+            drive(port, taskIds, WARMUP);
+            return drive(port, taskIds, DURATION);
+        } finally {
+            context.close();
+        }
+    }
+
+    private List<Long> seed(TaskService taskService) {
+        List<TaskDTO> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            TaskDTO task = new TaskDTO();
+            task.setTitle("Load task " + i);
+            task.setStatus("TODO");
+            task.setCreatedBy("benchmark");
+            tasks.add(task);
+        }
+
+        List<Long> taskIds = new ArrayList<>(TASKS);
+        taskService.createTasks(tasks).forEach(result -> taskIds.add(result.getId()));
+        return taskIds;
+    }
+
+    /**
+     * Closed model: every client sends its next request as soon as the previous one completes
+     */
+    private Result drive(int port, List<Long> taskIds, Duration duration) throws InterruptedException {
+        ConcurrentLinkedQueue<long[]> latencies = new ConcurrentLinkedQueue<>();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        // Closing the client executor waits for every client, before the HTTP client itself is closed
+        try (HttpClient httpClient = HttpClient.newBuilder()
+                     .executor(Executors.newVirtualThreadPerTaskExecutor())
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCY; c++) {
+                clients.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        Long taskId = taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()));
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks/" + taskId)).build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - start;
+                    }
+                    latencies.add(Arrays.copyOf(samples, count));
+                });
+            }
+        }
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(all, errors.get(), duration);
+    }
+
+    private static final class Result {
+
+        private final double requestsPerSecond;
+        private final double p50Millis;
+        private final double p99Millis;
+        private final long errors;
+
+        Result(long[] sortedLatencies, long errors, Duration duration) {
+            this.requestsPerSecond = sortedLatencies.length / (duration.toNanos() / 1e9);
+            this.p50Millis = percentile(sortedLatencies, 0.50) / 1e6;
+            this.p99Millis = percentile(sortedLatencies, 0.99) / 1e6;
+            this.errors = errors;
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.0f req/sec, p50 %.1f ms, p99 %.1f ms, %d errors",
+                    requestsPerSecond, p50Millis, p99Millis, errors);
+        }
+    }
+
+    /**
+     * Delays every statement execution by JDBC_LATENCY_MS while the connection is held.
+     * Registered explicitly as an application source, deliberately not a scanned @Configuration.
+     */
+    static class JdbcLatencyConfig {
+
+        @Bean
+        static BeanPostProcessor jdbcLatencyPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                        return new DelegatingDataSource(dataSource) {
+                            @Override
+                            public Connection getConnection() throws SQLException {
+                                return delayed(super.getConnection());
+                            }
+                        };
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static Connection delayed(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof PreparedStatement statement) {
+                            return delayed(statement);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement delayed(PreparedStatement statement) {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("execute")) {
+                            Thread.sleep(JDBC_LATENCY_MS);
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.rohan.taskmanagement.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.rohan.taskmanagement.config.CacheConfig;
+import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.exception.ResourceNotFoundException;
+import com.rohan.taskmanagement.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Looks up tasks through the task cache, by both entry points, and before and after a task is deleted; unknown
+ * ids are kept as absent instead of failing their loads
+ */
+@SpringBootTest
+class TaskCacheTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void getTaskByIdReadsThroughTheCache() {
+        TaskDTO task = new TaskDTO();
+        task.setTitle("Read twice");
+        Long taskId = taskService.createTask(task).getId();
+
+        CacheStats before = stats();
+        assertEquals("Read twice", taskService.getTaskById(taskId).getTitle());
+        assertEquals("Read twice", taskService.getTaskById(taskId).getTitle());
+
+        CacheStats after = stats().minus(before);
+        assertEquals(1, after.loadSuccessCount());
+        assertEquals(1, after.hitCount());
+    }
+
+    @Test
+    void aDeletedTaskIsCachedAsAbsent() {
+        TaskDTO task = new TaskDTO();
+        task.setTitle("Cached then deleted");
+        Long taskId = taskService.createTask(task).getId();
+        assertEquals("Cached then deleted", taskService.findTaskById(taskId).orElseThrow().getTitle());
+
+        taskService.deleteTask(taskId);
+        CacheStats before = stats();
+        assertTrue(taskService.findTaskById(taskId).isEmpty());
+        assertTrue(taskService.findTaskById(taskId).isEmpty());
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskById(taskId));
+
+        CacheStats after = stats().minus(before);
+        assertEquals(1, after.loadSuccessCount());
+        assertEquals(0, after.loadFailureCount());
+        assertTrue(after.hitCount() >= 1);
+    }
+
+    private CacheStats stats() {
+        return ((CaffeineCache) cacheManager.getCache(CacheConfig.TASKS_CACHE)).getNativeCache().stats();
+    }
+}
@@ -0,0 +1,111 @@
+package com.rohan.taskmanagement.controller;
+
+import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.dto.TaskPageDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Validates list responses the way the controller does after reading them, and revalidates them with the ETag
+ * they were sent with
+ */
+class TaskConditionalRequestsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.parse("2026-10-17T14:05:09.114");
+
+    @Test
+    void aListIsNotModifiedUntilATaskInItChanges() {
+        List<TaskDTO> tasks = List.of(task(1L, NOW.minusHours(1)), task(2L, NOW));
+        String etag = etag(request -> TaskConditionalRequests.checkNotModified(request, tasks));
+
+        assertTrue(revalidate(etag, request -> TaskConditionalRequests.checkNotModified(request,
+                List.of(task(1L, NOW.minusHours(1)), task(2L, NOW)))));
+        assertFalse(revalidate(etag, request -> TaskConditionalRequests.checkNotModified(request,
+                List.of(task(1L, NOW.plusSeconds(1)), task(2L, NOW)))));
+        assertFalse(revalidate(etag, request -> TaskConditionalRequests.checkNotModified(request,
+                List.of(task(2L, NOW)))));
+    }
+
+    @Test
+    void sparseRowsAreValidatedByTheirContent() {
+        List<Map<String, Object>> rows = List.of(row(1L, "TODO"), row(2L, "DONE"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(TaskConditionalRequests.checkNotModified(webRequest(null, response), rows));
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+
+        assertTrue(revalidate(etag, request -> TaskConditionalRequests.checkNotModified(request,
+                List.of(row(1L, "TODO"), row(2L, "DONE")))));
+        assertFalse(revalidate(etag, request -> TaskConditionalRequests.checkNotModified(request,
+                List.of(row(1L, "DONE"), row(2L, "DONE")))));
+    }
+
+    @Test
+    void aPageChangesWhenATaskFollowsIt() {
+        List<TaskDTO> items = List.of(task(1L, NOW), task(2L, NOW));
+        String etag = etag(request -> TaskConditionalRequests.checkNotModified(request,
+                new TaskPageDTO(items, null, false, 2, "id")));
+
+        assertTrue(revalidate(etag, request -> TaskConditionalRequests.checkNotModified(request,
+                new TaskPageDTO(items, null, false, 2, "id"))));
+        assertFalse(revalidate(etag, request -> TaskConditionalRequests.checkNotModified(request,
+                new TaskPageDTO(items, "cursor", true, 2, "id"))));
+    }
+
+    private static String etag(Predicate<ServletWebRequest> check) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(check.test(webRequest(null, response)));
+        assertEquals("no-cache", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private static boolean revalidate(String etag, Predicate<ServletWebRequest> check) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean notModified = check.test(webRequest(etag, response));
+        assertEquals(notModified ? 304 : 200, response.getStatus());
+        return notModified;
+    }
+
+    private static ServletWebRequest webRequest(String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.setQueryString("fields=id,status");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, response);
+    }
+
+    private static TaskDTO task(Long id, LocalDateTime lastUpdatedOn) {
+        TaskDTO task = new TaskDTO();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setLastUpdatedOn(lastUpdatedOn);
+        return task;
+    }
+
+    private static Map<String, Object> row(Long id, String status) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("status", status);
+        return row;
+    }
+}
@@ -0,0 +1,137 @@
+package com.rohan.taskmanagement.datasource;
+
+import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.exception.ResourceNotFoundException;
+import com.rohan.taskmanagement.service.TaskService;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the application against two embedded databases standing in for the primary and the replica. Nothing
+ * replicates between them, so which one answered a read shows in its result: a task that only exists in the
+ * replica is found through the replica and missing on the primary.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.url=jdbc:h2:mem:task_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.max-lag=PT0.5S",
+        "app.cache.tasks.enabled=false"
+})
+class ReadReplicaRoutingTest {
+
+    private static final long REPLICA_ONLY_ID = 1_000_000L;
+    private static final long MAX_LAG_MILLIS = 500;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ReadYourWritesFilter readYourWritesFilter;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @BeforeEach
+    void setUpReplica() {
+        // A real replica gets its schema and rows from the primary
+        Flyway.configure().dataSource(replicaDataSource).load().migrate();
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.update("DELETE FROM tasks WHERE id = ?", REPLICA_ONLY_ID);
+        LocalDateTime now = LocalDateTime.now();
+        replica.update("INSERT INTO tasks (id, title, title_normalized, status, created_on, last_updated_on, created_by, "
+                        + "last_updated_by) VALUES (?, 'Replica only', 'replica only', 'TODO', ?, ?, 'test', 'test')",
+                REPLICA_ONLY_ID, now, now);
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() throws InterruptedException {
+        Thread.sleep(MAX_LAG_MILLIS * 2);
+
+        assertEquals("Replica only", taskService.getTaskById(REPLICA_ONLY_ID).getTitle());
+        assertTrue(taskService.getAllTasks().stream().anyMatch(task -> task.getId() == REPLICA_ONLY_ID));
+    }
+
+    @Test
+    void writesGoToThePrimaryAndAreReadBackWithinTheLagWindow() throws InterruptedException {
+        TaskDTO task = new TaskDTO();
+        task.setTitle("Written to the primary");
+        Long taskId = taskService.createTask(task).getId();
+
+        assertEquals(1, new JdbcTemplate(primaryDataSource).queryForObject(
+                "SELECT COUNT(*) FROM tasks WHERE id = ?", Integer.class, taskId));
+
+        // Right after the write every read is answered by the primary
+        assertEquals("Written to the primary", taskService.getTaskById(taskId).getTitle());
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskById(REPLICA_ONLY_ID));
+
+        // Once the lag window has passed, reads go back to the replica, which never received the task
+        Thread.sleep(MAX_LAG_MILLIS * 2);
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskById(taskId));
+        List<TaskDTO> replicaTasks = taskService.getAllTasks();
+        assertTrue(replicaTasks.stream().noneMatch(replicaTask -> replicaTask.getId().equals(taskId)));
+    }
+
+    @Test
+    void aClientsReadsFollowItsOwnLastWrite() throws Exception {
+        Thread.sleep(MAX_LAG_MILLIS * 2);
+
+        // The writing request hands its client the time of the write
+        AtomicReference<Long> createdId = new AtomicReference<>();
+        MockHttpServletResponse written = request(null, () -> {
+            TaskDTO task = new TaskDTO();
+            task.setTitle("Written by one client");
+            createdId.set(taskService.createTask(task).getId());
+        });
+        Cookie lastWrite = written.getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE);
+        assertNotNull(lastWrite);
+        Long taskId = createdId.get();
+
+        // The writer reads it back from the primary
+        request(lastWrite, () -> assertEquals("Written by one client", taskService.getTaskById(taskId).getTitle()));
+
+        // A client whose own last write is older reads the replica, though this instance just saw a write
+        Cookie olderWrite = new Cookie(ReadYourWritesFilter.LAST_WRITE_COOKIE,
+                Long.toString(System.currentTimeMillis() - MAX_LAG_MILLIS * 10));
+        request(olderWrite, () -> {
+            assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskById(taskId));
+            assertEquals("Replica only", taskService.getTaskById(REPLICA_ONLY_ID).getTitle());
+        });
+
+        // A client without the cookie falls back to the window of this instance
+        request(null, () -> assertEquals("Written by one client", taskService.getTaskById(taskId).getTitle()));
+    }
+
+    private MockHttpServletResponse request(Cookie cookie, Runnable work) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        if (cookie != null) {
+            request.setCookies(cookie);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        readYourWritesFilter.doFilter(request, response, (filteredRequest, filteredResponse) -> work.run());
+        return response;
+    }
+}
@@ -0,0 +1,188 @@
+package com.rohan.taskmanagement.feed;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rohan.taskmanagement.dto.TaskEventDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Reconnects to GET /api/tasks/events with a Last-Event-ID that is still buffered, one the ring has
+ * wrapped past, and one issued before a restart. The ring only holds four events here.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.events.buffer-size=4")
+class TaskEventFeedTest {
+
+    private static final int BUFFER_SIZE = 4;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskEventFeed taskEventFeed;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<EventStream> streams = new ArrayList<>();
+
+    private record Message(String id, String type, Long taskId) {
+    }
+
+    @AfterEach
+    void tearDown() {
+        streams.forEach(EventStream::close);
+    }
+
+    @Test
+    void resumesAfterTheLastEventIdWhileItIsBuffered() throws Exception {
+        EventStream live = open("unknown");
+        Message resync = live.next();
+        assertEquals(TaskEventDTO.RESYNC, resync.type());
+        long head = cursorOf(resync.id());
+
+        publish(1L);
+        publish(2L);
+        publish(3L);
+        Message first = live.next();
+        assertEquals(1L, first.taskId());
+        assertEquals(eventId(epochOf(resync.id()), head + 1), first.id());
+        live.next();
+        live.next();
+        live.close();
+
+        EventStream resumed = open(first.id());
+        assertEquals(new Message(eventId(epochOf(resync.id()), head + 2), TaskEventDTO.UPDATED, 2L), resumed.next());
+        assertEquals(new Message(eventId(epochOf(resync.id()), head + 3), TaskEventDTO.UPDATED, 3L), resumed.next());
+        publish(4L);
+        assertEquals(4L, resumed.next().taskId());
+    }
+
+    @Test
+    void sendsAResyncOnceTheRingWrappedPastTheLastEventId() throws Exception {
+        EventStream probe = open("unknown");
+        Message resync = probe.next();
+        probe.close();
+        String epoch = epochOf(resync.id());
+        long head = cursorOf(resync.id());
+
+        for (long taskId = 1; taskId <= BUFFER_SIZE + 1; taskId++) {
+            publish(taskId);
+        }
+
+        // The oldest event still buffered is after head + 1
+        EventStream oldest = open(eventId(epoch, head + 1));
+        for (long taskId = 2; taskId <= BUFFER_SIZE + 1; taskId++) {
+            assertEquals(taskId, oldest.next().taskId());
+        }
+
+        EventStream expired = open(eventId(epoch, head));
+        Message expiredResync = expired.next();
+        assertEquals(TaskEventDTO.RESYNC, expiredResync.type());
+        assertEquals(eventId(epoch, head + BUFFER_SIZE + 1), expiredResync.id());
+        publish(99L);
+        assertEquals(99L, expired.next().taskId());
+    }
+
+    @Test
+    void sendsAResyncForAnIdIssuedBeforeARestart() throws Exception {
+        EventStream probe = open("unknown");
+        Message resync = probe.next();
+        probe.close();
+        String previousEpoch = Long.toString(Long.parseLong(epochOf(resync.id()), 36) - 1, 36);
+
+        // A cursor that would be valid in the current epoch
+        EventStream stale = open(eventId(previousEpoch, cursorOf(resync.id())));
+        Message staleResync = stale.next();
+        assertEquals(TaskEventDTO.RESYNC, staleResync.type());
+        assertEquals(resync.id(), staleResync.id());
+    }
+
+    private void publish(Long taskId) {
+        TaskEventDTO event = new TaskEventDTO(TaskEventDTO.UPDATED, LocalDateTime.now());
+        event.setTaskId(taskId);
+        taskEventFeed.publish(event);
+    }
+
+    private EventStream open(String lastEventId) {
+        EventStream stream = new EventStream(lastEventId);
+        streams.add(stream);
+        return stream;
+    }
+
+    private static String eventId(String epoch, long cursor) {
+        return epoch + "-" + cursor;
+    }
+
+    private static String epochOf(String eventId) {
+        return eventId.substring(0, eventId.lastIndexOf('-'));
+    }
+
+    private static long cursorOf(String eventId) {
+        return Long.parseLong(eventId.substring(eventId.lastIndexOf('-') + 1));
+    }
+
+    /**
+     * Reads one event stream on a thread of its own, queueing its events as they arrive
+     */
+    private final class EventStream {
+        private final HttpClient client = HttpClient.newHttpClient();
+        private final BlockingQueue<Message> messages = new LinkedBlockingQueue<>();
+
+        private EventStream(String lastEventId) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks/events"))
+                    .header("Accept", "text/event-stream")
+                    .header("Last-Event-ID", lastEventId)
+                    .build();
+            Thread.ofVirtual().start(() -> read(request));
+        }
+
+        private Message next() throws InterruptedException {
+            Message message = messages.poll(10, TimeUnit.SECONDS);
+            assertNotNull(message, "No event received");
+            return message;
+        }
+
+        private void close() {
+            client.shutdownNow();
+        }
+
+        private void read(HttpRequest request) {
+            try (Stream<String> lines = client.send(request, HttpResponse.BodyHandlers.ofLines()).body()) {
+                String id = null;
+                for (String line : (Iterable<String>) lines::iterator) {
+                    if (line.startsWith("id:")) {
+                        id = line.substring(3);
+                    } else if (line.startsWith("data:")) {
+                        JsonNode data = objectMapper.readTree(line.substring(5));
+                        messages.add(new Message(id, data.get("type").asText(),
+                                data.hasNonNull("taskId") ? data.get("taskId").asLong() : null));
+                    }
+                }
+            } catch (IOException | UncheckedIOException | InterruptedException e) {
+                // Closed by the test
+            }
+        }
+    }
+}
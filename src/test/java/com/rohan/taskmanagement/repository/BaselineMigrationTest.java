@@ -0,0 +1,38 @@
+package com.rohan.taskmanagement.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Upgrades a database as the application created it before the migrations, with AUTO_INCREMENT task ids
+ * and no id generator table, the way spring.flyway.baseline-on-migrate does on first start
+ */
+class BaselineMigrationTest {
+
+    @Test
+    void baselinedDatabaseGetsAnIdSequenceAboveItsTasks() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:task_baselined;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE tasks (id BIGINT NOT NULL AUTO_INCREMENT, title VARCHAR(255) NOT NULL, "
+                + "description VARCHAR(1000), due_date DATETIME(6), status VARCHAR(255) NOT NULL, remarks VARCHAR(500), "
+                + "created_on DATETIME(6) NOT NULL, last_updated_on DATETIME(6) NOT NULL, "
+                + "created_by VARCHAR(255) NOT NULL, last_updated_by VARCHAR(255) NOT NULL, PRIMARY KEY (id))");
+        LocalDateTime now = LocalDateTime.now();
+        for (long id : new long[] {3, 41}) {
+            jdbcTemplate.update("INSERT INTO tasks (id, title, status, created_on, last_updated_on, created_by, last_updated_by) "
+                    + "VALUES (?, 'Old task', 'TODO', ?, ?, 'admin', 'admin')", id, now, now);
+        }
+
+        Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        assertEquals(42L, jdbcTemplate.queryForObject(
+                "SELECT next_val FROM task_id_sequence WHERE sequence_name = 'tasks'", Long.class));
+    }
+}
@@ -0,0 +1,362 @@
+package com.rohan.taskmanagement.repository;
+
+import com.rohan.taskmanagement.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every task and tombstone repository query against a seeded embedded database and checks the plan of each
+ * statement it executes with EXPLAIN, so a query shape without a supporting index fails the build.
+ * Statements are explained with their parameters inlined as literals. The datasource URLs set useCursorFetch=true,
+ * so Connector/J sends them to MySQL as server-side prepared statements with the values bound rather than inlined.
+ * MySQL keeps no plan between executions of a prepared statement and optimizes each one with its bound values, so
+ * optional filters like "(:status IS NULL OR ...)" are planned with the value known there as well.
+ * H2's planner stands in for MySQL's; both pick between the same indexes.
+ * Queries that have to read every row are listed in FULL_SCANS with the reason.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:task_explain;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+class TaskRepositoryExplainTest {
+
+    private static final int TASKS = 2_000;
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "DONE", "BLOCKED", "REVIEW"};
+
+    private static final String SUBSTRING = "substring match; searches use the trigram title index, this is the fallback while it loads";
+    private static final String NULLS_LAST = "due dates sort nulls last by an expression, which no index provides";
+    private static final String BACKWARD = "H2 does not read indexes backwards; MySQL reads the (key, id) index in reverse";
+
+    private static final Map<String, String> FULL_SCANS = Map.ofEntries(
+            Map.entry("findAll", "returns every task"),
+            Map.entry("streamTitleEntries", "loads the in-memory title index from every task"),
+            Map.entry("streamStatisticsEntries", "loads the in-memory statistics from every task"),
+            Map.entry("countByStatus", "counts every task, reading only the (status, due_date) index"),
+            Map.entry("streamByTitleAndStatus(all)", "unfiltered export of every task"),
+            Map.entry("findByTitleContainingIgnoreCase", SUBSTRING),
+            Map.entry("findFields(title)", SUBSTRING),
+            Map.entry("findIdsByTitleAndStatus(title)", "substring match for bulk updates by title"),
+            Map.entry("streamByTitleAndStatus(title)", "substring match, export filtered by title"),
+            Map.entry("findPageAfter(dueDate:asc,first)", NULLS_LAST),
+            Map.entry("findPageAfter(dueDate:asc,next)", NULLS_LAST),
+            Map.entry("findFieldPageAfter(dueDate:asc,next)", NULLS_LAST),
+            Map.entry("findPageAfter(dueDate:desc,first)", NULLS_LAST),
+            Map.entry("findPageAfter(dueDate:desc,next)", NULLS_LAST),
+            Map.entry("findFieldPageAfter(dueDate:desc,next)", NULLS_LAST),
+            Map.entry("findPageAfter(createdOn:desc,first)", BACKWARD),
+            Map.entry("findPageAfter(lastUpdatedOn:desc,first)", BACKWARD),
+            Map.entry("findPageAfter(status:desc,first)", BACKWARD));
+
+    // Table access in an H2 plan: "/* public.tasks.tableScan */", "/* public.idx_tasks_created_on */" (full index scan)
+    // or "/* public.idx_tasks_status_due_date: status = 'TODO' */" (index lookup or range)
+    private static final Pattern TABLE_ACCESS = Pattern.compile("/\\* ([\\w\".]+)(: [^*]*)? \\*/");
+
+    private static final List<Explained> statements = Collections.synchronizedList(new ArrayList<>());
+    private static volatile boolean recording;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<String, List<Explained>> plans = new LinkedHashMap<>();
+
+    @BeforeEach
+    void seed() {
+        if (taskRepository.count() > 0) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setStatus(STATUSES[i % STATUSES.length]);
+            task.setDueDate(i % 3 == 0 ? null : now.plusHours(i));
+            task.setCreatedOn(now.minusMinutes(i));
+            task.setLastUpdatedOn(now.minusMinutes(i));
+            task.setCreatedBy("user" + (i % 40));
+            task.setLastUpdatedBy("user" + (i % 40));
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void everyRepositoryQueryUsesAnIndex() {
+        Long id = taskRepository.findIdsByStatus("TODO").get(0);
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskField> fields = List.of(TaskField.values());
+
+        // Inherited CRUD methods used by the service
+        explain("findById", () -> taskRepository.findById(id));
+        explain("findAllById", () -> taskRepository.findAllById(List.of(id, id + 1)));
+        explain("findAll", () -> taskRepository.findAll());
+        explain("deleteAllByIdInBatch", () -> taskRepository.deleteAllByIdInBatch(List.of(-1L, -2L)));
+
+        explain("findByTitleContainingIgnoreCase", () -> taskRepository.findByTitleContainingIgnoreCase("task 1"));
+        explain("findByStatus", () -> taskRepository.findByStatus("DONE"));
+        explain("findByTitleContainingIgnoreCaseAndStatus", () -> taskRepository.findByTitleContainingIgnoreCaseAndStatus("task 1", "DONE"));
+        explain("findByTitlePrefix", () -> taskRepository.findByTitlePrefix("task 12"));
+        explain("findByTitlePrefixAndStatus", () -> taskRepository.findByTitlePrefixAndStatus("task 12", "DONE"));
+
+        explain("streamByTitleAndStatus(all)", () -> consume(() -> taskRepository.streamByTitleAndStatus(null, null).count()));
+        explain("streamByTitleAndStatus(status)", () -> consume(() -> taskRepository.streamByTitleAndStatus(null, "DONE").count()));
+        explain("streamByTitleAndStatus(title)", () -> consume(() -> taskRepository.streamByTitleAndStatus("task 1", null).count()));
+        explain("streamByTitleAndStatus(titleAndStatus)", () -> consume(() -> taskRepository.streamByTitleAndStatus("task 1", "DONE").count()));
+        explain("streamTitleEntries", () -> consume(() -> taskRepository.streamTitleEntries().count()));
+        explain("streamStatisticsEntries", () -> consume(() -> taskRepository.streamStatisticsEntries().count()));
+        explain("countByStatus", () -> taskRepository.countByStatus(now, now.plusDays(1), now.plusDays(7)));
+
+        explain("updateStatus", () -> transactionTemplate.executeWithoutResult(status ->
+                taskRepository.updateStatus(id, "TODO", now, "explain")));
+        explain("updateStatusByIds", () -> transactionTemplate.executeWithoutResult(status ->
+                taskRepository.updateStatusByIds(List.of(id, id + 1), "TODO", now, "explain")));
+        explain("lockDueIds", () -> transactionTemplate.executeWithoutResult(status ->
+                taskRepository.lockDueIds(List.of(id, id + 1), now, List.of("DONE", "OVERDUE"))));
+        explain("lockIdsByStatus", () -> transactionTemplate.executeWithoutResult(status ->
+                taskRepository.lockIdsByStatus(List.of(id, id + 1), "DONE")));
+        explain("findIdsByStatus", () -> taskRepository.findIdsByStatus("DONE"));
+        explain("findIdsByTitleAndStatus(title)", () -> taskRepository.findIdsByTitleAndStatus("task 1", null));
+        explain("findIdsByTitleAndStatus(titleAndStatus)", () -> taskRepository.findIdsByTitleAndStatus("task 1", "DONE"));
+
+        explain("findChangedAfter", () -> taskRepository.findChangedAfter(now.minusMinutes(30), id, Limit.of(21)));
+
+        explain("insertForTasks", () -> transactionTemplate.executeWithoutResult(status ->
+                taskTombstoneRepository.insertForTasks(List.of(-1L, -2L), now)));
+        explain("findDeletedAfter", () -> taskTombstoneRepository.findDeletedAfter(now.minusMinutes(30), id, Limit.of(21)));
+        explain("deleteDeletedBefore", () -> transactionTemplate.executeWithoutResult(status ->
+                taskTombstoneRepository.deleteDeletedBefore(now.minusDays(30))));
+
+        for (TaskSortField field : TaskSortField.values()) {
+            for (boolean descending : new boolean[]{false, true}) {
+                String variant = field.getAttribute() + (descending ? ":desc" : ":asc");
+                List<TaskSortOrder> sort = TaskSortOrder.parse(variant);
+                explain("findPageAfter(" + variant + ",first)", () -> taskRepository.findPageAfter(sort, List.of(), null, 21));
+                Task last = taskRepository.findPageAfter(sort, List.of(), null, 21).get(20);
+                List<Object> afterValues = new ArrayList<>();
+                afterValues.add(field.valueOf(last));
+                explain("findPageAfter(" + variant + ",next)", () -> taskRepository.findPageAfter(sort, afterValues, last.getId(), 21));
+                explain("findFieldPageAfter(" + variant + ",next)", () ->
+                        taskRepository.findFieldPageAfter(fields, sort, afterValues, last.getId(), 21));
+            }
+        }
+        explain("findPageAfter(id,first)", () -> taskRepository.findPageAfter(List.of(), List.of(), null, 21));
+        explain("findPageAfter(id,next)", () -> taskRepository.findPageAfter(List.of(), List.of(), id, 21));
+        explain("findFieldPageAfter(id,next)", () -> taskRepository.findFieldPageAfter(fields, List.of(), List.of(), id, 21));
+
+        explain("findFields(status)", () -> taskRepository.findFields(fields, null, "DONE"));
+        explain("findFields(title)", () -> taskRepository.findFields(fields, "task 1", null));
+        explain("findFields(titleAndStatus)", () -> taskRepository.findFields(fields, "task 1", "DONE"));
+        explain("findFieldsByIds", () -> taskRepository.findFieldsByIds(fields, List.of(id, id + 1)));
+
+        Set<String> exercised = plans.keySet().stream()
+                .map(label -> label.replaceAll("\\(.*", ""))
+                .collect(Collectors.toSet());
+        Set<String> missing = new TreeSet<>();
+        for (Class<?> repository : List.of(TaskRepository.class, TaskKeysetRepository.class, TaskProjectionRepository.class,
+                TaskTombstoneRepository.class)) {
+            for (Method method : repository.getDeclaredMethods()) {
+                if (!Modifier.isStatic(method.getModifiers()) && !exercised.contains(method.getName())) {
+                    missing.add(method.getName());
+                }
+            }
+        }
+        assertEquals(Set.of(), missing, "Repository queries without an EXPLAIN check");
+
+        Map<String, String> fullScans = new TreeMap<>();
+        plans.forEach((label, explained) -> {
+            assertFalse(explained.isEmpty(), label + " executed no statement");
+            for (Explained statement : explained) {
+                if (isFullScan(statement.plan) && !FULL_SCANS.containsKey(label)) {
+                    fullScans.put(label, statement.plan);
+                }
+            }
+        });
+        assertEquals(Map.of(), fullScans, "Queries reading every task; add an index or list them in FULL_SCANS");
+        assertTrue(plans.keySet().containsAll(FULL_SCANS.keySet()), "FULL_SCANS lists queries that are not checked");
+    }
+
+    /**
+     * A table or index read without a lookup condition, unless it stops after the first rows of an index in sort order
+     */
+    private static boolean isFullScan(String plan) {
+        Matcher matcher = TABLE_ACCESS.matcher(plan);
+        while (matcher.find()) {
+            if (matcher.group(2) == null && !(plan.contains("/* index sorted */") && plan.contains("FETCH FIRST"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void explain(String label, Runnable query) {
+        statements.clear();
+        recording = true;
+        try {
+            query.run();
+        } finally {
+            recording = false;
+        }
+        plans.put(label, new ArrayList<>(statements));
+    }
+
+    private void consume(Runnable streamQuery) {
+        transactionTemplate.executeWithoutResult(status -> streamQuery.run());
+    }
+
+    private record Explained(String sql, String plan) {
+    }
+
+    /**
+     * Explains every SELECT, UPDATE and DELETE on the connection that runs it, while recording.
+     * Picked up by @SpringBootTest as a nested test configuration.
+     */
+    @TestConfiguration
+    static class ExplainConfig {
+
+        @Bean
+        static BeanPostProcessor explainingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                        return new DelegatingDataSource(dataSource) {
+                            @Override
+                            public Connection getConnection() throws SQLException {
+                                return explaining(super.getConnection());
+                            }
+                        };
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static Connection explaining(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                            return explaining(connection, statement, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement explaining(Connection connection, PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            parameters.put(index, name.equals("setNull") ? null : args[1]);
+                        } else if (name.equals("clearParameters")) {
+                            parameters.clear();
+                        } else if (recording && name.startsWith("execute") && !name.equals("executeBatch") && isExplainable(sql)) {
+                            statements.add(new Explained(sql, explain(connection, inline(sql, parameters))));
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static boolean isExplainable(String sql) {
+            String keyword = sql.stripLeading().toLowerCase(Locale.ROOT);
+            return keyword.startsWith("select") || keyword.startsWith("update") || keyword.startsWith("delete")
+                    || (keyword.startsWith("insert") && keyword.contains(" select "));
+        }
+
+        private static String explain(Connection connection, String sql) throws SQLException {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet plan = explain.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        }
+
+        /**
+         * Replaces each "?" outside string literals with the bound value as a SQL literal
+         */
+        private static String inline(String sql, Map<Integer, Object> parameters) {
+            StringBuilder inlined = new StringBuilder(sql.length() + 64);
+            boolean inLiteral = false;
+            int index = 0;
+            for (char c : sql.toCharArray()) {
+                if (c == '\'') {
+                    inLiteral = !inLiteral;
+                }
+                if (c == '?' && !inLiteral) {
+                    inlined.append(literal(parameters.get(++index)));
+                } else {
+                    inlined.append(c);
+                }
+            }
+            return inlined.toString();
+        }
+
+        private static String literal(Object value) {
+            if (value == null) {
+                return "NULL";
+            }
+            if (value instanceof Number || value instanceof Boolean) {
+                return value.toString();
+            }
+            if (value instanceof Timestamp || value instanceof Temporal) {
+                return "TIMESTAMP '" + value.toString().replace('T', ' ') + "'";
+            }
+            return "'" + value.toString().replace("'", "''") + "'";
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
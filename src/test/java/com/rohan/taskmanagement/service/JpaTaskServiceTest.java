@@ -0,0 +1,7 @@
+package com.rohan.taskmanagement.service;
+
+/**
+ * The service contract on JPA, against the embedded H2 database of the test configuration
+ */
+class JpaTaskServiceTest extends TaskServiceContractTest {
+}
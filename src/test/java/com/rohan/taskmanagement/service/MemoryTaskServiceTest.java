@@ -0,0 +1,23 @@
+package com.rohan.taskmanagement.service;
+
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The service contract on the embedded task store, logging to a fresh directory
+ */
+@ActiveProfiles("memory")
+class MemoryTaskServiceTest extends TaskServiceContractTest {
+
+    @DynamicPropertySource
+    static void storeDirectory(DynamicPropertyRegistry registry) throws IOException {
+        Path directory = Files.createTempDirectory("task-store");
+        registry.add("app.store.directory", directory::toString);
+        registry.add("app.store.fsync", () -> "false");
+    }
+}
@@ -0,0 +1,15 @@
+package com.rohan.taskmanagement.service;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * The service contract on JPA with the tasks split over three embedded H2 databases
+ */
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task_shard_0;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.sharding.enabled=true",
+        "app.sharding.count=3",
+        "app.sharding.url=jdbc:h2:mem:task_shard_{shard};MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+class ShardedTaskServiceTest extends TaskServiceContractTest {
+}
@@ -0,0 +1,126 @@
+package com.rohan.taskmanagement.service;
+
+import com.rohan.taskmanagement.dto.TaskDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Holds the service call of a read open until the identical calls started alongside it have joined it
+ */
+@SpringBootTest(properties = "app.cache.tasks.enabled=false")
+class TaskReadCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    @SpyBean
+    private TaskService taskService;
+
+    @Autowired
+    private TaskReadCoalescer taskReadCoalescer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ExecutorService callers;
+    private String marker;
+
+    @BeforeEach
+    void setUp() {
+        callers = Executors.newFixedThreadPool(CALLERS);
+        marker = "coalesce-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void identicalConcurrentReadsShareOneCall() throws Exception {
+        Long taskId = taskService.createTask(task(marker)).getId();
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(taskService).findTaskById(taskId);
+        double absorbedBefore = absorbed("get");
+
+        List<Future<TaskDTO>> reads = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            reads.add(callers.submit(() -> taskReadCoalescer.getTaskById(taskId)));
+        }
+        awaitAbsorbed("get", absorbedBefore + CALLERS - 1);
+        release.countDown();
+
+        TaskDTO first = reads.get(0).get(10, TimeUnit.SECONDS);
+        for (Future<TaskDTO> read : reads) {
+            assertSame(first, read.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(marker, first.getTitle());
+        verify(taskService, times(1)).findTaskById(taskId);
+    }
+
+    @Test
+    void aCommittedChangeIsSeenByReadsStartedAfterIt() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (calls.getAndIncrement() == 0) {
+                started.countDown();
+                release.await(10, TimeUnit.SECONDS);
+            }
+            return invocation.callRealMethod();
+        }).when(taskService).searchTasks(marker, null);
+
+        Future<List<TaskDTO>> before = callers.submit(() -> taskReadCoalescer.searchTasks(marker, null));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        taskService.createTask(task(marker));
+
+        // Runs its own call instead of joining the one that started before the task was created
+        assertEquals(1, taskReadCoalescer.searchTasks(marker, null).size());
+        release.countDown();
+        before.get(10, TimeUnit.SECONDS);
+        verify(taskService, times(2)).searchTasks(marker, null);
+    }
+
+    private double absorbed(String read) {
+        return meterRegistry.counter("task.reads.coalesced", "read", read, "outcome", "absorbed").count();
+    }
+
+    private void awaitAbsorbed(String read, double count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (absorbed(read) < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, absorbed(read));
+    }
+
+    private static TaskDTO task(String title) {
+        TaskDTO task = new TaskDTO();
+        task.setTitle(title);
+        return task;
+    }
+}
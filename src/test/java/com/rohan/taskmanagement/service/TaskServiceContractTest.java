@@ -0,0 +1,321 @@
+package com.rohan.taskmanagement.service;
+
+import com.rohan.taskmanagement.dto.BulkStatusUpdateDTO;
+import com.rohan.taskmanagement.dto.TaskBatchResultDTO;
+import com.rohan.taskmanagement.dto.TaskChangesDTO;
+import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.dto.TaskHistoryPageDTO;
+import com.rohan.taskmanagement.dto.TaskPageDTO;
+import com.rohan.taskmanagement.exception.ResourceNotFoundException;
+import com.rohan.taskmanagement.exception.ValidationException;
+import com.rohan.taskmanagement.model.TaskHistoryEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Behaviour every {@link TaskService} backend has to share, run once per backend by the subclasses.
+ * The application context and its data outlive a test, so each test works on tasks titled with its own marker.
+ */
+@SpringBootTest(properties = "app.cache.tasks.enabled=false")
+abstract class TaskServiceContractTest {
+
+    @Autowired
+    protected TaskService taskService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String marker;
+
+    @BeforeEach
+    void newMarker() {
+        marker = "contract-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void createdTasksAreReadBack() {
+        LocalDateTime dueDate = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.SECONDS);
+        TaskDTO task = task(marker + " create", null);
+        task.setDescription("Description");
+        task.setDueDate(dueDate);
+        task.setRemarks("Remarks");
+
+        TaskDTO created = taskService.createTask(task);
+        TaskDTO loaded = taskService.getTaskById(created.getId());
+
+        assertEquals(marker + " create", loaded.getTitle());
+        assertEquals("Description", loaded.getDescription());
+        assertEquals(dueDate, loaded.getDueDate());
+        assertEquals("TODO", loaded.getStatus());
+        assertEquals("Remarks", loaded.getRemarks());
+        assertEquals("Company Admin", loaded.getCreatedBy());
+        assertEquals(created.getCreatedOn().truncatedTo(ChronoUnit.MILLIS), loaded.getCreatedOn().truncatedTo(ChronoUnit.MILLIS));
+        assertThrows(ValidationException.class, () -> taskService.createTask(task(" ", null)));
+    }
+
+    @Test
+    void updatesAndDeletesAreVisibleAndTracked() {
+        TaskDTO created = taskService.createTask(task(marker + " original", null));
+        String token = taskService.getChangesSince(null, 5000).getToken();
+
+        TaskDTO update = task(marker + " renamed", "IN_PROGRESS");
+        update.setLastUpdatedBy("tester");
+        TaskDTO updated = taskService.updateTask(created.getId(), update);
+        assertEquals(marker + " renamed", taskService.getTaskById(created.getId()).getTitle());
+        assertEquals("IN_PROGRESS", updated.getStatus());
+        assertEquals("tester", updated.getLastUpdatedBy());
+
+        taskService.deleteTask(created.getId());
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskById(created.getId()));
+        assertThrows(ResourceNotFoundException.class, () -> taskService.deleteTask(created.getId()));
+        assertThrows(ResourceNotFoundException.class, () -> taskService.updateTask(created.getId(), update));
+
+        TaskChangesDTO changes = taskService.getChangesSince(token, 5000);
+        assertTrue(changes.getDeletedIds().contains(created.getId()));
+        assertTrue(changes.getTasks().stream().noneMatch(task -> task.getId().equals(created.getId())));
+    }
+
+    @Test
+    void searchesMatchTitleSubstringsStatusAndPrefix() {
+        TaskDTO first = taskService.createTask(task(marker + " alpha", "TODO"));
+        TaskDTO second = taskService.createTask(task(marker + " beta", "DONE"));
+        taskService.createTask(task("other " + marker, "DONE"));
+
+        assertEquals(3, taskService.searchTasks(marker.toUpperCase(), null).size());
+        assertEquals(List.of(second.getId()), ids(taskService.searchTasks(marker + " BETA", "DONE")));
+        assertEquals(List.of(first.getId(), second.getId()), ids(taskService.searchTasksByTitlePrefix(marker, null)));
+        assertEquals(List.of(second.getId()), ids(taskService.searchTasksByTitlePrefix(marker + " b", "DONE")));
+
+        List<Map<String, Object>> fields = taskService.searchTaskFields(marker + " alpha", null, "title");
+        assertEquals(List.of(Map.of("id", first.getId(), "title", marker + " alpha")), fields);
+    }
+
+    @Test
+    void batchesReportEachItem() {
+        List<TaskBatchResultDTO> created = taskService.createTasks(List.of(task(marker + " one", null), task("", null)));
+        assertEquals(TaskBatchResultDTO.CREATED, created.get(0).getResult());
+        assertEquals(TaskBatchResultDTO.INVALID, created.get(1).getResult());
+        Long taskId = created.get(0).getId();
+
+        TaskDTO update = task(marker + " one updated", "DONE");
+        update.setId(taskId);
+        TaskDTO missing = task(marker + " missing", null);
+        missing.setId(Long.MAX_VALUE);
+        List<TaskBatchResultDTO> updated = taskService.updateTasks(List.of(update, missing));
+        assertEquals(TaskBatchResultDTO.UPDATED, updated.get(0).getResult());
+        assertEquals(TaskBatchResultDTO.NOT_FOUND, updated.get(1).getResult());
+        assertEquals("DONE", taskService.getTaskById(taskId).getStatus());
+
+        List<TaskBatchResultDTO> deleted = taskService.deleteTasks(List.of(taskId, taskId));
+        assertEquals(TaskBatchResultDTO.DELETED, deleted.get(0).getResult());
+        assertEquals(TaskBatchResultDTO.NOT_FOUND, deleted.get(1).getResult());
+        assertTrue(taskService.searchTasks(marker, null).isEmpty());
+    }
+
+    @Test
+    void statusChangesUpdateStatusAndAuditFields() {
+        TaskDTO first = taskService.createTask(task(marker + " first", "TODO"));
+        TaskDTO second = taskService.createTask(task(marker + " second", "TODO"));
+
+        assertEquals("DONE", taskService.markTaskAsCompleted(first.getId()).getStatus());
+        assertEquals("TODO", taskService.markTaskAsPending(first.getId()).getStatus());
+        assertThrows(ResourceNotFoundException.class, () -> taskService.markTaskAsCompleted(Long.MAX_VALUE));
+
+        BulkStatusUpdateDTO request = new BulkStatusUpdateDTO();
+        request.setTitle(marker);
+        request.setCurrentStatus("TODO");
+        request.setStatus("BLOCKED");
+        request.setUpdatedBy("bulk");
+        assertEquals(2, taskService.bulkUpdateStatus(request));
+        assertEquals("BLOCKED", taskService.getTaskById(second.getId()).getStatus());
+        assertEquals("bulk", taskService.getTaskById(second.getId()).getLastUpdatedBy());
+    }
+
+    @Test
+    void overdueTasksAreMarkedOnce() {
+        LocalDateTime now = LocalDateTime.now();
+        TaskDTO due = task(marker + " due", "TODO");
+        due.setDueDate(now.minusHours(1));
+        TaskDTO done = task(marker + " done", "DONE");
+        done.setDueDate(now.minusHours(1));
+        TaskDTO later = task(marker + " later", "TODO");
+        later.setDueDate(now.plusDays(1));
+        List<Long> taskIds = ids(List.of(taskService.createTask(due), taskService.createTask(done), taskService.createTask(later)));
+
+        assertEquals(List.of(taskIds.get(0)), taskService.markOverdue(taskIds, now));
+        assertEquals("OVERDUE", taskService.getTaskById(taskIds.get(0)).getStatus());
+        assertTrue(taskService.markOverdue(taskIds, now).isEmpty());
+    }
+
+    @Test
+    void pagesFollowTheSortWithNullsLastAndNoRepeats() {
+        LocalDateTime base = LocalDateTime.now().plusYears(1).truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 7; i++) {
+            TaskDTO task = task(marker + " page " + i, null);
+            task.setDueDate(i % 3 == 0 ? null : base.minusDays(i));
+            taskService.createTask(task);
+        }
+
+        for (String sort : List.of("dueDate:desc", "dueDate", "status,dueDate:desc")) {
+            List<TaskDTO> seen = readAllPages(sort);
+            boolean descending = sort.contains("dueDate:desc");
+            Set<Long> seenIds = new HashSet<>();
+            for (int i = 0; i < seen.size(); i++) {
+                assertTrue(seenIds.add(seen.get(i).getId()), "task returned twice with sort " + sort);
+                // With a leading status key, due dates are only ordered within a status
+                if (i > 0 && (!sort.startsWith("status") || seen.get(i - 1).getStatus().equals(seen.get(i).getStatus()))) {
+                    LocalDateTime previous = seen.get(i - 1).getDueDate();
+                    LocalDateTime current = seen.get(i).getDueDate();
+                    assertFalse(previous == null && current != null, "null due date before a set one with sort " + sort);
+                    if (previous != null && current != null) {
+                        assertFalse(descending ? current.isAfter(previous) : current.isBefore(previous),
+                                "due dates out of order with sort " + sort);
+                    }
+                }
+            }
+            assertEquals(7, seen.stream().filter(task -> task.getTitle().startsWith(marker)).count());
+        }
+
+        TaskPageDTO projected = taskService.getTaskPage(null, 2, "createdOn", "title");
+        assertEquals(Set.of("id", "title"), ((Map<?, ?>) projected.getItems().get(0)).keySet());
+    }
+
+    @Test
+    void exportWritesOneLinePerMatchingTask() throws IOException {
+        taskService.createTask(task(marker + " export a", null));
+        taskService.createTask(task(marker + " export b", null));
+
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        assertEquals(2, taskService.exportTasks(marker, null, out));
+        assertEquals(2, out.toString().lines().count());
+        // The response stream belongs to the container
+        assertFalse(closed.get());
+    }
+
+    @Test
+    void rolledBackWritesAreDiscarded() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        Long taskId = template.execute(status -> {
+            Long created = taskService.createTask(task(marker + " rolled back", null)).getId();
+            // Visible inside its own transaction
+            assertEquals(marker + " rolled back", taskService.getTaskById(created).getTitle());
+            status.setRollbackOnly();
+            return created;
+        });
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskById(taskId));
+        assertTrue(taskService.searchTasks(marker, null).isEmpty());
+    }
+
+    @Test
+    void historyRecordsFieldChangesNewestFirst() throws InterruptedException {
+        TaskDTO create = task(marker + " history", null);
+        create.setDescription("Description");
+        Long taskId = taskService.createTask(create).getId();
+
+        TaskDTO update = task(marker + " history renamed", "IN_PROGRESS");
+        update.setDescription("Description");
+        update.setLastUpdatedBy("editor");
+        taskService.updateTask(taskId, update);
+        taskService.markTaskAsCompleted(taskId);
+        BulkStatusUpdateDTO bulk = new BulkStatusUpdateDTO();
+        bulk.setIds(List.of(taskId, Long.MAX_VALUE - 1));
+        bulk.setStatus("BLOCKED");
+        taskService.bulkUpdateStatus(bulk);
+        // Bulk changes are only recorded for tasks that still exist when the history is written
+        awaitHistory(taskId, 7);
+        taskService.deleteTask(taskId);
+
+        List<TaskHistoryEntry> history = awaitHistory(taskId, 8);
+        assertEquals(List.of("DELETED", "STATUS_CHANGED", "STATUS_CHANGED", "UPDATED", "UPDATED", "CREATED", "CREATED", "CREATED"),
+                history.stream().map(TaskHistoryEntry::getChange).collect(Collectors.toList()));
+        TaskHistoryEntry rename = history.stream()
+                .filter(entry -> "UPDATED".equals(entry.getChange()) && TaskHistoryEntry.TITLE.equals(entry.getField()))
+                .findFirst().orElseThrow();
+        assertEquals(marker + " history", rename.getOldValue());
+        assertEquals(marker + " history renamed", rename.getNewValue());
+        assertEquals("editor", rename.getChangedBy());
+        assertEquals("BLOCKED", history.get(1).getNewValue());
+        assertEquals("IN_PROGRESS", history.get(2).getOldValue());
+        assertEquals("DONE", history.get(2).getNewValue());
+        assertTrue(history.stream().noneMatch(entry -> TaskHistoryEntry.DESCRIPTION.equals(entry.getField())
+                && "UPDATED".equals(entry.getChange())));
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskHistory(Long.MAX_VALUE - 2, null, null));
+        assertThrows(ValidationException.class, () -> taskService.getTaskHistory(taskId, "not-a-cursor", null));
+        assertThrows(ValidationException.class, () -> taskService.getTaskHistory(taskId, null, 0));
+    }
+
+    /**
+     * Reads every history page of the task, 3 entries at a time, until the expected number of entries has been written
+     */
+    private List<TaskHistoryEntry> awaitHistory(Long taskId, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (true) {
+            List<TaskHistoryEntry> entries = new ArrayList<>();
+            String after = null;
+            do {
+                TaskHistoryPageDTO page = taskService.getTaskHistory(taskId, after, 3);
+                entries.addAll(page.getEntries());
+                after = page.getNextCursor();
+            } while (after != null);
+            if (entries.size() >= expected || System.nanoTime() > deadline) {
+                assertEquals(expected, entries.size());
+                return entries;
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private List<TaskDTO> readAllPages(String sort) {
+        List<TaskDTO> seen = new ArrayList<>();
+        String after = null;
+        do {
+            TaskPageDTO page = taskService.getTaskPage(after, 5, sort, null);
+            for (Object item : page.getItems()) {
+                seen.add((TaskDTO) item);
+            }
+            after = page.getNextCursor();
+        } while (after != null);
+        return seen;
+    }
+
+    private static TaskDTO task(String title, String status) {
+        TaskDTO task = new TaskDTO();
+        task.setTitle(title);
+        task.setStatus(status);
+        return task;
+    }
+
+    private static List<Long> ids(List<TaskDTO> tasks) {
+        return tasks.stream().map(TaskDTO::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,87 @@
+package com.rohan.taskmanagement.shard;
+
+import com.rohan.taskmanagement.dto.TaskDTO;
+import com.rohan.taskmanagement.exception.ResourceNotFoundException;
+import com.rohan.taskmanagement.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs the application on two embedded databases as shards and looks into each of them directly to see
+ * where the tasks went
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task_placement_0;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.sharding.enabled=true",
+        "app.sharding.count=2",
+        "app.sharding.url=jdbc:h2:mem:task_placement_{shard};MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.sharding.placement=created-by",
+        "app.cache.tasks.enabled=false"
+})
+class TaskShardingTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskShards taskShards;
+
+    @Test
+    void tasksAreSpreadOverTheShardsAndFoundByTheirId() {
+        String marker = "shard-" + UUID.randomUUID().toString().substring(0, 8);
+        Set<Integer> shards = new HashSet<>();
+        for (int i = 0; i < 6; i++) {
+            TaskDTO created = taskService.createTask(task(marker + " " + i, null));
+            int shard = taskShards.shardOf(created.getId());
+            shards.add(shard);
+
+            // The id lies in the range of the shard that stores the task, and nowhere else
+            assertEquals(1, countInShard(shard, created.getId()));
+            assertEquals(0, countInShard(1 - shard, created.getId()));
+            assertEquals(marker + " " + i, taskService.getTaskById(created.getId()).getTitle());
+        }
+        assertEquals(Set.of(0, 1), shards);
+
+        List<Long> foundIds = taskService.searchTasks(marker, null).stream()
+                .map(TaskDTO::getId)
+                .collect(Collectors.toList());
+        assertEquals(6, foundIds.size());
+        assertEquals(foundIds.stream().sorted().collect(Collectors.toList()), foundIds);
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskById(TaskShards.firstId(1) - 1));
+    }
+
+    @Test
+    void tasksOfOneCreatorShareAShard() {
+        String creator = "creator-" + UUID.randomUUID().toString().substring(0, 8);
+        Set<Integer> shards = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            shards.add(taskShards.shardOf(taskService.createTask(task("Created by " + creator, creator)).getId()));
+        }
+        assertEquals(Set.of(Math.floorMod(creator.hashCode(), 2)), shards);
+    }
+
+    private static int countInShard(int shard, Long taskId) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:task_placement_" + shard + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM tasks WHERE id = ?", Integer.class, taskId);
+    }
+
+    private static TaskDTO task(String title, String createdBy) {
+        TaskDTO task = new TaskDTO();
+        task.setTitle(title);
+        task.setCreatedBy(createdBy);
+        return task;
+    }
+}
@@ -0,0 +1,159 @@
+package com.rohan.taskmanagement.stats;
+
+import com.rohan.taskmanagement.dto.TaskStatsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Moves a fixed clock over the overdue watermark and the day and week boundaries, starting late on a Sunday
+ */
+class TaskStatisticsTest {
+
+    private record Row(String status, LocalDateTime dueDate) {
+    }
+
+    private Clock clock;
+    private TaskStatistics statistics;
+    // The tasks as the database would hold them
+    private final Map<Long, Row> rows = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        setClock("2026-10-18T22:00");
+        rows.put(1L, new Row("TODO", at("2026-10-18T23:00")));
+        rows.put(2L, new Row("TODO", at("2026-10-19T09:00")));
+        rows.put(3L, new Row("DONE", at("2026-10-18T21:00")));
+        rows.put(4L, new Row("IN_PROGRESS", at("2026-10-18T21:30")));
+        rows.put(5L, new Row("TODO", null));
+        statistics = load();
+    }
+
+    @Test
+    void nothingIsReportedBeforeTheFirstLoad() {
+        assertNull(new TaskStatistics().snapshot(LocalDateTime.now(clock)));
+    }
+
+    @Test
+    void statusChangesMoveTasksInAndOutOfOverdue() {
+        TaskStatsDTO stats = snapshot();
+        assertEquals(5, stats.getTotal());
+        assertEquals(3, stats.getByStatus().get("TODO"));
+        assertEquals(1, stats.getOverdue());
+        assertEquals(1, stats.getDueToday());
+        assertEquals(1, stats.getDueThisWeek());
+
+        // Due before the watermark
+        updateStatus(4L, "DONE");
+        assertEquals(0, snapshot().getOverdue());
+        updateStatus(3L, "TODO");
+        assertEquals(1, snapshot().getOverdue());
+        remove(3L);
+        assertEquals(0, snapshot().getOverdue());
+        put(6L, "TODO", at("2026-10-18T20:00"));
+        assertEquals(1, snapshot().getOverdue());
+
+        // Due after it
+        updateStatus(1L, "DONE");
+        stats = snapshot();
+        assertEquals(1, stats.getOverdue());
+        assertEquals(0, stats.getDueToday());
+        assertEquals(2, stats.getByStatus().get("DONE"));
+        assertTrue(stats.sameCounts(load().snapshot(LocalDateTime.now(clock))));
+    }
+
+    @Test
+    void theWatermarkFollowsTheClockPastDayAndWeekBoundaries() {
+        assertEquals(1, snapshot().getOverdue());
+
+        setClock("2026-10-18T23:30");
+        TaskStatsDTO stats = snapshot();
+        assertEquals(2, stats.getOverdue());
+        assertEquals(0, stats.getDueToday());
+        assertEquals(0, stats.getDueThisWeek());
+
+        // Monday morning: a new day and a new week
+        setClock("2026-10-19T10:00");
+        put(7L, "TODO", at("2026-10-19T12:00"));
+        put(8L, "TODO", at("2026-10-25T18:00"));
+        put(9L, "TODO", at("2026-10-26T00:00"));
+        stats = snapshot();
+        assertEquals(3, stats.getOverdue());
+        assertEquals(1, stats.getDueToday());
+        assertEquals(2, stats.getDueThisWeek());
+        assertTrue(stats.sameCounts(load().snapshot(LocalDateTime.now(clock))));
+
+        // A task due exactly now is not overdue yet
+        setClock("2026-10-19T12:00");
+        assertEquals(3, snapshot().getOverdue());
+        setClock("2026-10-19T12:01");
+        assertEquals(4, snapshot().getOverdue());
+    }
+
+    @Test
+    void aClockGoingBackwardsDoesNotCountTasksDueInBetween() {
+        setClock("2026-10-18T23:30");
+        assertEquals(2, snapshot().getOverdue());
+
+        setClock("2026-10-18T22:00");
+        assertEquals(1, snapshot().getOverdue());
+        assertTrue(snapshot().sameCounts(load().snapshot(LocalDateTime.now(clock))));
+
+        // Due between the clock and the watermark left ahead of it
+        updateStatus(1L, "DONE");
+        put(10L, "TODO", at("2026-10-18T22:30"));
+        assertEquals(1, snapshot().getOverdue());
+        assertTrue(snapshot().sameCounts(load().snapshot(LocalDateTime.now(clock))));
+
+        setClock("2026-10-18T23:30");
+        assertEquals(2, snapshot().getOverdue());
+        assertTrue(snapshot().sameCounts(load().snapshot(LocalDateTime.now(clock))));
+    }
+
+    private TaskStatsDTO snapshot() {
+        return statistics.snapshot(LocalDateTime.now(clock));
+    }
+
+    private void setClock(String dateTime) {
+        clock = Clock.fixed(at(dateTime).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    }
+
+    private void put(Long taskId, String status, LocalDateTime dueDate) {
+        rows.put(taskId, new Row(status, dueDate));
+        statistics.put(taskId, status, dueDate);
+    }
+
+    private void updateStatus(Long taskId, String status) {
+        rows.put(taskId, new Row(status, rows.get(taskId).dueDate()));
+        statistics.updateStatus(taskId, status);
+    }
+
+    private void remove(Long taskId) {
+        rows.remove(taskId);
+        statistics.remove(taskId);
+    }
+
+    /**
+     * The tasks loaded from scratch, as a reconciliation would reload them
+     */
+    private TaskStatistics load() {
+        TaskStatistics loaded = new TaskStatistics();
+        TaskStatistics.Builder builder = loaded.beginRebuild();
+        rows.forEach((taskId, row) -> builder.add(taskId, row.status(), row.dueDate()));
+        builder.install();
+        return loaded;
+    }
+
+    private static LocalDateTime at(String dateTime) {
+        return LocalDateTime.parse(dateTime);
+    }
+}
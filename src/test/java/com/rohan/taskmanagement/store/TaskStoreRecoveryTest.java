@@ -0,0 +1,148 @@
+package com.rohan.taskmanagement.store;
+
+import com.rohan.taskmanagement.model.Task;
+import com.rohan.taskmanagement.model.TaskHistoryEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reopens task stores on the same directory, the way a restart after a clean shutdown or a crash would
+ */
+class TaskStoreRecoveryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void committedWritesSurviveARestart() throws IOException {
+        long keptId;
+        long deletedId;
+        try (TaskStore store = open()) {
+            keptId = store.insert(task("kept", NOW.plusDays(1))).getId();
+            deletedId = store.insert(task("deleted", null)).getId();
+            store.updateStatus(List.of(keptId), "DONE", NOW, "tester");
+            store.delete(deletedId, NOW);
+        }
+
+        try (TaskStore store = open()) {
+            Task kept = store.findById(keptId).orElseThrow();
+            assertEquals("kept", kept.getTitle());
+            assertEquals("DONE", kept.getStatus());
+            assertEquals(NOW.plusDays(1), kept.getDueDate());
+            assertFalse(store.findById(deletedId).isPresent());
+            assertEquals(List.of(deletedId), store.findDeletedAfter(NOW.minusDays(1), 0, 10).stream()
+                    .map(tombstone -> tombstone.getTaskId()).collect(Collectors.toList()));
+            // Ids are never handed out twice
+            assertTrue(store.insert(task("next", null)).getId() > deletedId);
+        }
+    }
+
+    @Test
+    void snapshotReplacesTheLogAndLaterCommitsAreReplayed() throws IOException {
+        try (TaskStore store = open()) {
+            for (int i = 0; i < 100; i++) {
+                store.insert(task("before " + i, null));
+            }
+            store.delete(1, NOW.minusDays(60));
+            store.delete(2, NOW);
+            store.snapshot(NOW.minusDays(30));
+            store.insert(task("after", NOW));
+        }
+
+        assertEquals(List.of("snapshot-000002.dat", "wal-000002.log"), files());
+        try (TaskStore store = open()) {
+            assertEquals(99, store.count());
+            assertEquals(1, store.findByTitleAndStatus("after", null).size());
+            // The expired tombstone was purged by the snapshot
+            assertEquals(1, store.findDeletedAfter(NOW.minusYears(1), 0, 10).size());
+        }
+    }
+
+    @Test
+    void historyIsKeptAcrossSnapshotsAndReplays() throws IOException {
+        long taskId;
+        try (TaskStore store = open()) {
+            taskId = store.insert(task("audited", null)).getId();
+            store.insertAll(List.of(history(taskId, "first"), history(taskId, "second")));
+            store.snapshot(NOW.minusDays(30));
+            assertEquals(1, store.insertForTasks(List.of(taskId, taskId + 100), history(null, "third")));
+            store.delete(taskId, NOW);
+        }
+
+        try (TaskStore store = open()) {
+            List<TaskHistoryEntry> newest = store.findByTaskId(taskId, null, 2);
+            assertEquals(List.of("third", "second"), newest.stream().map(TaskHistoryEntry::getNewValue).collect(Collectors.toList()));
+            assertEquals(List.of("first"), store.findByTaskId(taskId, newest.get(1).getId(), 2).stream()
+                    .map(TaskHistoryEntry::getNewValue).collect(Collectors.toList()));
+            assertTrue(store.findByTaskId(taskId + 100, null, 10).isEmpty());
+            // Ids keep growing after a restart
+            store.insertAll(List.of(history(taskId, "fourth")));
+            assertTrue(store.findByTaskId(taskId, null, 1).get(0).getId() > newest.get(0).getId());
+        }
+    }
+
+    @Test
+    void aTornCommitAtTheEndOfTheLogIsDropped() throws IOException {
+        try (TaskStore store = open()) {
+            store.insert(task("complete", null));
+            store.insert(task("torn", null));
+        }
+
+        Path log = directory.resolve("wal-000001.log");
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        try (TaskStore store = open()) {
+            assertEquals(1, store.count());
+            assertEquals("complete", store.findById(1).orElseThrow().getTitle());
+            // Appending continues after the last complete commit
+            store.insert(task("appended", null));
+        }
+        try (TaskStore store = open()) {
+            assertEquals(2, store.count());
+        }
+    }
+
+    private TaskStore open() throws IOException {
+        TaskStore store = new TaskStore(directory, false);
+        store.open();
+        return store;
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static TaskHistoryEntry history(Long taskId, String status) {
+        return new TaskHistoryEntry(null, taskId, "STATUS_CHANGED", TaskHistoryEntry.STATUS, null, status, NOW, "tester");
+    }
+
+    private static Task task(String title, LocalDateTime dueDate) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDueDate(dueDate);
+        task.setCreatedOn(NOW);
+        task.setLastUpdatedOn(NOW);
+        return task;
+    }
+}
@@ -1,9 +1,10 @@
 package taskmanagementsystem;
 
+import com.rohan.taskmanagement.TaskManagementApplication;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(classes = TaskManagementApplication.class)
 class TaskManagementSystemApplicationTests {
 
 	@Test
@@ -85,6 +85,8 @@ export const updateTask = (id, taskData) => api.put(`/tasks/${id}`, taskData);
 export const deleteTask = (id) => api.delete(`/tasks/${id}`);
 export const completeTask = (id) => api.put(`/tasks/${id}/complete`);
 export const pendingTask = (id) => api.put(`/tasks/${id}/pending`);
+// Server-Sent Events stream of task changes; EventSource reconnects and resumes by itself
+export const openTaskEvents = () => new EventSource(`${config.api.serverUrl}/api/tasks/events`);
 export const searchTasks = (params) => {
   console.log('API: Calling searchTasks with params:', params);
   
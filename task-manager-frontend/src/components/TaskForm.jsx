@@ -203,6 +203,7 @@ const TaskForm = () => {
                     <option value="TODO">To Do</option>
                     <option value="IN_PROGRESS">In Progress</option>
                     <option value="DONE">Done</option>
+                    <option value="OVERDUE">Overdue</option>
                   </Form.Select>
                 </Form.Group>
 
@@ -11,6 +11,8 @@ const TaskItem = ({ task, onEdit, onDelete, onComplete, onPending, onView }) =>
         return <Badge bg="primary">In Progress</Badge>;
       case 'DONE':
         return <Badge bg="success">Done</Badge>;
+      case 'OVERDUE':
+        return <Badge bg="danger">Overdue</Badge>;
       default:
         return <Badge bg="secondary">{status || 'Unknown'}</Badge>;
     }
@@ -1,4 +1,4 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef } from 'react';
 import { 
   Container, 
   Row, 
@@ -27,13 +27,31 @@ const TaskList = () => {
   
   const navigate = useNavigate();
   
+  // True while the table shows search results rather than every task
+  const filtered = useRef(false);
+  
   // Initial data loading
   useEffect(() => {
     loadTasks();
   }, []);
   
+  // Apply changes made by other users as they happen instead of refetching the list
+  useEffect(() => {
+    return taskService.subscribeToChanges((event) => {
+      if (event.type === 'RESYNC') {
+        // Changes were missed; only the full list can be reloaded without losing the search
+        if (!filtered.current) {
+          loadTasks();
+        }
+        return;
+      }
+      setTasks(current => applyTaskEvent(current, event, !filtered.current));
+    });
+  }, []);
+  
   // Load tasks from API
   const loadTasks = async () => {
+    filtered.current = false;
     setLoading(true);
     setError('');
     
@@ -134,6 +152,7 @@ const TaskList = () => {
         toast.success(`Found ${filteredTasks.length} task(s)`);
       }
       
+      filtered.current = true;
       setTasks(filteredTasks);
     } catch (error) {
       console.error('Search failed:', error);
@@ -231,6 +250,7 @@ const TaskList = () => {
                         <option value="TODO">To Do</option>
                         <option value="IN_PROGRESS">In Progress</option>
                         <option value="DONE">Done</option>
+                        <option value="OVERDUE">Overdue</option>
                       </Form.Select>
                     </Form.Group>
                   </Col>
@@ -325,4 +345,23 @@ const TaskList = () => {
   );
 };
 
+/**
+ * Returns the task list with one change feed event applied.
+ * New tasks are only added when the list shows every task, not search results.
+ */
+const applyTaskEvent = (tasks, event, showsAllTasks) => {
+  if (event.taskIds) {
+    // Bulk status change
+    const changed = new Set(event.taskIds);
+    return tasks.map(task => changed.has(task.id) ? { ...task, status: event.status } : task);
+  }
+  if (event.type === 'DELETED') {
+    return tasks.filter(task => task.id !== event.taskId);
+  }
+  if (tasks.some(task => task.id === event.taskId)) {
+    return tasks.map(task => task.id === event.taskId ? event.task : task);
+  }
+  return showsAllTasks ? [...tasks, event.task] : tasks;
+};
+
 export default TaskList; 
\ No newline at end of file
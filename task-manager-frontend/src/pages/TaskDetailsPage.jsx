@@ -87,6 +87,8 @@ const TaskDetailsPage = () => {
         return <Badge bg="primary">In Progress</Badge>;
       case 'DONE':
         return <Badge bg="success">Done</Badge>;
+      case 'OVERDUE':
+        return <Badge bg="danger">Overdue</Badge>;
       default:
         return <Badge bg="secondary">{status}</Badge>;
     }
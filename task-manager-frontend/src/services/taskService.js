@@ -6,7 +6,8 @@ import {
   completeTask,
   pendingTask,
   searchTasks,
-  fetchTaskById
+  fetchTaskById,
+  openTaskEvents
 } from '../api/taskApi';
 import { toISOString } from '../utils/dateUtils';
 
@@ -234,6 +235,26 @@ class TaskService {
     }
   }
 
+  /**
+   * Listen for task changes made by anyone
+   * @param {Function} onEvent - Called with each change ({ type, taskId, task, taskIds, status })
+   * @returns {Function} Function that closes the stream
+   */
+  subscribeToChanges(onEvent) {
+    const source = openTaskEvents();
+    source.onmessage = (message) => {
+      try {
+        onEvent(JSON.parse(message.data));
+      } catch (error) {
+        console.error('Failed to handle task event:', error);
+      }
+    };
+    source.onerror = () => {
+      console.warn('Task event stream interrupted, reconnecting');
+    };
+    return () => source.close();
+  }
+
   /**
    * Mark a task as completed
    * @param {number} taskId - The task ID